@@ -0,0 +1,127 @@
+package com.symphony.bdk.workflow.index;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Lists the activities and activity executors of a project in {@value #INDEX} so that the workflow bot does not have
+ * to scan the classpath for them on startup.
+ *
+ * <p>The index has one line per class:</p>
+ * <pre>
+ * activity org.acme.workflow.MyActivity
+ * executor org.acme.workflow.MyActivityExecutor org.acme.workflow.MyActivity
+ * </pre>
+ *
+ * <p>Activities and executors are matched by type names, so this processor has no dependency on workflow-language.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class ActivityIndexProcessor extends AbstractProcessor {
+  public static final String INDEX = "META-INF/wdk/activities.index";
+
+  private static final String BASE_ACTIVITY = "com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity";
+  private static final String ACTIVITY_EXECUTOR = "com.symphony.bdk.workflow.engine.executor.ActivityExecutor";
+
+  private final Set<String> lines = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    } else {
+      roundEnv.getRootElements().forEach(this::index);
+    }
+    // other processors must still see the annotations
+    return false;
+  }
+
+  private void index(Element element) {
+    if (element.getKind() == ElementKind.CLASS) {
+      TypeElement type = (TypeElement) element;
+      String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+      if (isSubtypeOf(type.asType(), BASE_ACTIVITY) && !BASE_ACTIVITY.equals(name)) {
+        lines.add("activity " + name);
+      }
+      if (!type.getModifiers().contains(Modifier.ABSTRACT)) {
+        executedActivity(type.asType()).ifPresent(activity -> lines.add("executor " + name + " " + activity));
+      }
+    }
+    element.getEnclosedElements().forEach(this::index);
+  }
+
+  private boolean isSubtypeOf(TypeMirror type, String superType) {
+    TypeElement superElement = processingEnv.getElementUtils().getTypeElement(superType);
+    if (superElement == null) {
+      return false;
+    }
+    Types types = processingEnv.getTypeUtils();
+    return types.isSubtype(types.erasure(type), types.erasure(superElement.asType()));
+  }
+
+  /**
+   * Finds T in ActivityExecutor&lt;T&gt; among the supertypes of the given type.
+   */
+  private Optional<String> executedActivity(TypeMirror type) {
+    List<? extends TypeMirror> superTypes = processingEnv.getTypeUtils().directSupertypes(type);
+    for (TypeMirror superType : superTypes) {
+      if (superType.getKind() != TypeKind.DECLARED) {
+        continue;
+      }
+      DeclaredType declaredType = (DeclaredType) superType;
+      TypeElement element = (TypeElement) declaredType.asElement();
+      if (ACTIVITY_EXECUTOR.equals(element.getQualifiedName().toString())) {
+        return declaredType.getTypeArguments().stream()
+            .filter(argument -> argument.getKind() == TypeKind.DECLARED)
+            .map(argument -> (TypeElement) ((DeclaredType) argument).asElement())
+            .map(activity -> processingEnv.getElementUtils().getBinaryName(activity).toString())
+            .findFirst();
+      }
+      Optional<String> activity = executedActivity(superType);
+      if (activity.isPresent()) {
+        return activity;
+      }
+    }
+    return Optional.empty();
+  }
+
+  private void writeIndex() {
+    if (lines.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+      try (Writer writer = index.openWriter()) {
+        for (String line : lines) {
+          writer.write(line);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX + ": " + e);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.symphony.bdk.workflow.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityIndexProcessorTest {
+
+  private static final Map<String, String> WORKFLOW_TYPES = Map.of(
+      "com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity",
+      "package com.symphony.bdk.workflow.swadl.v1.activity;\n"
+          + "public abstract class BaseActivity {}",
+      "com.symphony.bdk.workflow.engine.executor.ActivityExecutor",
+      "package com.symphony.bdk.workflow.engine.executor;\n"
+          + "import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;\n"
+          + "public interface ActivityExecutor<T extends BaseActivity> {}");
+
+  @TempDir
+  Path output;
+
+  @Test
+  void activitiesAndExecutorsIndexed() throws IOException {
+    Map<String, String> sources = new HashMap<>(WORKFLOW_TYPES);
+    sources.put("org.acme.MyActivity", "package org.acme;\n"
+        + "import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;\n"
+        + "public class MyActivity extends BaseActivity {\n"
+        + "  public static class Nested extends BaseActivity {}\n"
+        + "}");
+    sources.put("org.acme.MyActivityExecutor", "package org.acme;\n"
+        + "import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;\n"
+        + "public class MyActivityExecutor implements ActivityExecutor<MyActivity> {}");
+    sources.put("org.acme.OtherActivity", "package org.acme;\n"
+        + "public class OtherActivity extends MyActivity {}");
+    sources.put("org.acme.AbstractExecutor", "package org.acme;\n"
+        + "import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;\n"
+        + "import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;\n"
+        + "public abstract class AbstractExecutor<T extends BaseActivity> implements ActivityExecutor<T> {}");
+    sources.put("org.acme.OtherExecutor", "package org.acme;\n"
+        + "public class OtherExecutor extends AbstractExecutor<OtherActivity> {}");
+    sources.put("org.acme.NotAnActivity", "package org.acme;\n"
+        + "public class NotAnActivity {}");
+
+    compile(sources);
+
+    assertThat(Files.readAllLines(output.resolve(ActivityIndexProcessor.INDEX), StandardCharsets.UTF_8))
+        .containsExactly(
+            "activity org.acme.MyActivity",
+            "activity org.acme.MyActivity$Nested",
+            "activity org.acme.OtherActivity",
+            "executor org.acme.MyActivityExecutor org.acme.MyActivity",
+            "executor org.acme.OtherExecutor org.acme.OtherActivity");
+  }
+
+  @Test
+  void noActivities_noIndex() throws IOException {
+    compile(Map.of("org.acme.NotAnActivity", "package org.acme;\npublic class NotAnActivity {}"));
+
+    assertThat(output.resolve(ActivityIndexProcessor.INDEX)).doesNotExist();
+  }
+
+  private void compile(Map<String, String> sources) throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+        StandardCharsets.UTF_8)) {
+      fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+      List<JavaFileObject> units = sources.entrySet().stream()
+          .map(source -> new Source(source.getKey(), source.getValue()))
+          .collect(Collectors.toList());
+
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null, units);
+      task.setProcessors(List.of(new ActivityIndexProcessor()));
+
+      assertThat(task.call()).as(diagnostics.getDiagnostics().toString()).isTrue();
+    }
+  }
+
+  private static final class Source extends SimpleJavaFileObject {
+    private final String code;
+
+    Source(String name, String code) {
+      super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+      this.code = code;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return code;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.symphony.bdk.workflow.monitoring;
+
+import com.symphony.bdk.workflow.converter.DefaultObjectConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.WorkflowInstDomainConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.WorkflowInstDomainVersionConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.repository.WorkflowInstCmdaApiQueryRepository;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking that an instance belongs to a workflow, as done before returning its states or variables, with 100 to
+ * 10000 instances in the history. The direct lookup stays flat while listing all instances grows with the history.
+ *
+ * <p>Run with <code>./gradlew :workflow-bot-app:jmh</code>.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstanceLookupBenchmark {
+  private static final String WORKFLOW_ID = "benchmark-workflow";
+
+  @Param({"100", "1000", "10000"})
+  int instances;
+
+  ProcessEngine processEngine;
+  WorkflowInstCmdaApiQueryRepository repository;
+  String instanceId;
+
+  @Setup
+  public void setUp() {
+    processEngine = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:instance-lookup-" + instances + ";DB_CLOSE_DELAY=-1")
+        .setHistory(ProcessEngineConfiguration.HISTORY_FULL)
+        .setProcessEngineName("instance-lookup-" + instances)
+        .buildProcessEngine();
+    processEngine.getRepositoryService().createDeployment()
+        .addModelInstance(WORKFLOW_ID + ".bpmn", Bpmn.createExecutableProcess(WORKFLOW_ID)
+            .camundaVersionTag("1")
+            .startEvent()
+            .endEvent("endEvent")
+            .done())
+        .deploy();
+
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+    for (int i = 0; i < instances; i++) {
+      instanceId = runtimeService.startProcessInstanceByKey(WORKFLOW_ID).getId();
+    }
+
+    DefaultObjectConverter converter = new DefaultObjectConverter(List.of(new WorkflowInstDomainConverter()),
+        Optional.of(List.of(new WorkflowInstDomainVersionConverter())));
+    repository = new WorkflowInstCmdaApiQueryRepository(processEngine.getRepositoryService(),
+        processEngine.getHistoryService(), runtimeService, processEngine.getManagementService(), converter);
+  }
+
+  @TearDown
+  public void tearDown() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public Optional<WorkflowInstanceDomain> lookup() {
+    return repository.findByIdAndInstanceId(WORKFLOW_ID, instanceId);
+  }
+
+  @Benchmark
+  public Optional<WorkflowInstanceDomain> listAndFilter() {
+    // how the instance was checked before
+    return repository.findAllById(WORKFLOW_ID)
+        .stream()
+        .filter(instance -> instance.getInstanceId().equals(instanceId))
+        .findAny();
+  }
+}
@@ -0,0 +1,108 @@
+package com.symphony.bdk.workflow.monitoring;
+
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
+import com.symphony.bdk.workflow.converter.DefaultObjectConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.WorkflowInstDomainConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.WorkflowInstDomainVersionConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.repository.WorkflowInstCmdaApiQueryRepository;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Listing failed instances of a workflow with 100k finished instances, 1% of them failed. The status is filtered by
+ * the database query instead of reading all finished instances and filtering them in memory.
+ *
+ * <p>Run with <code>./gradlew :workflow-bot-app:jmh</code>.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InstanceStatusBenchmark {
+  private static final String WORKFLOW_ID = "benchmark-workflow";
+  private static final int INSTANCES = 100_000;
+
+  ProcessEngine processEngine;
+  WorkflowInstCmdaApiQueryRepository repository;
+
+  @Setup
+  public void setUp() {
+    processEngine = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:instance-status;DB_CLOSE_DELAY=-1")
+        .setHistory(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+        .setProcessEngineName("instance-status")
+        .buildProcessEngine();
+    // failed instances end on another end event, like a workflow ending on an error
+    processEngine.getRepositoryService().createDeployment()
+        .addModelInstance(WORKFLOW_ID + ".bpmn", Bpmn.createExecutableProcess(WORKFLOW_ID)
+            .startEvent()
+            .exclusiveGateway("gateway")
+            .condition("completed", "${!failed}")
+            .endEvent("endEvent")
+            .moveToNode("gateway")
+            .condition("failed", "${failed}")
+            .endEvent("error")
+            .done())
+        .deploy();
+
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+    for (int i = 0; i < INSTANCES; i++) {
+      runtimeService.startProcessInstanceByKey(WORKFLOW_ID, Map.of("failed", i % 100 == 0));
+    }
+
+    DefaultObjectConverter converter = new DefaultObjectConverter(List.of(new WorkflowInstDomainConverter()),
+        Optional.of(List.of(new WorkflowInstDomainVersionConverter())));
+    repository = new WorkflowInstCmdaApiQueryRepository(processEngine.getRepositoryService(),
+        processEngine.getHistoryService(), runtimeService, processEngine.getManagementService(), converter);
+  }
+
+  @TearDown
+  public void tearDown() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public List<WorkflowInstanceDomain> failedFilteredByDatabase() {
+    return repository.findAllByIdAndStatus(WORKFLOW_ID, StatusEnum.FAILED);
+  }
+
+  @Benchmark
+  public List<HistoricProcessInstance> failedFilteredInMemory() {
+    // how failed instances were listed before
+    HistoryService historyService = processEngine.getHistoryService();
+    return historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey(WORKFLOW_ID)
+        .finished()
+        .orderByProcessInstanceStartTime()
+        .asc()
+        .list()
+        .stream()
+        .filter(instance -> instance.getEndActivityId() != null && !instance.getEndActivityId().startsWith("endEvent"))
+        .collect(Collectors.toList());
+  }
+}
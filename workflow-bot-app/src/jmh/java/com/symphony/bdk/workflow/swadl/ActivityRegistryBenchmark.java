@@ -0,0 +1,62 @@
+package com.symphony.bdk.workflow.swadl;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of the activities and executors from the classpath, with and without the activity index.
+ *
+ * <p>Classes are already loaded after the first invocation, the cold start cost is logged by {@link ActivityRegistry}
+ * at startup.</p>
+ *
+ * <p>Run with <code>./gradlew :workflow-bot-app:jmh</code>.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActivityRegistryBenchmark {
+
+  Set<URL> urls;
+
+  @Setup
+  public void setUp() {
+    urls = ActivityRegistry.classpathUrls();
+  }
+
+  @Benchmark
+  public Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> indexed() {
+    Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> executors =
+        new HashMap<>();
+    ActivityRegistry.load(urls, new HashSet<>(), executors);
+    return executors;
+  }
+
+  @Benchmark
+  public Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> scanned() {
+    Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> executors =
+        new HashMap<>();
+    ActivityRegistry.scan(urls, new HashSet<>(), executors);
+    return executors;
+  }
+}
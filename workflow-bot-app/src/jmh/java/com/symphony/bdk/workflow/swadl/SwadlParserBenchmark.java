@@ -0,0 +1,76 @@
+package com.symphony.bdk.workflow.swadl;
+
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+import com.symphony.bdk.workflow.swadl.validator.SwadlValidator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and validation of workflows with 1, 20 and 500 activities. The accepted version of the workflow is
+ * forgotten before each invocation, except for validateUnchanged that measures saving an unchanged workflow again.
+ *
+ * <p>Run with <code>./gradlew :workflow-bot-app:jmh</code>.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwadlParserBenchmark {
+
+  @Param({"1", "20", "500"})
+  int activities;
+
+  String swadl;
+
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder("id: benchmark-workflow\nactivities:\n");
+    for (int i = 0; i < activities; i++) {
+      builder.append("  - send-message:\n")
+          .append("      id: message").append(i).append('\n');
+      if (i == 0) {
+        builder.append("      on:\n")
+            .append("        message-received:\n")
+            .append("          content: /benchmark\n");
+      }
+      builder.append("      to:\n")
+          .append("        stream-id: abc\n")
+          .append("      content: Message ").append(i).append('\n');
+    }
+    swadl = builder.toString();
+  }
+
+  @Benchmark
+  public JsonNode validate() throws ProcessingException {
+    SwadlValidator.clearAcceptedActivities();
+    return SwadlValidator.validateYaml(swadl);
+  }
+
+  @Benchmark
+  public JsonNode validateUnchanged() throws ProcessingException {
+    return SwadlValidator.validateYaml(swadl);
+  }
+
+  @Benchmark
+  public Workflow parse() throws IOException, ProcessingException {
+    SwadlValidator.clearAcceptedActivities();
+    return SwadlParser.fromYaml(swadl);
+  }
+}
@@ -2,9 +2,11 @@ package com.symphony.bdk.workflow.api.v1;
 
 import com.symphony.bdk.workflow.api.v1.dto.VariableView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowExecutionRequest;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstPageView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +15,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,6 +24,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.List;
@@ -28,6 +33,7 @@ import java.util.List;
 @Tag(name = "Api to execute and monitor workflows")
 public interface WorkflowsApi {
   String X_MONITORING_TOKEN_KEY = "X-Monitoring-Token";
+  String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
 
   @Operation(description = "Triggers the execution of a workflow given by its id. This is an asynchronous operation.")
   @ApiResponses(value = {@ApiResponse(responseCode = "204"),
@@ -65,6 +71,39 @@ public interface WorkflowsApi {
       @Parameter(description = "Optional version parameter to filter instances by version")
       @RequestParam(required = false) Long version);
 
+  @Operation(description = "List a page of instances of a given workflow, ordered by start date")
+  @ApiResponses(
+      value = {@ApiResponse(responseCode = "200", description = "OK"),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+          @ApiResponse(responseCode = "401", description = "Request is not authorised")})
+  @GetMapping("/{workflowId}/instances/page")
+  ResponseEntity<WorkflowInstPageView> listWorkflowInstancesPage(
+      @Parameter(description = "Workflow's id to list instances", required = true) @PathVariable String workflowId,
+      @Parameter(description = "Workflows monitoring token to authenticate the request")
+      @RequestHeader(name = X_MONITORING_TOKEN_KEY) String token,
+      @Parameter(description = "Optional query parameter to filter instances by status [Pending | Completed | Failed]")
+      @RequestParam(required = false) String status,
+      @Parameter(description = "Optional version parameter to filter instances by version")
+      @RequestParam(required = false) Long version,
+      @Parameter(description = "Optional cursor returned with the previous page, the first page is returned if missing")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Optional page size, capped by the configured maximum page size")
+      @RequestParam(required = false) Integer limit);
+
+  @Operation(description = "Stream all instances of a given workflow as newline delimited JSON, ordered by start date")
+  @ApiResponses(
+      value = {@ApiResponse(responseCode = "200", description = "OK"),
+          @ApiResponse(responseCode = "401", description = "Request is not authorised")})
+  @GetMapping(path = "/{workflowId}/instances", produces = APPLICATION_NDJSON_VALUE)
+  ResponseEntity<StreamingResponseBody> streamWorkflowInstances(
+      @Parameter(description = "Workflow's id to list instances", required = true) @PathVariable String workflowId,
+      @Parameter(description = "Workflows monitoring token to authenticate the request")
+      @RequestHeader(name = X_MONITORING_TOKEN_KEY) String token,
+      @Parameter(description = "Optional query parameter to filter instances by status [Pending | Completed | Failed]")
+      @RequestParam(required = false) String status,
+      @Parameter(description = "Optional version parameter to filter instances by version")
+      @RequestParam(required = false) Long version);
+
   @Operation(description = "List the completed activities in a given instance for a given workflow")
   @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK"),
       @ApiResponse(responseCode = "401", description = "Request is not authorised")})
@@ -98,6 +137,25 @@ public interface WorkflowsApi {
       @RequestParam(required = false, name = "finished_after") Instant finishedAfter
   );
 
+  @Operation(description = "Stream in SSE the node states, global variables and error changes of a given instance. "
+      + "Events are named node, variables, error, end when the instance ends or reset when events were missed and the "
+      + "state has to be reloaded. Their id is a revision to resume the stream from.")
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "401", description = "Request is not authorised")})
+  @GetMapping(path = "/{workflowId}/instances/{instanceId}/states/stream",
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  SseEmitter streamInstanceState(
+      @Parameter(description = "Workflow's id to stream instance states", required = true)
+      @PathVariable String workflowId,
+      @Parameter(description = "Workflow's instance id to stream states", required = true)
+      @PathVariable String instanceId,
+      @Parameter(description = "Workflows monitoring token to authenticate the request")
+      @RequestHeader(name = X_MONITORING_TOKEN_KEY) String token,
+      @Parameter(description = "Revision of the last event received, sent by SSE clients when reconnecting")
+      @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+      @Parameter(description = "Optional revision of the last event received to resume the stream from")
+      @RequestParam(required = false) Long revision);
+
   @Operation(description = "Get activities graph nodes for a given workflow")
   @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK"),
       @ApiResponse(responseCode = "401", description = "Request is not authorised")})
@@ -128,4 +186,15 @@ public interface WorkflowsApi {
       @Parameter(description = "Optional query parameter to filter global variables update occurred after the date. "
           + "The date is an ISO 8601 date", example = "2022-09-21T15:43:24.917Z")
       @RequestParam(required = false, name = "updated_after") Instant updatedAfter);
+
+  @Operation(description = "Get instance counts, rate and durations of a given workflow and of its activities over "
+      + "sliding windows")
+  @ApiResponses(
+      value = {@ApiResponse(responseCode = "200", description = "OK"),
+          @ApiResponse(responseCode = "401", description = "Request is not authorised")})
+  @GetMapping("/{workflowId}/stats")
+  ResponseEntity<WorkflowStatsView> getWorkflowStats(
+      @Parameter(description = "Workflow's id to get statistics", required = true) @PathVariable String workflowId,
+      @Parameter(description = "Workflows monitoring token to authenticate the request")
+      @RequestHeader(name = X_MONITORING_TOKEN_KEY) String token);
 }
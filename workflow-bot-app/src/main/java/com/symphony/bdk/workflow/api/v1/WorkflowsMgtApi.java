@@ -110,14 +110,23 @@ public interface WorkflowsMgtApi {
       @RequestParam(required = false, name = "expiration_date")
       Instant expirationDate);
 
-  @Operation(description = "Streaming logs in SSE.")
+  @Operation(description = "Streaming logs in SSE, optionally filtered.")
   @ApiResponses(value = {@ApiResponse(responseCode = "200"),
+      @ApiResponse(responseCode = "400", description = "Unknown log level"),
       @ApiResponse(responseCode = "401", description = "Request is not authorised")})
   @ResponseStatus(HttpStatus.OK)
   @GetMapping(path = "/logs", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
   SseEmitter streamingLogs(
       @Parameter(description = "Workflow's token to authenticate the request", required = true)
-      @RequestHeader(name = X_MANAGEMENT_TOKEN_KEY) String token);
+      @RequestHeader(name = X_MANAGEMENT_TOKEN_KEY) String token,
+      @Parameter(description = "Only stream the logs of activities executed for this workflow")
+      @RequestParam(required = false, name = "workflow_id") String workflowId,
+      @Parameter(description = "Only stream the logs of activities executed for this workflow instance")
+      @RequestParam(required = false, name = "instance_id") String instanceId,
+      @Parameter(description = "Minimum level of the logs, such as INFO")
+      @RequestParam(required = false) String level,
+      @Parameter(description = "Only stream the logs of loggers whose name starts with this prefix")
+      @RequestParam(required = false) String logger);
 
   @Operation(description = "Upload a secret")
   @ApiResponses(value = {@ApiResponse(responseCode = "204")})
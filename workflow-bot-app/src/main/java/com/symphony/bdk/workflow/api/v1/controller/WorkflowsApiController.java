@@ -4,22 +4,34 @@ import com.symphony.bdk.workflow.api.v1.WorkflowsApi;
 import com.symphony.bdk.workflow.api.v1.dto.VariableView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowExecutionRequest;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstLifeCycleFilter;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstPageView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.engine.ExecutionParameters;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.monitoring.service.MonitoringService;
+import com.symphony.bdk.workflow.monitoring.service.WorkflowDefinitionView;
 import com.symphony.bdk.workflow.security.Authorized;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -31,6 +43,7 @@ public class WorkflowsApiController implements WorkflowsApi {
 
   private final MonitoringService monitoringService;
   private final WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
+  private final ObjectMapper objectMapper;
 
   @Override
   public ResponseEntity<Object> executeWorkflowById(String token, String id, WorkflowExecutionRequest arguments) {
@@ -52,6 +65,39 @@ public class WorkflowsApiController implements WorkflowsApi {
     return ResponseEntity.ok(monitoringService.listWorkflowInstances(workflowId, status, version));
   }
 
+  @Override
+  @Authorized(headerTokenKey = X_MONITORING_TOKEN_KEY)
+  public ResponseEntity<WorkflowInstPageView> listWorkflowInstancesPage(String workflowId, String token,
+      String status, Long version, String cursor, Integer limit) {
+    return ResponseEntity.ok(monitoringService.listWorkflowInstances(workflowId, status, version, cursor, limit));
+  }
+
+  @Override
+  @Authorized(headerTokenKey = X_MONITORING_TOKEN_KEY)
+  public ResponseEntity<StreamingResponseBody> streamWorkflowInstances(String workflowId, String token,
+      String status, Long version) {
+    ObjectWriter writer = objectMapper.writerFor(WorkflowInstView.class);
+    StreamingResponseBody body = outputStream -> {
+      try {
+        // rows are written as pages are read, the client starts receiving them before the whole list is read
+        monitoringService.streamWorkflowInstances(workflowId, status, version, page -> {
+          try {
+            for (WorkflowInstView instance : page) {
+              outputStream.write(writer.writeValueAsBytes(instance));
+              outputStream.write('\n');
+            }
+            outputStream.flush();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+  }
+
   @Override
   @Authorized(headerTokenKey = X_MONITORING_TOKEN_KEY)
   public ResponseEntity<WorkflowNodesStateView> getInstanceState(String workflowId, String instanceId,
@@ -62,10 +108,25 @@ public class WorkflowsApiController implements WorkflowsApi {
     return ResponseEntity.ok(monitoringService.listWorkflowInstanceNodes(workflowId, instanceId, lifeCycleFilter));
   }
 
+  @Override
+  @Authorized(headerTokenKey = X_MONITORING_TOKEN_KEY)
+  public SseEmitter streamInstanceState(String workflowId, String instanceId, String token, Long lastEventId,
+      Long revision) {
+    return monitoringService.streamWorkflowInstanceNodes(workflowId, instanceId,
+        lastEventId != null ? lastEventId : revision);
+  }
+
   @Override
   @Authorized(headerTokenKey = X_MONITORING_TOKEN_KEY)
   public ResponseEntity<WorkflowNodesView> getWorkflowGraphNodes(String workflowId, String token, Long version) {
-    return ResponseEntity.ok(monitoringService.getWorkflowDefinition(workflowId, version));
+    WorkflowDefinitionView definition = monitoringService.getWorkflowDefinitionView(workflowId, version);
+    // a given version never changes while the active one does on deploy, it is revalidated against the ETag and a
+    // matching If-None-Match is answered with a 304
+    CacheControl cacheControl = version == null ? CacheControl.noCache() : CacheControl.maxAge(Duration.ofDays(1));
+    return ResponseEntity.ok()
+        .eTag(definition.getEtag())
+        .cacheControl(cacheControl.cachePrivate())
+        .body(definition.getNodes());
   }
 
   @Override
@@ -76,4 +137,10 @@ public class WorkflowsApiController implements WorkflowsApi {
         monitoringService.listWorkflowInstanceGlobalVars(workflowId, instanceId, updatedBefore, updatedAfter));
   }
 
+  @Override
+  @Authorized(headerTokenKey = X_MONITORING_TOKEN_KEY)
+  public ResponseEntity<WorkflowStatsView> getWorkflowStats(String workflowId, String token) {
+    return ResponseEntity.ok(monitoringService.getWorkflowStats(workflowId));
+  }
+
 }
@@ -7,6 +7,7 @@ import com.symphony.bdk.workflow.api.v1.dto.VersionedWorkflowView;
 import com.symphony.bdk.workflow.configuration.ConditionalOnPropertyNotEmpty;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.expiration.WorkflowExpirationService;
+import com.symphony.bdk.workflow.logs.LogsFilter;
 import com.symphony.bdk.workflow.logs.LogsStreamingService;
 import com.symphony.bdk.workflow.management.WorkflowManagementService;
 import com.symphony.bdk.workflow.security.Authorized;
@@ -90,9 +91,10 @@ public class WorkflowsMgtApiController implements WorkflowsMgtApi {
 
   @Override
   @Authorized(headerTokenKey = X_MANAGEMENT_TOKEN_KEY)
-  public SseEmitter streamingLogs(String token) {
+  public SseEmitter streamingLogs(String token, String workflowId, String instanceId, String level, String logger) {
+    LogsFilter filter = LogsFilter.of(workflowId, instanceId, level, logger);
     SseEmitter emitter = new SseEmitter();
-    logsStreamingService.subscribe(emitter);
+    logsStreamingService.subscribe(emitter, filter);
     return emitter;
   }
 
@@ -0,0 +1,17 @@
+package com.symphony.bdk.workflow.api.v1.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DurationStatsView {
+  private long count;
+  private Duration p50;
+  private Duration p95;
+  private Duration p99;
+}
@@ -0,0 +1,22 @@
+package com.symphony.bdk.workflow.api.v1.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WindowStatsView {
+  private Duration window;
+  private long started;
+  private long completed;
+  private long failed;
+  // started instances per second
+  private double instanceRate;
+  private DurationStatsView duration;
+  private Map<String, DurationStatsView> activities;
+}
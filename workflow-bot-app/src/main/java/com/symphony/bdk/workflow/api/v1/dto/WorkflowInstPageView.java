@@ -0,0 +1,14 @@
+package com.symphony.bdk.workflow.api.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class WorkflowInstPageView {
+  private List<WorkflowInstView> instances;
+  // null on the last page
+  private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package com.symphony.bdk.workflow.api.v1.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class WorkflowStatsView {
+  private String workflowId;
+  private List<WindowStatsView> windows;
+}
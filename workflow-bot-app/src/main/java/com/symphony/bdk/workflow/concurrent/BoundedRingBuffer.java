@@ -0,0 +1,102 @@
+package com.symphony.bdk.workflow.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bounded queue backed by a ring buffer (Vyukov's bounded MPMC queue).
+ *
+ * <p>Each slot carries a sequence number telling whether it is ready to be written or read, so producers and
+ * consumers only contend on a compare-and-set of their own position. {@link #offer(Object)} never blocks and returns
+ * false when the buffer is full, leaving the backpressure policy (dropping, counting) to the caller.</p>
+ *
+ * @param <E> type of the buffered elements
+ */
+public class BoundedRingBuffer<E> {
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+
+  /**
+   * @param capacity minimum capacity, rounded up to the next power of two
+   */
+  public BoundedRingBuffer(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30, got " + capacity);
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = size - 1;
+    this.elements = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * @param element element to add, not null
+   * @return false if the buffer is full
+   */
+  public boolean offer(E element) {
+    long position = enqueuePosition.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          elements.set(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = enqueuePosition.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = enqueuePosition.get();
+      }
+    }
+  }
+
+  /**
+   * @return the oldest element or null if the buffer is empty
+   */
+  public E poll() {
+    long position = dequeuePosition.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (dequeuePosition.compareAndSet(position, position + 1)) {
+          E element = elements.get(index);
+          elements.set(index, null);
+          sequences.set(index, position + mask + 1);
+          return element;
+        }
+        position = dequeuePosition.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = dequeuePosition.get();
+      }
+    }
+  }
+
+  /**
+   * @return approximate number of buffered elements
+   */
+  public int size() {
+    long size = enqueuePosition.get() - dequeuePosition.get();
+    return (int) Math.max(0, Math.min(size, capacity()));
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+}
@@ -43,16 +43,31 @@ public class WorkflowBotConfiguration {
     return new SymphonyGroupBdkExtension();
   }
 
+  /**
+   * Key versions are derived from the keys, previous passphrases can be added or removed without changing the version
+   * of the current one. Previous passphrases are kept so that existing secrets can still be decrypted, the current
+   * passphrase is used to encrypt.
+   */
   @Bean
-  public SecretCryptVault cryptJpaVault(@Value("${wdk.encrypt.passphrase}") String pwd)
+  public SecretCryptVault cryptJpaVault(@Value("${wdk.encrypt.passphrase}") String pwd,
+      @Value("${wdk.encrypt.previous-passphrases:}") String[] previousPwds)
       throws InvalidKeySpecException, NoSuchAlgorithmException {
+    SecretCryptVault vault = new SecretCryptVault();
+    for (String previousPwd : previousPwds) {
+      vault.with256BitAesGcmNoPaddingAnd64BitSaltKey(deriveKey(previousPwd));
+    }
+    byte[] key = deriveKey(pwd);
+    return vault.with256BitAesGcmNoPaddingAnd64BitSaltKey(key)
+        .withDefaultKeyVersion(SecretCryptVault.keyVersion(key));
+  }
+
+  private static byte[] deriveKey(String pwd) throws InvalidKeySpecException, NoSuchAlgorithmException {
     if (pwd.length() < 16) {
       throw new IllegalArgumentException("The encryption passphrase length must have at least 16 characters.");
     }
     SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
     KeySpec spec = new PBEKeySpec(pwd.toCharArray(), pwd.substring(0, 9).getBytes(StandardCharsets.UTF_8), 65536, 256);
     SecretKey tmp = factory.generateSecret(spec);
-    return new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, tmp.getEncoded())
-        .withDefaultKeyVersion(0);
+    return tmp.getEncoded();
   }
 }
@@ -3,34 +3,61 @@ package com.symphony.bdk.workflow.configuration;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowTranslationCache;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @ConditionalOnPropertyNotEmpty("wdk.workflows.path")
-@RequiredArgsConstructor
 @Slf4j
 public class WorkflowDeployer {
 
   private final WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
   private final Map<Path, Pair<String, Boolean>> deployedWorkflows = new HashMap<>();
   private final WorkflowDirectedGraphService workflowDirectedGraphService;
+  private final WorkflowTranslationCache translationCache;
+  private final int loadingParallelism;
 
+  public WorkflowDeployer(WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine,
+      WorkflowDirectedGraphService workflowDirectedGraphService, WorkflowTranslationCache translationCache,
+      @Value("${wdk.properties.workflows.loading.parallelism:0}") int loadingParallelism) {
+    this.workflowEngine = workflowEngine;
+    this.workflowDirectedGraphService = workflowDirectedGraphService;
+    this.translationCache = translationCache;
+    this.loadingParallelism =
+        loadingParallelism > 0 ? loadingParallelism : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Workflows are parsed, validated and translated in parallel, then deployed one after the other in file order.
+   */
   public void addAllWorkflowsFromFolder(Path path) {
     if (!Files.isDirectory(path)) {
       throw new IllegalArgumentException("Could not find workflows folder to monitor with path: " + path);
@@ -38,26 +65,64 @@ public class WorkflowDeployer {
 
     log.info("Watching workflows from {}", path);
     File[] existingFiles = path.toFile().listFiles();
-    if (existingFiles != null) {
-      for (File file : existingFiles) {
-        if (isYaml(file.toPath())) {
-          try {
-            this.addWorkflow(file.toPath());
-          } catch (Exception e) {
-            log.error("Failed to add workflow for file {}", file, e);
+    if (existingFiles == null) {
+      return;
+    }
+    List<Path> workflowFiles = Arrays.stream(existingFiles).map(File::toPath).filter(this::isYaml).sorted().toList();
+
+    long start = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(loadingParallelism,
+        Math.max(1, workflowFiles.size())));
+    try {
+      List<Future<Optional<TimedTranslation>>> translations = new ArrayList<>();
+      for (Path workflowFile : workflowFiles) {
+        translations.add(executor.submit(() -> translate(workflowFile)));
+      }
+      for (int i = 0; i < workflowFiles.size(); i++) {
+        Path workflowFile = workflowFiles.get(i);
+        try {
+          Optional<TimedTranslation> translation = translations.get(i).get();
+          if (translation.isPresent()) {
+            long deployStart = System.nanoTime();
+            deploy(workflowFile, translation.get().getContext());
+            log.info("Loaded workflow file {} (translated in {} ms, deployed in {} ms)", workflowFile,
+                translation.get().getDurationMillis(), toMillis(System.nanoTime() - deployStart));
           }
+        } catch (ExecutionException e) {
+          log.error("Failed to add workflow for file {}", workflowFile, e.getCause());
+        } catch (RuntimeException e) {
+          log.error("Failed to add workflow for file {}", workflowFile, e);
         }
       }
+      log.info("Processed {} workflow files in {} ms", workflowFiles.size(), toMillis(System.nanoTime() - start));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Loading workflows from {} interrupted", path);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
-  void addWorkflow(Path workflowFile) throws IOException, ProcessingException {
+  void addWorkflow(Path workflowFile) throws IOException {
+    Optional<TimedTranslation> translation = translate(workflowFile);
+    if (translation.isPresent()) {
+      deploy(workflowFile, translation.get().getContext());
+    }
+  }
+
+  private Optional<TimedTranslation> translate(Path workflowFile) throws IOException {
     if (workflowFile.toFile().length() == 0) {
-      return;
+      return Optional.empty();
     }
+    long start = System.nanoTime();
+    String swadl = Files.readString(workflowFile, StandardCharsets.UTF_8);
+    CamundaTranslatedWorkflowContext context = translationCache.translate(swadl, null, () -> parse(swadl));
+    return Optional.of(new TimedTranslation(context, toMillis(System.nanoTime() - start)));
+  }
+
+  private void deploy(Path workflowFile, CamundaTranslatedWorkflowContext context) {
     log.debug("Adding a new workflow");
-    Workflow workflow = SwadlParser.fromYaml(workflowFile.toFile());
-    CamundaTranslatedWorkflowContext context = workflowEngine.translate(workflow);
+    Workflow workflow = context.getWorkflow();
     Pair<String, Boolean> deployedWorkflow = deployedWorkflows.get(workflowFile);
     if (workflow.isToPublish()) {
       log.debug("Deploying this new workflow");
@@ -70,7 +135,19 @@ public class WorkflowDeployer {
     deployedWorkflows.put(workflowFile, Pair.of(workflow.getId(), workflow.isToPublish()));
   }
 
-  public void handleFileEvent(Path changedFile, WatchEvent<Path> event) throws IOException, ProcessingException {
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  private static Workflow parse(String swadl) {
+    try {
+      return SwadlParser.fromYaml(swadl);
+    } catch (IOException | ProcessingException e) {
+      throw new IllegalArgumentException("SWADL content is not valid", e);
+    }
+  }
+
+  public void handleFileEvent(Path changedFile, WatchEvent<Path> event) throws IOException {
     if (isYaml(changedFile)) {
       if (event.kind().equals(StandardWatchEventKinds.ENTRY_CREATE) || event.kind()
           .equals(StandardWatchEventKinds.ENTRY_MODIFY)) {
@@ -89,4 +166,11 @@ public class WorkflowDeployer {
     return changedFile.toString().endsWith(".yaml") || changedFile.toString().endsWith(".yml");
   }
 
+  @Getter
+  @RequiredArgsConstructor
+  private static class TimedTranslation {
+    private final CamundaTranslatedWorkflowContext context;
+    private final long durationMillis;
+  }
+
 }
@@ -2,6 +2,7 @@ package com.symphony.bdk.workflow.configuration;
 
 import com.symphony.bdk.workflow.engine.WorkflowEngineMetrics;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import org.springframework.stereotype.Component;
@@ -9,7 +10,8 @@ import org.springframework.stereotype.Component;
 import java.util.function.ToDoubleFunction;
 
 /**
- * Expose custom metrics (workflow.*) to Spring Boot Actuator.
+ * Expose custom metrics (workflow.*) to Spring Boot Actuator. Values are kept in memory by
+ * {@link WorkflowEngineMetrics} so that scrapes do not query Camunda's tables, failed counts are counters of this node.
  */
 @Component
 public class WorkflowMetricsRegistry {
@@ -22,13 +24,15 @@ public class WorkflowMetricsRegistry {
         (ToDoubleFunction<Tags>) value -> (double) metrics.countRunningProcesses());
     registry.gauge("workflow.process.completed", Tags.empty(),
         (ToDoubleFunction<Tags>) value -> (double) metrics.countCompletedProcesses());
+    FunctionCounter.builder("workflow.process.failed", metrics, m -> (double) m.countFailedProcesses())
+        .register(registry);
 
     registry.gauge("workflow.activity.running", Tags.empty(),
         (ToDoubleFunction<Tags>) value -> (double) metrics.countRunningActivities());
     registry.gauge("workflow.activity.completed", Tags.empty(),
         (ToDoubleFunction<Tags>) value -> (double) metrics.countCompletedActivities());
-
-    // TODO expose failed process/activity counters
+    FunctionCounter.builder("workflow.activity.failed", metrics, m -> (double) m.countFailedActivities())
+        .register(registry);
   }
 
 }
@@ -7,7 +7,11 @@ public interface WorkflowEngineMetrics {
 
   long countCompletedProcesses();
 
+  long countFailedProcesses();
+
   long countRunningActivities();
 
   long countCompletedActivities();
+
+  long countFailedActivities();
 }
@@ -5,6 +5,8 @@ import com.symphony.bdk.spring.events.RealTimeEvent;
 import com.symphony.bdk.workflow.engine.ExecutionParameters;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
+import com.symphony.bdk.workflow.engine.camunda.history.HistoricInstancesDeletedEvent;
+import com.symphony.bdk.workflow.engine.camunda.history.WorkflowHistoryLevel;
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
 import com.symphony.bdk.workflow.event.RealTimeEventProcessor;
 import com.symphony.bdk.workflow.exception.NotFoundException;
@@ -14,6 +16,8 @@ import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.event.RequestReceivedEvent;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.repository.Deployment;
@@ -21,11 +25,13 @@ import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.model.xml.ModelValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -43,14 +49,30 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
 
   private final AuditTrailLogAction auditTrailLogger;
 
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final CamundaMetrics metrics;
+
+  private final WorkflowHistoryLevel historyLevel;
+
+  private final Counter skippedDeployments;
+
   @Autowired
   public CamundaEngine(RepositoryService repositoryService, CamundaBpmnBuilder bpmnBuilder,
-      List<RealTimeEventProcessor<?>> processors, AuditTrailLogAction auditTrailLogger) {
+      List<RealTimeEventProcessor<?>> processors, AuditTrailLogAction auditTrailLogger,
+      ApplicationEventPublisher eventPublisher, CamundaMetrics metrics, WorkflowHistoryLevel historyLevel,
+      MeterRegistry registry) {
     this.repositoryService = repositoryService;
     this.bpmnBuilder = bpmnBuilder;
     processorRegistry =
         processors.stream().collect(Collectors.toMap(p -> p.sourceType().getSimpleName(), Function.identity()));
     this.auditTrailLogger = auditTrailLogger;
+    this.eventPublisher = eventPublisher;
+    this.metrics = metrics;
+    this.historyLevel = historyLevel;
+    this.skippedDeployments = Counter.builder("workflow.deployment.skipped")
+        .description("Deployments skipped because the workflow did not change")
+        .register(registry);
   }
 
   @Override
@@ -61,12 +83,30 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
 
   @Override
   public String deploy(CamundaTranslatedWorkflowContext context) {
+    Optional<String> latestDeploymentId = latestDeploymentId(context.getWorkflow().getId());
     Deployment deployment = bpmnBuilder.deployWorkflow(context);
-    log.info("Deployed workflow {} {}", deployment.getId(), deployment.getName());
-    auditTrailLogger.deployed(deployment);
+    if (latestDeploymentId.filter(deployment.getId()::equals).isPresent()) {
+      log.info("Workflow {} is unchanged, keeping deployment {}", deployment.getName(), deployment.getId());
+      skippedDeployments.increment();
+    } else {
+      log.info("Deployed workflow {} {}", deployment.getId(), deployment.getName());
+      auditTrailLogger.deployed(deployment);
+      metrics.refreshDeployedWorkflows();
+    }
     return deployment.getId();
   }
 
+  private Optional<String> latestDeploymentId(String workflowId) {
+    return repositoryService.createDeploymentQuery()
+        .deploymentName(workflowId)
+        .orderByDeploymentTime()
+        .desc()
+        .listPage(0, 1)
+        .stream()
+        .findFirst()
+        .map(Deployment::getId);
+  }
+
   @Override
   public CamundaTranslatedWorkflowContext translate(Workflow workflow) {
     checkUniquenessOfActivitiesId(workflow);
@@ -130,7 +170,17 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
   }
 
   private void stop(Deployment deployment) {
+    // the cascading delete also removes the instances' history, their definitions are gone once it is done
+    List<String> definitionIds = repositoryService.createProcessDefinitionQuery()
+        .deploymentId(deployment.getId())
+        .list()
+        .stream()
+        .map(ProcessDefinition::getId)
+        .collect(Collectors.toList());
     repositoryService.deleteDeployment(deployment.getId(), true);
+    historyLevel.removeLevel(deployment.getId());
+    eventPublisher.publishEvent(HistoricInstancesDeletedEvent.ofDefinitions(definitionIds));
+    metrics.refreshDeployedWorkflows();
     log.info("Removed workflow {}", deployment.getName());
     auditTrailLogger.undeployed(deployment);
   }
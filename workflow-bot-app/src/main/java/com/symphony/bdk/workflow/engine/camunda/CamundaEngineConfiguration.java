@@ -1,5 +1,6 @@
 package com.symphony.bdk.workflow.engine.camunda;
 
+import com.symphony.bdk.workflow.engine.camunda.history.WorkflowHistoryLevel;
 import com.symphony.bdk.workflow.engine.executor.BdkGateway;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
@@ -12,6 +13,7 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
@@ -23,6 +25,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.script.Bindings;
 import javax.script.ScriptEngine;
 
@@ -38,8 +42,14 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
 
   private final SecretKeeper secretKeeper;
 
+  private final WorkflowHistoryLevel workflowHistoryLevel;
+
   @Override
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    if (workflowHistoryLevel.isEnabled()) {
+      configurePerWorkflowHistoryLevel(processEngineConfiguration);
+    }
+
     ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
     expressionManager.addFunction(UtilityFunctionsMapper.TEXT,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.TEXT, String.class));
@@ -63,6 +73,15 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
     expressionManager.addFunction(UtilityFunctionsMapper.WRITESHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.WRITESHARED, String.class,
             String.class, Object.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.INCREMENTSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.INCREMENTSHARED, String.class,
+            String.class, long.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.COMPAREANDSETSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.COMPAREANDSETSHARED, String.class,
+            String.class, Object.class, Object.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.APPENDSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.APPENDSHARED, String.class,
+            String.class, Object.class));
     expressionManager.addFunction(UtilityFunctionsMapper.SECRET,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.SECRET, String.class));
   }
@@ -75,6 +94,16 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
     handleScriptExceptionsAsBpmnErrors(processEngineConfiguration);
   }
 
+  // The history level is stored in Camunda's database, switching it on an existing persistent database fails at startup
+  private void configurePerWorkflowHistoryLevel(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    List<HistoryLevel> customHistoryLevels = processEngineConfiguration.getCustomHistoryLevels() == null
+        ? new ArrayList<>() : new ArrayList<>(processEngineConfiguration.getCustomHistoryLevels());
+    customHistoryLevels.add(workflowHistoryLevel);
+    processEngineConfiguration.setCustomHistoryLevels(customHistoryLevels);
+    processEngineConfiguration.setHistory(workflowHistoryLevel.getName());
+    log.info("History level is configured per workflow");
+  }
+
   // By default, script exceptions (except for BPMNError) are not failing the script task
   // We change this behavior to wrap any script exception in a BpmnError to handle errors with activity-failed
   private void handleScriptExceptionsAsBpmnErrors(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -24,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.value.ObjectValue;
 import org.slf4j.MDC;
@@ -54,8 +55,9 @@ public class CamundaExecutor implements JavaDelegate {
   public static final ObjectMapper OBJECT_MAPPER;
 
   // set MDC entries so that executors can produce log that we can contextualize
-  private static final String MDC_PROCESS_ID = "X-PROCESS-ID";
-  private static final String MDC_ACTIVITY_ID = "X-ACTIVITY-ID";
+  public static final String MDC_WORKFLOW_ID = "X-WORKFLOW-ID";
+  public static final String MDC_PROCESS_ID = "X-PROCESS-ID";
+  public static final String MDC_ACTIVITY_ID = "X-ACTIVITY-ID";
 
   static {
     SimpleModule module = new SimpleModule();
@@ -144,11 +146,13 @@ public class CamundaExecutor implements JavaDelegate {
   }
 
   private void setMdc(DelegateExecution execution) {
+    MDC.put(MDC_WORKFLOW_ID, ((ExecutionEntity) execution).getProcessDefinition().getKey());
     MDC.put(MDC_PROCESS_ID, execution.getProcessInstanceId());
     MDC.put(MDC_ACTIVITY_ID, execution.getActivityInstanceId());
   }
 
   private void clearMdc() {
+    MDC.remove(MDC_WORKFLOW_ID);
     MDC.remove(MDC_PROCESS_ID);
     MDC.remove(MDC_ACTIVITY_ID);
   }
@@ -1,45 +1,148 @@
 package com.symphony.bdk.workflow.engine.camunda;
 
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.engine.WorkflowEngineMetrics;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.AbstractInstanceDomainConverter;
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
 
-import lombok.RequiredArgsConstructor;
 import org.camunda.bpm.engine.HistoryService;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Workflow metrics kept in memory so that scrapes never query Camunda's tables.
+ *
+ * <p>Running processes and activities are counted from Camunda's runtime tables, which only hold running instances,
+ * on startup and then on a schedule, so they include the workflows without history and the instances of all the
+ * nodes.</p>
+ *
+ * <p>Completed processes and activities are counted from the history tables once on startup, then incremented from
+ * the history events of this node once the engine transaction commits. Failed processes and activities are counted
+ * from history events only, since the node started. Only script and service tasks are counted as activities, failed
+ * ones are the ones canceled by the error they threw.</p>
+ */
 @Component
-public class CamundaMetrics implements WorkflowEngineMetrics {
-  private final RuntimeService runtimeService;
+public class CamundaMetrics implements WorkflowEngineMetrics, HistoricEventAction {
+  private static final Set<String> ACTIVITY_TYPES = Set.of("scriptTask", "serviceTask");
+
   private final RepositoryService repositoryService;
+  private final RuntimeService runtimeService;
   private final HistoryService historyService;
 
+  private final AtomicLong deployedWorkflows = new AtomicLong();
+  private final AtomicLong runningProcesses = new AtomicLong();
+  private final AtomicLong completedProcesses = new AtomicLong();
+  private final AtomicLong failedProcesses = new AtomicLong();
+  private final AtomicLong runningActivities = new AtomicLong();
+  private final AtomicLong completedActivities = new AtomicLong();
+  private final AtomicLong failedActivities = new AtomicLong();
+
+  public CamundaMetrics(@Lazy RepositoryService repositoryService, @Lazy RuntimeService runtimeService,
+      @Lazy HistoryService historyService) {
+    this.repositoryService = repositoryService;
+    this.runtimeService = runtimeService;
+    this.historyService = historyService;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    refreshDeployedWorkflows();
+    refreshRunningCounts();
+    completedProcesses.addAndGet(historyService.createHistoricProcessInstanceQuery().finished().count());
+    // chaining activityType() keeps only the last type, one query per type
+    ACTIVITY_TYPES.forEach(type -> completedActivities.addAndGet(
+        historyService.createHistoricActivityInstanceQuery().activityType(type).finished().count()));
+  }
+
+  /**
+   * Called once workflows are deployed or removed, as deployments do not produce history events.
+   */
+  public void refreshDeployedWorkflows() {
+    deployedWorkflows.set(repositoryService.createProcessDefinitionQuery().active().count());
+  }
+
+  @Scheduled(initialDelayString = "${wdk.properties.monitoring.metrics.running-refresh-interval:PT30S}",
+      fixedDelayString = "${wdk.properties.monitoring.metrics.running-refresh-interval:PT30S}")
+  public void refreshRunningCounts() {
+    runningProcesses.set(runtimeService.createProcessInstanceQuery().active().count());
+    runningActivities.set(runtimeService.createExecutionQuery().active().count());
+  }
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+      onProcessEnded((HistoricProcessInstanceEventEntity) historyEvent);
+    } else if (historyEvent instanceof HistoricActivityInstanceEventEntity
+        && historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)) {
+      onActivityEnded((HistoricActivityInstanceEventEntity) historyEvent);
+    }
+  }
+
+  private void onProcessEnded(HistoricProcessInstanceEventEntity event) {
+    // as the history query on startup, completed processes include failed ones
+    HistoricEventAction.afterCommit(completedProcesses::incrementAndGet);
+    String status = AbstractInstanceDomainConverter.resolveStatus(event.getState(), event.getEndActivityId());
+    if (StatusEnum.FAILED.name().equals(status)) {
+      HistoricEventAction.afterCommit(failedProcesses::incrementAndGet);
+    }
+  }
+
+  private void onActivityEnded(HistoricActivityInstanceEventEntity event) {
+    if (!ACTIVITY_TYPES.contains(event.getActivityType())) {
+      return;
+    }
+    HistoricEventAction.afterCommit(completedActivities::incrementAndGet);
+    if (event.getActivityInstanceState() == ActivityInstanceState.CANCELED.getStateCode()) {
+      HistoricEventAction.afterCommit(failedActivities::incrementAndGet);
+    }
+  }
+
   @Override
   public long countDeployedWorkflows() {
-    return repositoryService.createProcessDefinitionQuery().active().count();
+    return deployedWorkflows.get();
   }
 
   @Override
   public long countRunningProcesses() {
-    return runtimeService.createProcessInstanceQuery().active().count();
+    return runningProcesses.get();
   }
 
   @Override
   public long countCompletedProcesses() {
-    return historyService.createHistoricProcessInstanceQuery().finished().count();
+    return completedProcesses.get();
+  }
+
+  @Override
+  public long countFailedProcesses() {
+    return failedProcesses.get();
   }
 
   @Override
   public long countRunningActivities() {
-    return runtimeService.createExecutionQuery().active().count();
+    return runningActivities.get();
   }
 
   @Override
   public long countCompletedActivities() {
-    return historyService.createHistoricActivityInstanceQuery()
-        .activityType("scriptTask").activityType("serviceTask") // exclude events
-        .finished().count();
+    return completedActivities.get();
+  }
 
+  @Override
+  public long countFailedActivities() {
+    return failedActivities.get();
   }
 }
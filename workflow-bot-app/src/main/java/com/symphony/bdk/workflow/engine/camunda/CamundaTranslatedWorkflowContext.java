@@ -2,20 +2,58 @@ package com.symphony.bdk.workflow.engine.camunda;
 
 import com.symphony.bdk.workflow.engine.TranslatedWorkflowContext;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 @Getter
 @EqualsAndHashCode(callSuper = true)
 public class CamundaTranslatedWorkflowContext extends TranslatedWorkflowContext {
-  private final BpmnModelInstance bpmnModelInstance;
+  private BpmnModelInstance bpmnModelInstance;
+  private String bpmnXml;
 
   public CamundaTranslatedWorkflowContext(Workflow workflow, WorkflowDirectedGraph workflowDirectedGraph,
       BpmnModelInstance instance) {
+    this(workflow, workflowDirectedGraph, instance, null);
+  }
+
+  private CamundaTranslatedWorkflowContext(Workflow workflow, WorkflowDirectedGraph workflowDirectedGraph,
+      BpmnModelInstance instance, String bpmnXml) {
     super(workflow, workflowDirectedGraph);
     this.bpmnModelInstance = instance;
+    this.bpmnXml = bpmnXml;
+  }
+
+  /**
+   * Context of a workflow translated before, its model is only read from the BPMN if requested.
+   */
+  public static CamundaTranslatedWorkflowContext fromBpmn(Workflow workflow,
+      WorkflowDirectedGraph workflowDirectedGraph, String bpmnXml) {
+    return new CamundaTranslatedWorkflowContext(workflow, workflowDirectedGraph, null, bpmnXml);
+  }
+
+  public BpmnModelInstance getBpmnModelInstance() {
+    if (bpmnModelInstance == null && bpmnXml != null) {
+      bpmnModelInstance =
+          Bpmn.readModelFromStream(new ByteArrayInputStream(bpmnXml.getBytes(StandardCharsets.UTF_8)));
+    }
+    return bpmnModelInstance;
+  }
+
+  /**
+   * @return the BPMN that is deployed, with stable element ids, or null if there is no model
+   */
+  public String getBpmnXml() {
+    if (bpmnXml == null && bpmnModelInstance != null) {
+      bpmnXml = CamundaBpmnBuilder.toStableXml(bpmnModelInstance);
+    }
+    return bpmnXml;
   }
 }
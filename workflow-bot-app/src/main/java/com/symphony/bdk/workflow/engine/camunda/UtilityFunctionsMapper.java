@@ -67,6 +67,9 @@ public class UtilityFunctionsMapper extends FunctionMapper {
   public static final String SESSION = "session";
   public static final String READSHARED = "readShared";
   public static final String WRITESHARED = "writeShared";
+  public static final String INCREMENTSHARED = "incrementShared";
+  public static final String COMPAREANDSETSHARED = "compareAndSetShared";
+  public static final String APPENDSHARED = "appendShared";
   public static final String SECRET = "secret";
 
   private static final Map<String, Method> FUNCTION_MAP;
@@ -86,6 +89,13 @@ public class UtilityFunctionsMapper extends FunctionMapper {
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, READSHARED, String.class, String.class));
     FUNCTION_MAP.put(WRITESHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, WRITESHARED, String.class, String.class, Object.class));
+    FUNCTION_MAP.put(INCREMENTSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, INCREMENTSHARED, String.class, String.class, long.class));
+    FUNCTION_MAP.put(COMPAREANDSETSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, COMPAREANDSETSHARED, String.class, String.class,
+            Object.class, Object.class));
+    FUNCTION_MAP.put(APPENDSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, APPENDSHARED, String.class, String.class, Object.class));
     FUNCTION_MAP.put(SECRET, ReflectUtil.getMethod(UtilityFunctionsMapper.class, SECRET, String.class));
   }
 
@@ -118,6 +128,18 @@ public class UtilityFunctionsMapper extends FunctionMapper {
     sharedDataStore.putNamespaceData(namespace, key, data);
   }
 
+  public static long incrementShared(String namespace, String key, long delta) {
+    return sharedDataStore.increment(namespace, key, delta);
+  }
+
+  public static boolean compareAndSetShared(String namespace, String key, Object expected, Object data) {
+    return sharedDataStore.compareAndSet(namespace, key, expected, data);
+  }
+
+  public static List<Object> appendShared(String namespace, String key, Object item) {
+    return sharedDataStore.appendToList(namespace, key, item);
+  }
+
   public static String text(String presentationMl) throws PresentationMLParserException {
     return PresentationMLParser.getTextContent(presentationMl);
   }
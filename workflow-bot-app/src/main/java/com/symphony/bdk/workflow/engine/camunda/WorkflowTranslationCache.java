@@ -0,0 +1,90 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.engine.WorkflowEngine;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the result of SWADL parsing, validation and BPMN translation so that deploying the same SWADL content again,
+ * such as activating an older version or saving an unchanged file, does not go through the whole pipeline.
+ *
+ * <p>Entries are keyed by a hash of the SWADL content and its version, since the version ends up in the BPMN. Only the
+ * BPMN is kept, contexts are not shared as the workflow and its directed graph are mutable: the SWADL is parsed and
+ * the directed graph built again for each use, skipping the BPMN translation and its validation.</p>
+ */
+@Component
+@Slf4j
+public class WorkflowTranslationCache {
+  private final WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
+  private final CamundaBpmnBuilder bpmnBuilder;
+  private final MeterRegistry registry;
+  // BPMN of the translated workflows, with stable element ids
+  private final Cache<String, String> translations;
+
+  public WorkflowTranslationCache(WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine,
+      CamundaBpmnBuilder bpmnBuilder, MeterRegistry registry,
+      @Value("${wdk.properties.translation.cache.max-size:100}") long maxSize) {
+    this.workflowEngine = workflowEngine;
+    this.bpmnBuilder = bpmnBuilder;
+    this.registry = registry;
+    this.translations = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, translations, "workflow-translation");
+  }
+
+  /**
+   * Returns a new translated workflow for the given SWADL content and version, translating it to BPMN only if it is
+   * not cached yet.
+   *
+   * @param swadl   SWADL content
+   * @param version version of the workflow, as set by the parser
+   * @param parser  parses and validates the SWADL content
+   */
+  public CamundaTranslatedWorkflowContext translate(String swadl, Long version, Supplier<Workflow> parser) {
+    String key = hash(swadl) + ":" + version;
+    long start = System.nanoTime();
+    Workflow workflow = parser.get();
+    String bpmnXml = translations.getIfPresent(key);
+    if (bpmnXml != null) {
+      log.debug("Reusing translation of workflow [{}] version [{}]", workflow.getId(), version);
+      return bpmnBuilder.translateWorkflow(workflow, bpmnXml);
+    }
+
+    CamundaTranslatedWorkflowContext context = workflowEngine.translate(workflow);
+    Timer.builder("workflow.translation")
+        .description("Time spent parsing, validating and translating SWADL to BPMN")
+        .tag("workflow", workflow.getId())
+        .register(registry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    Optional.ofNullable(context.getBpmnXml()).ifPresent(xml -> translations.put(key, xml));
+    return context;
+  }
+
+  private static String hash(String swadl) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(swadl.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
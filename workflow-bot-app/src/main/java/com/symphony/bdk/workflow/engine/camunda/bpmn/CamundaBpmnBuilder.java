@@ -10,8 +10,10 @@ import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.WorkflowNodeBpmnBuilderRegistry;
+import com.symphony.bdk.workflow.engine.camunda.history.WorkflowHistoryLevel;
 import com.symphony.bdk.workflow.engine.camunda.variable.VariablesListener;
 import com.symphony.bdk.workflow.swadl.v1.Activity;
+import com.symphony.bdk.workflow.swadl.v1.Properties;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 
@@ -27,6 +29,7 @@ import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
 import org.camunda.bpm.model.bpmn.builder.ExclusiveGatewayBuilder;
 import org.camunda.bpm.model.bpmn.builder.ProcessBuilder;
 import org.camunda.bpm.model.bpmn.builder.SubProcessBuilder;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaEntry;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaInputOutput;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaInputParameter;
@@ -35,9 +38,13 @@ import org.camunda.bpm.model.xml.ModelValidationException;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasActivitiesOnly;
@@ -54,14 +61,19 @@ import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.ha
 @RequiredArgsConstructor
 public class CamundaBpmnBuilder {
   public static final String DEPLOYMENT_RESOURCE_TOKEN_KEY = "WORKFLOW_TOKEN";
+  public static final String DEPLOYMENT_RESOURCE_HISTORY_LEVEL_KEY = "WORKFLOW_HISTORY_LEVEL";
   public static final String EXCLUSIVE_GATEWAY_SUFFIX = "_exclusive_gateway";
   public static final String EVENT_GATEWAY_SUFFIX = "_event_gateway";
   public static final String FORK_GATEWAY = "_fork_gateway";
+  private static final Pattern GENERATED_ID =
+      Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+  private static final String STABLE_ID_FORMAT = "00000000-0000-0000-0000-%012d";
 
   private final RepositoryService repositoryService;
   private final WorkflowNodeBpmnBuilderRegistry builderFactory;
   private final SessionService sessionService;
   private final WorkflowDirectedGraphService directedGraphService;
+  private final WorkflowHistoryLevel historyLevel;
 
   public CamundaTranslatedWorkflowContext translateWorkflow(Workflow workflow)
       throws JsonProcessingException, ModelValidationException {
@@ -78,14 +90,51 @@ public class CamundaBpmnBuilder {
     }
   }
 
+  /**
+   * Context of a workflow translated and validated before, only its directed graph is built again as it is not
+   * shared between contexts.
+   */
+  public CamundaTranslatedWorkflowContext translateWorkflow(Workflow workflow, String bpmnXml) {
+    WorkflowDirectedGraph workflowDirectedGraph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
+    return CamundaTranslatedWorkflowContext.fromBpmn(workflow, workflowDirectedGraph, bpmnXml);
+  }
+
   public Deployment deployWorkflow(CamundaTranslatedWorkflowContext context) {
     Workflow workflow = context.getWorkflow();
-    BpmnModelInstance instance = context.getBpmnModelInstance();
+    // unchanged resources, including the token, result in the latest deployment being returned instead of a new one
     DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
         .name(workflow.getId())
-        .addModelInstance(workflow.getId() + ".bpmn", instance);
+        .enableDuplicateFiltering(false)
+        .addString(workflow.getId() + ".bpmn", context.getBpmnXml());
     directedGraphService.putDirectedGraph(context.getWorkflowDirectedGraph());
-    return setWorkflowTokenIfExists(deploymentBuilder, workflow).deploy();
+    Properties.HistoryLevel level = workflow.getProperties().getHistory();
+    // not part of the BPMN, the level is a resource so that changing it alone results in a new deployment
+    if (level != Properties.HistoryLevel.FULL) {
+      deploymentBuilder.addString(DEPLOYMENT_RESOURCE_HISTORY_LEVEL_KEY, level.name());
+    }
+    Deployment deployment = setWorkflowTokenIfExists(deploymentBuilder, workflow).deploy();
+    // per deployment so that running instances of previous versions keep the level they started with
+    historyLevel.putLevel(deployment.getId(), level);
+    return deployment;
+  }
+
+  /**
+   * The BPMN fluent builder generates random ids, for sequence flows for instance. They are replaced with ids that
+   * only depend on the element position so that translating the same workflow twice produces the same resource.
+   */
+  public static String toStableXml(BpmnModelInstance instance) {
+    Map<String, String> stableIds = new HashMap<>();
+    for (BaseElement element : instance.getModelElementsByType(BaseElement.class)) {
+      Matcher generated = GENERATED_ID.matcher(Objects.toString(element.getId(), ""));
+      if (generated.find() && !stableIds.containsKey(generated.group())) {
+        stableIds.put(generated.group(), String.format(STABLE_ID_FORMAT, stableIds.size()));
+      }
+    }
+    String xml = Bpmn.convertToString(instance);
+    if (stableIds.isEmpty()) {
+      return xml;
+    }
+    return GENERATED_ID.matcher(xml).replaceAll(id -> stableIds.getOrDefault(id.group(), id.group()));
   }
 
   private DeploymentBuilder setWorkflowTokenIfExists(DeploymentBuilder deploymentBuilder, Workflow workflow) {
@@ -104,9 +153,7 @@ public class CamundaBpmnBuilder {
   }
 
   private CamundaTranslatedWorkflowContext workflowToBpmn(Workflow workflow) throws JsonProcessingException {
-    // spaces are not supported in BPMN here
-    String processId = workflow.getId().replaceAll("\\s+", "");
-    ProcessBuilder process = Bpmn.createExecutableProcess(processId).name(workflow.getId());
+    ProcessBuilder process = Bpmn.createExecutableProcess(processId(workflow)).name(workflow.getId());
     Optional.ofNullable(workflow.getVersion()).ifPresent(v -> process.camundaVersionTag(String.valueOf(v)));
 
     WorkflowDirectedGraph workflowDirectedGraph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
@@ -120,6 +167,11 @@ public class CamundaBpmnBuilder {
     return new CamundaTranslatedWorkflowContext(workflow, workflowDirectedGraph, instance);
   }
 
+  private static String processId(Workflow workflow) {
+    // spaces are not supported in BPMN here
+    return workflow.getId().replaceAll("\\s+", "");
+  }
+
   /**
    * Fix bug where the activity definition contains a variable, which could be resolved, during the workflow process,
    * with a big size exceeding the Camunda DB text size limit. The fix is to make the activity definition an map object
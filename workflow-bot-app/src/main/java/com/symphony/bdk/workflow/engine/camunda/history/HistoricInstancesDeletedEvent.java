@@ -0,0 +1,24 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published once instances have been deleted from Camunda's history, either by the history retention (by instance
+ * ids) or along with their workflow's deployment (by process definition ids).
+ */
+@Value
+public class HistoricInstancesDeletedEvent {
+  List<String> instanceIds;
+  List<String> definitionIds;
+
+  public static HistoricInstancesDeletedEvent ofInstances(List<String> instanceIds) {
+    return new HistoricInstancesDeletedEvent(instanceIds, Collections.emptyList());
+  }
+
+  public static HistoricInstancesDeletedEvent ofDefinitions(List<String> definitionIds) {
+    return new HistoricInstancesDeletedEvent(Collections.emptyList(), definitionIds);
+  }
+}
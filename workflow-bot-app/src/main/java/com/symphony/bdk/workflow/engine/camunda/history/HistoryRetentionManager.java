@@ -0,0 +1,178 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps Camunda's history bounded, which matters with the default in-memory database where history lives in the heap.
+ *
+ * <p>As it deletes data, it has to be enabled explicitly. Finished workflow instances are then deleted, oldest first
+ * and in batches, when they are older than the configured time to live, if any, or when the number of finished
+ * instances or the estimated history size exceed their caps. Camunda's own history cleanup is not used as it only runs
+ * within a batch window and is age based only.</p>
+ *
+ * <p>The history size is estimated from the row counts of the ACT_HI_* tables, it is exposed with the
+ * workflow.history.instances (finished instances) and workflow.history.size metrics.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "wdk.properties.history.retention.enabled", havingValue = "true")
+public class HistoryRetentionManager {
+  private static final String HISTORY_TABLE_PREFIX = "ACT_HI_";
+
+  private final HistoryService historyService;
+  private final ManagementService managementService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration timeToLive;
+  private final long maxInstances;
+  private final long maxSize;
+  private final long averageRowSize;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+
+  private final AtomicLong historyInstances = new AtomicLong();
+  private final AtomicLong historySize = new AtomicLong();
+
+  public HistoryRetentionManager(HistoryService historyService, ManagementService managementService,
+      ApplicationEventPublisher eventPublisher, MeterRegistry registry,
+      @Nullable @Value("${wdk.properties.history.retention.time-to-live:}") Duration timeToLive,
+      @Value("${wdk.properties.history.retention.max-instances:0}") long maxInstances,
+      @Value("${wdk.properties.history.retention.max-size:0}") DataSize maxSize,
+      @Value("${wdk.properties.history.retention.average-row-size:1KB}") DataSize averageRowSize,
+      @Value("${wdk.properties.history.retention.batch-size:500}") int batchSize,
+      @Value("${wdk.properties.history.retention.max-batches-per-run:100}") int maxBatchesPerRun) {
+    this.historyService = historyService;
+    this.managementService = managementService;
+    this.eventPublisher = eventPublisher;
+    this.timeToLive = timeToLive;
+    this.maxInstances = maxInstances;
+    this.maxSize = maxSize.toBytes();
+    this.averageRowSize = averageRowSize.toBytes();
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+
+    registry.gauge("workflow.history.instances", Tags.empty(), historyInstances, AtomicLong::get);
+    registry.gauge("workflow.history.size", Tags.empty(), historySize, AtomicLong::get);
+  }
+
+  @Scheduled(initialDelayString = "${wdk.properties.history.retention.interval:PT5M}",
+      fixedDelayString = "${wdk.properties.history.retention.interval:PT5M}")
+  public void enforceRetention() {
+    long start = System.currentTimeMillis();
+    long deleted = 0;
+    if (timeToLive != null) {
+      Date expiredBefore = Date.from(Instant.now().minus(timeToLive));
+      deleted += deleteOldest(() -> finishedInstances().finishedBefore(expiredBefore), Long.MAX_VALUE);
+    }
+
+    if (maxInstances > 0) {
+      long overCap = finishedInstances().count() - maxInstances;
+      if (overCap > 0) {
+        deleted += deleteOldest(this::finishedInstances, overCap);
+      }
+    }
+
+    refreshHistorySize();
+    if (maxSize > 0 && historySize.get() > maxSize) {
+      deleted += enforceSizeCap();
+    }
+
+    if (deleted > 0) {
+      log.info("Deleted {} finished workflow instances from history in {} ms, history size is now ~{} bytes",
+          deleted, System.currentTimeMillis() - start, historySize.get());
+    }
+  }
+
+  /**
+   * @return finished instances in history, as of the last retention run
+   */
+  public long getHistoryInstances() {
+    return historyInstances.get();
+  }
+
+  /**
+   * @return estimated history size in bytes, as of the last retention run
+   */
+  public long getHistorySize() {
+    return historySize.get();
+  }
+
+  private long enforceSizeCap() {
+    long deleted = 0;
+    long historyRows = historySize.get() / averageRowSize;
+    long instances = Math.max(1, historyInstances.get());
+    // delete proportionally to the excess assuming instances are of similar size, then re-evaluate
+    for (int i = 0; i < maxBatchesPerRun && historySize.get() > maxSize; i++) {
+      long rowsPerInstance = Math.max(1, historyRows / instances);
+      long excessInstances = Math.max(1, (historySize.get() - maxSize) / averageRowSize / rowsPerInstance);
+      long batchDeleted = deleteOldest(this::finishedInstances, Math.min(excessInstances, batchSize));
+      if (batchDeleted == 0) {
+        log.warn("History size ~{} bytes is above the {} bytes cap but no finished instance is left to delete",
+            historySize.get(), maxSize);
+        break;
+      }
+      deleted += batchDeleted;
+      refreshHistorySize();
+      historyRows = historySize.get() / averageRowSize;
+      instances = Math.max(1, historyInstances.get());
+    }
+    return deleted;
+  }
+
+  private long deleteOldest(Supplier<HistoricProcessInstanceQuery> query, long limit) {
+    long deleted = 0;
+    for (int i = 0; i < maxBatchesPerRun && deleted < limit; i++) {
+      int pageSize = (int) Math.min(batchSize, limit - deleted);
+      List<String> ids = query.get()
+          .orderByProcessInstanceEndTime().asc()
+          .listPage(0, pageSize)
+          .stream()
+          .map(HistoricProcessInstance::getId)
+          .collect(Collectors.toList());
+      if (ids.isEmpty()) {
+        break;
+      }
+      historyService.deleteHistoricProcessInstancesBulk(ids);
+      eventPublisher.publishEvent(HistoricInstancesDeletedEvent.ofInstances(ids));
+      deleted += ids.size();
+    }
+    return deleted;
+  }
+
+  private HistoricProcessInstanceQuery finishedInstances() {
+    return historyService.createHistoricProcessInstanceQuery().finished();
+  }
+
+  private void refreshHistorySize() {
+    Map<String, Long> tableCount = managementService.getTableCount();
+    long historyRows = tableCount.entrySet()
+        .stream()
+        .filter(entry -> entry.getKey().toUpperCase().startsWith(HISTORY_TABLE_PREFIX))
+        .mapToLong(Map.Entry::getValue)
+        .sum();
+    historySize.set(historyRows * averageRowSize);
+    // the same instances as the ones counted against max-instances
+    historyInstances.set(finishedInstances().count());
+  }
+}
@@ -0,0 +1,121 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.swadl.v1.Properties;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.history.AbstractHistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Camunda history level driven by the workflow's <code>properties.history</code> SWADL property.
+ * The level is resolved per deployment, so that deploying a new version of a workflow does not change the level of
+ * its running instances. Deployments that are unknown (not deployed yet, or deployed before the bot restarted and not
+ * deployed again) fall back to {@link HistoryLevel#HISTORY_LEVEL_FULL}.
+ *
+ * <p>Variables holding the triggering event and its initiator are always recorded as the engine relies on their
+ * history events to expose the event payload to the workflow.</p>
+ */
+@Slf4j
+@Component
+public class WorkflowHistoryLevel extends AbstractHistoryLevel {
+  public static final int ID = 10;
+  public static final String NAME = "wdk-per-workflow";
+
+  private static final Set<String> ALWAYS_RECORDED_VARIABLES =
+      Set.of(ActivityExecutorContext.EVENT, ActivityExecutorContext.INITIATOR);
+
+  private final Map<String, Properties.HistoryLevel> levels = new ConcurrentHashMap<>();
+
+  @Getter
+  private final boolean enabled;
+
+  public WorkflowHistoryLevel(@Value("${wdk.properties.history.level-per-workflow:false}") boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Override
+  public int getId() {
+    return ID;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  public void putLevel(String deploymentId, Properties.HistoryLevel level) {
+    log.debug("Deployment [{}] history level is [{}]", deploymentId, level);
+    levels.put(deploymentId, level);
+  }
+
+  public void removeLevel(String deploymentId) {
+    levels.remove(deploymentId);
+  }
+
+  public Properties.HistoryLevel getLevel(String deploymentId) {
+    return deploymentId == null ? Properties.HistoryLevel.FULL
+        : levels.getOrDefault(deploymentId, Properties.HistoryLevel.FULL);
+  }
+
+  @Override
+  public boolean isHistoryEventProduced(HistoryEventType eventType, Object entity) {
+    if (entity == null) {
+      // global checks (i.e. is any history produced for this type), answer for the most detailed level
+      return HISTORY_LEVEL_FULL.isHistoryEventProduced(eventType, null);
+    }
+
+    if (isAlwaysRecordedVariable(eventType, entity)) {
+      return true;
+    }
+
+    switch (getLevel(deploymentId(entity))) {
+      case NONE:
+        return false;
+      case ACTIVITY:
+        return HISTORY_LEVEL_ACTIVITY.isHistoryEventProduced(eventType, entity);
+      case FULL:
+      default:
+        return HISTORY_LEVEL_FULL.isHistoryEventProduced(eventType, entity);
+    }
+  }
+
+  private static boolean isAlwaysRecordedVariable(HistoryEventType eventType, Object entity) {
+    return (eventType == HistoryEventTypes.VARIABLE_INSTANCE_CREATE
+        || eventType == HistoryEventTypes.VARIABLE_INSTANCE_UPDATE)
+        && entity instanceof VariableInstanceEntity
+        && ALWAYS_RECORDED_VARIABLES.contains(((VariableInstanceEntity) entity).getName());
+  }
+
+  private static String deploymentId(Object entity) {
+    if (entity instanceof ExecutionEntity) {
+      return deploymentId((ExecutionEntity) entity);
+    } else if (entity instanceof VariableInstanceEntity) {
+      return deploymentId(((VariableInstanceEntity) entity).getExecution());
+    } else if (entity instanceof JobEntity) {
+      return ((JobEntity) entity).getDeploymentId();
+    }
+    return null;
+  }
+
+  private static String deploymentId(ExecutionEntity execution) {
+    if (execution == null) {
+      return null;
+    }
+    ProcessDefinitionEntity processDefinition = execution.getProcessDefinition();
+    return processDefinition == null ? null : processDefinition.getDeploymentId();
+  }
+}
@@ -23,7 +23,7 @@ public abstract class AbstractInstanceDomainConverter {
             : Duration.ofMillis(hisProcInstance.getDurationInMillis()));
   }
 
-  protected String resolveStatus(String hisProcInstanceState, String hisProcInstanceEndActivityId) {
+  public static String resolveStatus(String hisProcInstanceState, String hisProcInstanceEndActivityId) {
     if ("ACTIVE".equalsIgnoreCase(hisProcInstanceState) || StatusEnum.PENDING.name()
         .equalsIgnoreCase(hisProcInstanceState)) {
       return StatusEnum.PENDING.name();
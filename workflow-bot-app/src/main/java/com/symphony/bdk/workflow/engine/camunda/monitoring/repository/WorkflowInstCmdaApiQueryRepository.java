@@ -4,34 +4,41 @@ import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
 import com.symphony.bdk.workflow.monitoring.repository.WorkflowInstQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
 
 import org.apache.commons.lang3.StringUtils;
 import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
-import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component
 public class WorkflowInstCmdaApiQueryRepository extends CamundaAbstractQueryRepository
     implements WorkflowInstQueryRepository {
+  private final ManagementService managementService;
+
   public WorkflowInstCmdaApiQueryRepository(RepositoryService repositoryService, HistoryService historyService,
-      RuntimeService runtimeService, ObjectConverter objectConverter) {
+      RuntimeService runtimeService, ManagementService managementService, ObjectConverter objectConverter) {
     super(repositoryService, historyService, runtimeService, objectConverter);
+    this.managementService = managementService;
   }
 
   /**
-   * When workflow's first activity starts execution, a row is inserted in historyService's ACT_HI_PROCINST table.
+   * When workflow's first activity starts execution, a row is inserted in historyService's process instance table.
    * This provides us process instances ids.
    * Tested with an activity having its first activity doing a sleep of 3minutes. During the 3 minutes,
    * while the first activity execution is ongoing, this method returns the process instance id.
@@ -51,9 +58,29 @@ public class WorkflowInstCmdaApiQueryRepository extends CamundaAbstractQueryRepo
     return convertInstancesAccordingToVersionValue(id, version, instances);
   }
 
+  @Override
+  public Optional<WorkflowInstanceDomain> findByIdAndInstanceId(String id, String instanceId) {
+    HistoricProcessInstance instance = historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey(id)
+        .processInstanceId(instanceId)
+        .singleResult();
+    if (instance == null) {
+      return Optional.empty();
+    }
+    // only the instance's definition is needed to know its version, it comes from the engine's deployment cache
+    ProcessDefinition definition = repositoryService.getProcessDefinition(instance.getProcessDefinitionId());
+    Map<String, String> processIdVersionTagMap = StringUtils.isBlank(definition.getVersionTag()) ? Map.of()
+        : Map.of(definition.getId(), definition.getVersionTag());
+    return convertInstances(processIdVersionTagMap, List.of(instance)).stream().findFirst();
+  }
+
   private List<WorkflowInstanceDomain> convertInstancesAccordingToVersionValue(String id, String version,
       List<HistoricProcessInstance> instances) {
-    Map<String, String> processIdVersionTagMap = getProcessIdVersionMap(id, version);
+    return convertInstances(getProcessIdVersionMap(id, version), instances);
+  }
+
+  private List<WorkflowInstanceDomain> convertInstances(Map<String, String> processIdVersionTagMap,
+      List<HistoricProcessInstance> instances) {
     if (processIdVersionTagMap.isEmpty()) {
       return objectConverter.convertCollection(instances, WorkflowInstanceDomain.class);
     }
@@ -76,43 +103,61 @@ public class WorkflowInstCmdaApiQueryRepository extends CamundaAbstractQueryRepo
 
   @Override
   public List<WorkflowInstanceDomain> findAllByIdAndStatusAndVersion(String id, StatusEnum status, String version) {
-    return queryByStatus(id, status, version,
-        () -> historyService.createHistoricProcessInstanceQuery().processDefinitionKey(id));
+    List<HistoricProcessInstance> instances = instancesQuery(id, status, Collections.emptyList(), null).list();
+    return convertInstancesAccordingToVersionValue(id, version, instances);
+  }
+
+  /**
+   * Keyset pagination on (start time, id): the query reads the next instances from the index whatever the page
+   * number is, unlike an offset that has to skip all the previous rows.
+   */
+  @Override
+  public List<WorkflowInstanceDomain> findPage(String id, StatusEnum status, String version,
+      WorkflowInstanceKey after, int limit) {
+    Map<String, String> processIdVersionTagMap = getProcessIdVersionMap(id, version);
+    if (version != null && processIdVersionTagMap.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Collection<String> definitionIds = version == null ? Collections.emptyList() : processIdVersionTagMap.keySet();
+    List<HistoricProcessInstance> instances = instancesQuery(id, status, definitionIds, after).listPage(0, limit);
+    return convertInstances(processIdVersionTagMap, instances);
   }
 
-  private List<WorkflowInstanceDomain> queryByStatus(String id, StatusEnum status, String version,
-      Supplier<HistoricProcessInstanceQuery> supplier) {
-    HistoricProcessInstanceQuery historicProcessInstanceQuery = supplier.get();
-
-    List<HistoricProcessInstance> instances = new ArrayList<>();
-    switch (status) {
-      case COMPLETED:
-        instances.addAll(historicProcessInstanceQuery.finished()
-            .orderByProcessInstanceStartTime()
-            .asc()
-            .list()
-            .stream()
-            .filter(
-                instance -> instance.getEndActivityId() != null && instance.getEndActivityId().startsWith("endEvent"))
-            .collect(Collectors.toList()));
-        break;
-      case FAILED:
-        instances.addAll(historicProcessInstanceQuery.finished()
-            .orderByProcessInstanceStartTime()
-            .asc()
-            .list()
-            .stream()
-            .filter(
-                instance -> instance.getEndActivityId() != null && !instance.getEndActivityId().startsWith("endEvent"))
-            .collect(Collectors.toList()));
-        break;
-      case PENDING:
-        instances.addAll(historicProcessInstanceQuery.unfinished().orderByProcessInstanceStartTime().asc().list());
-        break;
-      default:
-        break;
+  private NativeHistoricProcessInstanceQuery instancesQuery(String id, StatusEnum status,
+      Collection<String> definitionIds, WorkflowInstanceKey after) {
+    NativeHistoricProcessInstanceQuery query =
+        historyService.createNativeHistoricProcessInstanceQuery().parameter("id", id);
+    // the table name carries the engine's configured table prefix, if any
+    StringBuilder sql = new StringBuilder("select * from ")
+        .append(managementService.getTableName(HistoricProcessInstance.class))
+        .append(" where PROC_DEF_KEY_ = #{id}");
+
+    if (!definitionIds.isEmpty()) {
+      List<String> parameters = new ArrayList<>();
+      for (String definitionId : definitionIds) {
+        String parameter = "definition" + parameters.size();
+        query.parameter(parameter, definitionId);
+        parameters.add("#{" + parameter + "}");
+      }
+      sql.append(" and PROC_DEF_ID_ in (").append(String.join(", ", parameters)).append(')');
     }
 
-    return convertInstancesAccordingToVersionValue(id, version, instances);
+    // a workflow completes through one of its end events, any other end activity means it failed
+    if (status == StatusEnum.PENDING) {
+      sql.append(" and END_TIME_ is null");
+    } else if (status == StatusEnum.COMPLETED) {
+      sql.append(" and END_TIME_ is not null and END_ACT_ID_ like 'endEvent%'");
+    } else if (status == StatusEnum.FAILED) {
+      sql.append(" and END_TIME_ is not null and END_ACT_ID_ not like 'endEvent%'");
+    }
+
+    if (after != null) {
+      sql.append(" and (START_TIME_ > #{startTime} or (START_TIME_ = #{startTime} and ID_ > #{instanceId}))");
+      query.parameter("startTime", Date.from(after.getStartDate()))
+          .parameter("instanceId", after.getInstanceId());
+    }
+
+    sql.append(" order by START_TIME_ asc, ID_ asc");
+    return query.sql(sql.toString());
   }
 }
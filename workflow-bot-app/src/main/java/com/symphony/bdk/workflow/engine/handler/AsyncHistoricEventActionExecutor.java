@@ -0,0 +1,140 @@
+package com.symphony.bdk.workflow.engine.handler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs non-critical historic event actions (such as the audit trail) off the engine's transaction path.
+ *
+ * <p>Actions are queued in a bounded queue and executed one by one, in order, by a single background thread. When the
+ * queue is full the action is dropped rather than slowing down the workflow execution, drops and the time spent in the
+ * queue are exposed as metrics (workflow.history.async.*). The MDC of the engine thread submitting the action is
+ * restored while it runs, so that its logs still carry the workflow, instance and activity ids.</p>
+ */
+@Slf4j
+@Component
+public class AsyncHistoricEventActionExecutor {
+  private static final long POLL_TIMEOUT_MILLIS = 500;
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+  private final HistoricEventActionExecutor historicEventActionExecutor;
+  private final boolean enabled;
+  private final BlockingQueue<PendingAction> queue;
+
+  private final Counter droppedCounter;
+  private final Timer lagTimer;
+
+  private volatile boolean running;
+  private Thread consumer;
+
+  public AsyncHistoricEventActionExecutor(HistoricEventActionExecutor historicEventActionExecutor,
+      MeterRegistry registry,
+      @Value("${wdk.properties.history.async.enabled:true}") boolean enabled,
+      @Value("${wdk.properties.history.async.queue-size:10000}") int queueSize) {
+    this.historicEventActionExecutor = historicEventActionExecutor;
+    this.enabled = enabled;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+
+    this.droppedCounter = registry.counter("workflow.history.async.dropped");
+    this.lagTimer = registry.timer("workflow.history.async.lag");
+    registry.gaugeCollectionSize("workflow.history.async.queued", Tags.empty(), this.queue);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    running = true;
+    consumer = new Thread(this::consume, "history-async-consumer");
+    consumer.setDaemon(true);
+    consumer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (consumer != null) {
+      consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+  }
+
+  /**
+   * Executes the action asynchronously, or synchronously if asynchronous execution is disabled.
+   *
+   * @param historicEventAction action to execute
+   * @param historyEvent        event passed to the action
+   * @return false if the action has been dropped because the queue is full
+   */
+  public boolean submit(HistoricEventAction historicEventAction, HistoryEvent historyEvent) {
+    if (!enabled) {
+      historicEventActionExecutor.executeAction(historicEventAction, historyEvent);
+      return true;
+    }
+
+    if (!queue.offer(new PendingAction(historicEventAction, historyEvent, MDC.getCopyOfContextMap(),
+        System.nanoTime()))) {
+      droppedCounter.increment();
+      log.trace("History event {} dropped, the asynchronous queue is full", historyEvent.getId());
+      return false;
+    }
+    return true;
+  }
+
+  private void consume() {
+    try {
+      // keep draining the queue once stopped so that queued events are not lost on shutdown
+      while (running || !queue.isEmpty()) {
+        PendingAction pendingAction = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (pendingAction != null) {
+          execute(pendingAction);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void execute(PendingAction pendingAction) {
+    lagTimer.record(System.nanoTime() - pendingAction.queuedAt, TimeUnit.NANOSECONDS);
+    if (pendingAction.mdc != null) {
+      MDC.setContextMap(pendingAction.mdc);
+    }
+    try {
+      historicEventActionExecutor.executeAction(pendingAction.action, pendingAction.event);
+    } catch (Exception e) {
+      log.warn("Failed to execute asynchronous history action for event {}", pendingAction.event.getId(), e);
+    } finally {
+      MDC.clear();
+    }
+  }
+
+  private static class PendingAction {
+    private final HistoricEventAction action;
+    private final HistoryEvent event;
+    private final Map<String, String> mdc;
+    private final long queuedAt;
+
+    PendingAction(HistoricEventAction action, HistoryEvent event, Map<String, String> mdc, long queuedAt) {
+      this.action = action;
+      this.event = event;
+      this.mdc = mdc;
+      this.queuedAt = queuedAt;
+    }
+  }
+}
@@ -1,8 +1,29 @@
 package com.symphony.bdk.workflow.engine.handler;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @FunctionalInterface
 public interface HistoricEventAction {
   void execute(HistoryEvent historyEvent);
+
+  /**
+   * Runs once the engine transaction commits, so that rolled back events are never seen, or right away when there is
+   * no transaction.
+   *
+   * @param runnable what to run, it must not throw as the transaction is already committed
+   */
+  static void afterCommit(Runnable runnable) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          runnable.run();
+        }
+      });
+    } else {
+      runnable.run();
+    }
+  }
 }
@@ -1,6 +1,10 @@
 package com.symphony.bdk.workflow.engine.handler;
 
+import com.symphony.bdk.workflow.engine.camunda.CamundaMetrics;
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
+import com.symphony.bdk.workflow.engine.handler.readmodel.InstanceSummaryProjection;
+import com.symphony.bdk.workflow.engine.handler.stats.WorkflowStatsAction;
+import com.symphony.bdk.workflow.engine.handler.stream.InstanceStateStreamAction;
 import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -9,23 +13,47 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+/**
+ * Actions required by the workflow execution (such as storing the event variable), that must not miss events (such
+ * as the monitoring read model, statistics and metrics) or that need the engine command (such as the instance state
+ * stream, reading variables) run within the engine transaction, others (such as the audit trail) are handed over to
+ * {@link AsyncHistoricEventActionExecutor}. Actions reporting on committed work (such as statistics) defer their
+ * updates with {@link HistoricEventAction#afterCommit(Runnable)}.
+ */
 @Component
 public class HistoricEventHandler implements HistoryEventHandler {
   final HistoricEventActionExecutor historicEventActionExecutor;
+  final AsyncHistoricEventActionExecutor asyncHistoricEventActionExecutor;
   final AuditTrailLogAction auditTrailLogAction;
   final WorkflowEventVariableAction workflowEventVariableAction;
+  final InstanceSummaryProjection instanceSummaryProjection;
+  final WorkflowStatsAction workflowStatsAction;
+  final CamundaMetrics camundaMetrics;
+  final InstanceStateStreamAction instanceStateStreamAction;
 
   public HistoricEventHandler(HistoricEventActionExecutor historicEventActionExecutor,
-      AuditTrailLogAction auditTrailLogAction, WorkflowEventVariableAction workflowEventVariableAction) {
+      AsyncHistoricEventActionExecutor asyncHistoricEventActionExecutor,
+      AuditTrailLogAction auditTrailLogAction, WorkflowEventVariableAction workflowEventVariableAction,
+      InstanceSummaryProjection instanceSummaryProjection, WorkflowStatsAction workflowStatsAction,
+      CamundaMetrics camundaMetrics, InstanceStateStreamAction instanceStateStreamAction) {
     this.historicEventActionExecutor = historicEventActionExecutor;
+    this.asyncHistoricEventActionExecutor = asyncHistoricEventActionExecutor;
     this.auditTrailLogAction = auditTrailLogAction;
     this.workflowEventVariableAction = workflowEventVariableAction;
+    this.instanceSummaryProjection = instanceSummaryProjection;
+    this.workflowStatsAction = workflowStatsAction;
+    this.camundaMetrics = camundaMetrics;
+    this.instanceStateStreamAction = instanceStateStreamAction;
   }
 
   @Override
   public void handleEvent(HistoryEvent historyEvent) {
-    this.historicEventActionExecutor.executeAction(this.auditTrailLogAction, historyEvent);
     this.historicEventActionExecutor.executeAction(this.workflowEventVariableAction, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.instanceSummaryProjection, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.workflowStatsAction, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.camundaMetrics, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.instanceStateStreamAction, historyEvent);
+    this.asyncHistoricEventActionExecutor.submit(this.auditTrailLogAction, historyEvent);
   }
 
   @Override
@@ -0,0 +1,46 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.Getter;
+
+/**
+ * An audit trail entry, fields are kept as an array of alternating names and values so that building an event on the
+ * engine thread is cheap, formatting is left to the {@link AuditTrailWriter}.
+ */
+@Getter
+public class AuditEvent {
+  private final long timestamp;
+  private final String type;
+  private final Object[] fields;
+
+  private AuditEvent(long timestamp, String type, Object[] fields) {
+    this.timestamp = timestamp;
+    this.type = type;
+    this.fields = fields;
+  }
+
+  /**
+   * @param type   event type, used for sampling (e.g. job, process, activity)
+   * @param fields alternating field names and values
+   * @return the audit event
+   */
+  public static AuditEvent of(String type, Object... fields) {
+    if (fields.length % 2 != 0) {
+      throw new IllegalArgumentException("Audit event fields must be name/value pairs");
+    }
+    return new AuditEvent(System.currentTimeMillis(), type, fields);
+  }
+
+  /**
+   * @return fields formatted as a comma separated list of name=value
+   */
+  public String toKeyValues() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < fields.length; i += 2) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(fields[i]).append('=').append(fields[i + 1]);
+    }
+    return builder.toString();
+  }
+}
@@ -17,10 +17,28 @@ import org.camunda.bpm.engine.repository.Deployment;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
-@Slf4j(topic = "audit-trail")
+@Slf4j
 public class AuditTrailLogAction implements HistoricEventAction {
+  static final String JOB = "job";
+  static final String PROCESS = "process";
+  static final String ACTIVITY = "activity";
+  static final String INITIATOR = "initiator";
+  static final String EXECUTE_ACTIVITY = "execute_activity";
+  static final String DEPLOY_WORKFLOW = "deploy_workflow";
+  static final String UNDEPLOY_WORKFLOW = "undeploy_workflow";
+
+  private final AuditTrailWriter writer;
+  private final Map<String, Double> samplingRates;
+
+  public AuditTrailLogAction(AuditTrailWriter writer, AuditTrailProperties properties) {
+    this.writer = writer;
+    this.samplingRates = Map.copyOf(properties.getSampling());
+  }
+
   @Override
   public void execute(HistoryEvent historyEvent) {
     if (historyEvent instanceof HistoricJobLogEvent) {
@@ -41,66 +59,90 @@ public class AuditTrailLogAction implements HistoricEventAction {
   }
 
   public void execute(DelegateExecution execution, String activityType) {
-    log.info("event={}, process={}, process_key={}, activity={}, activity_name={}, activity_type={}",
-        "execute_activity", execution.getProcessDefinitionId(),
-        ((ExecutionEntity) execution).getProcessDefinition().getKey(),
-        execution.getCurrentActivityId(), execution.getCurrentActivityName(),
-        activityType);
+    if (isSampled(EXECUTE_ACTIVITY)) {
+      writer.write(AuditEvent.of(EXECUTE_ACTIVITY,
+          "event", EXECUTE_ACTIVITY, "process", execution.getProcessDefinitionId(),
+          "process_key", ((ExecutionEntity) execution).getProcessDefinition().getKey(),
+          "activity", execution.getCurrentActivityId(), "activity_name", execution.getCurrentActivityName(),
+          "activity_type", activityType));
+    }
   }
 
   private void logJobEvent(HistoricJobLogEvent event) {
-    log.info("job={}, job_type={}, process={}, process_key={}, activity={}",
-        event.getJobId(), event.getJobDefinitionType(),
-        event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-        event.getActivityId());
+    if (isSampled(JOB)) {
+      writer.write(AuditEvent.of(JOB,
+          "job", event.getJobId(), "job_type", event.getJobDefinitionType(),
+          "process", event.getProcessInstanceId(), "process_key", event.getProcessDefinitionKey(),
+          "activity", event.getActivityId()));
+    }
   }
 
   private void logProcessEvent(HistoricProcessInstanceEventEntity event) {
+    if (!isSampled(PROCESS)) {
+      return;
+    }
     if (event.getDurationInMillis() == null) {
-      log.info("event={}_process, process={}, process_key={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey());
+      writer.write(AuditEvent.of(PROCESS,
+          "event", event.getEventType() + "_process",
+          "process", event.getProcessInstanceId(), "process_key", event.getProcessDefinitionKey()));
     } else {
-      log.info("event={}_process, process={}, process_key={}, duration={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-          event.getDurationInMillis());
+      writer.write(AuditEvent.of(PROCESS,
+          "event", event.getEventType() + "_process",
+          "process", event.getProcessInstanceId(), "process_key", event.getProcessDefinitionKey(),
+          "duration", event.getDurationInMillis()));
     }
   }
 
   private void logActivityEvent(HistoricActivityInstanceEventEntity event) {
+    if (!isSampled(ACTIVITY)) {
+      return;
+    }
     if (event.getDurationInMillis() == null) {
-      log.info("event={}_activity, process={}, process_key={}, activity={}, activity_name={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-          event.getActivityId(), event.getActivityName());
+      writer.write(AuditEvent.of(ACTIVITY,
+          "event", event.getEventType() + "_activity",
+          "process", event.getProcessInstanceId(), "process_key", event.getProcessDefinitionKey(),
+          "activity", event.getActivityId(), "activity_name", event.getActivityName()));
     } else {
-      log.info("event={}_activity, process={}, process_key={}, activity={}, activity_name={}, duration={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-          event.getActivityId(), event.getActivityName(),
-          event.getDurationInMillis());
+      writer.write(AuditEvent.of(ACTIVITY,
+          "event", event.getEventType() + "_activity",
+          "process", event.getProcessInstanceId(), "process_key", event.getProcessDefinitionKey(),
+          "activity", event.getActivityId(), "activity_name", event.getActivityName(),
+          "duration", event.getDurationInMillis()));
     }
   }
 
   private void logVariableEvent(HistoricVariableUpdateEventEntity event) {
     // for DF events the initiator variable is set to pass the user id that triggered the execution
     if (ActivityExecutorContext.INITIATOR.equals(event.getVariableName())
-        && event.getLongValue() != null) {
-      log.info("initiator={}, process={}, process_key={}",
-          event.getLongValue(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey());
+        && event.getLongValue() != null
+        && isSampled(INITIATOR)) {
+      writer.write(AuditEvent.of(INITIATOR,
+          "initiator", event.getLongValue(),
+          "process", event.getProcessInstanceId(), "process_key", event.getProcessDefinitionKey()));
     }
   }
 
   public void deployed(Deployment deployment) {
-    log.info("event={}, deployment={}, deployment_name={}, process_key={}",
-        "deploy_workflow", deployment.getId(), deployment.getName(), getProcessKey(deployment));
+    if (isSampled(DEPLOY_WORKFLOW)) {
+      writer.write(AuditEvent.of(DEPLOY_WORKFLOW,
+          "event", DEPLOY_WORKFLOW, "deployment", deployment.getId(), "deployment_name", deployment.getName(),
+          "process_key", getProcessKey(deployment)));
+    }
   }
 
   public void undeployed(Deployment deployment) {
-    log.info("event={}, deployment={}, deployment_name={}",
-        "undeploy_workflow", deployment.getId(), deployment.getName());
+    if (isSampled(UNDEPLOY_WORKFLOW)) {
+      writer.write(AuditEvent.of(UNDEPLOY_WORKFLOW,
+          "event", UNDEPLOY_WORKFLOW, "deployment", deployment.getId(), "deployment_name", deployment.getName()));
+    }
+  }
+
+  private boolean isSampled(String type) {
+    if (!writer.isEnabled()) {
+      return false;
+    }
+    Double rate = samplingRates.get(type);
+    return rate == null || rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
   }
 
   @SuppressWarnings("rawtypes")
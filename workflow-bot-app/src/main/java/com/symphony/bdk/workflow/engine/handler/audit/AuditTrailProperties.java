@@ -0,0 +1,36 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties("wdk.properties.audit")
+public class AuditTrailProperties {
+
+  /**
+   * Either log (default) or ndjson.
+   */
+  private String writer = "log";
+
+  /**
+   * Sampling rate, between 0 and 1, per event type (job, process, activity, initiator, execute_activity,
+   * deploy_workflow, undeploy_workflow). Events types without rate are all kept.
+   */
+  private Map<String, Double> sampling = new HashMap<>();
+
+  private Ndjson ndjson = new Ndjson();
+
+  @Data
+  public static class Ndjson {
+    private String file = "./logs/audit-trail.ndjson";
+    private DataSize maxFileSize = DataSize.ofMegabytes(100);
+    private int maxHistory = 10;
+    private int bufferSize = 8192;
+  }
+}
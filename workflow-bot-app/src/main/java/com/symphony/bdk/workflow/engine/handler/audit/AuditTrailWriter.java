@@ -0,0 +1,14 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+/**
+ * Destination of the audit trail, configured with the <code>wdk.properties.audit.writer</code> property.
+ */
+public interface AuditTrailWriter {
+
+  /**
+   * @return false if audit events would be discarded anyway, to avoid building them
+   */
+  boolean isEnabled();
+
+  void write(AuditEvent event);
+}
@@ -0,0 +1,24 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default writer, audit events are logged with the <code>audit-trail</code> logger in a comma separated format.
+ */
+@Slf4j(topic = "audit-trail")
+@Component
+@ConditionalOnProperty(value = "wdk.properties.audit.writer", havingValue = "log", matchIfMissing = true)
+public class LogAuditTrailWriter implements AuditTrailWriter {
+
+  @Override
+  public boolean isEnabled() {
+    return log.isInfoEnabled();
+  }
+
+  @Override
+  public void write(AuditEvent event) {
+    log.info(event.toKeyValues());
+  }
+}
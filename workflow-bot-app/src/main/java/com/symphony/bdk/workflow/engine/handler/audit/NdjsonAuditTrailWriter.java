@@ -0,0 +1,243 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import com.symphony.bdk.workflow.concurrent.BoundedRingBuffer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit events as newline delimited JSON to a rolling file.
+ *
+ * <p>Engine threads only push events to a lock-free ring buffer, formatting and I/O are done by a single background
+ * thread. When the buffer is full events are dropped and counted (workflow.audit.dropped) instead of blocking the
+ * workflow execution. Files are rolled as soon as they reach the configured size, keeping a fixed number of old
+ * files (audit-trail.1.ndjson being the most recent one), and flushed when the buffer is empty or every
+ * {@value #FLUSH_BATCH_SIZE} events under sustained load.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "wdk.properties.audit.writer", havingValue = "ndjson")
+public class NdjsonAuditTrailWriter implements AuditTrailWriter {
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+  private static final int FLUSH_BATCH_SIZE = 256;
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private final Path file;
+  private final long maxFileSize;
+  private final int maxHistory;
+  private final BoundedRingBuffer<AuditEvent> buffer;
+
+  private final Counter droppedCounter;
+  private final Counter writtenCounter;
+
+  private volatile boolean running;
+  private Thread writerThread;
+  private JsonGenerator generator;
+  private CountingOutputStream output;
+
+  public NdjsonAuditTrailWriter(AuditTrailProperties properties, MeterRegistry registry) {
+    AuditTrailProperties.Ndjson ndjson = properties.getNdjson();
+    this.file = Paths.get(ndjson.getFile());
+    this.maxFileSize = ndjson.getMaxFileSize().toBytes();
+    this.maxHistory = ndjson.getMaxHistory();
+    this.buffer = new BoundedRingBuffer<>(ndjson.getBufferSize());
+
+    this.droppedCounter = registry.counter("workflow.audit.dropped");
+    this.writtenCounter = registry.counter("workflow.audit.written");
+    registry.gauge("workflow.audit.queued", Tags.empty(), this.buffer, BoundedRingBuffer::size);
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    generator = open();
+    running = true;
+    writerThread = new Thread(this::drain, "audit-trail-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    log.info("Audit trail is written to {}", file.toAbsolutePath());
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (writerThread != null) {
+      writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void write(AuditEvent event) {
+    if (!buffer.offer(event)) {
+      droppedCounter.increment();
+    }
+  }
+
+  private void drain() {
+    int unflushed = 0;
+    // keep draining the buffer once stopped so that buffered events are not lost on shutdown
+    while (running || !buffer.isEmpty()) {
+      AuditEvent event = buffer.poll();
+      if (event == null) {
+        if (unflushed > 0) {
+          flush();
+          unflushed = 0;
+        }
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+        continue;
+      }
+      try {
+        writeLine(event);
+        writtenCounter.increment();
+        unflushed++;
+        // checked on every event, the buffer might never be empty under sustained load
+        if (fileSize() >= maxFileSize) {
+          roll();
+          unflushed = 0;
+        } else if (unflushed >= FLUSH_BATCH_SIZE) {
+          flush();
+          unflushed = 0;
+        }
+      } catch (IOException e) {
+        log.warn("Failed to write audit event {}", event.getType(), e);
+      }
+    }
+    close();
+  }
+
+  private void writeLine(AuditEvent event) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("timestamp", Instant.ofEpochMilli(event.getTimestamp()).toString());
+    generator.writeStringField("type", event.getType());
+    Object[] fields = event.getFields();
+    for (int i = 0; i < fields.length; i += 2) {
+      writeField(generator, String.valueOf(fields[i]), fields[i + 1]);
+    }
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+
+  private static void writeField(JsonGenerator generator, String name, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNullField(name);
+    } else if (value instanceof Long || value instanceof Integer) {
+      generator.writeNumberField(name, ((Number) value).longValue());
+    } else {
+      generator.writeStringField(name, value.toString());
+    }
+  }
+
+  private long fileSize() {
+    // bytes still buffered by the generator count too, the file size is only known once flushed
+    return output.getCount() + generator.getOutputBuffered();
+  }
+
+  private void flush() {
+    try {
+      generator.flush();
+    } catch (IOException e) {
+      log.warn("Failed to flush audit trail file {}", file, e);
+    }
+  }
+
+  private void roll() throws IOException {
+    generator.close();
+    Files.deleteIfExists(historyFile(maxHistory));
+    for (int i = maxHistory - 1; i >= 1; i--) {
+      Path source = historyFile(i);
+      if (Files.exists(source)) {
+        Files.move(source, historyFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    if (maxHistory > 0) {
+      Files.move(file, historyFile(1), StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.delete(file);
+    }
+    generator = open();
+  }
+
+  Path historyFile(int index) {
+    String name = file.getFileName().toString();
+    int extension = name.lastIndexOf('.');
+    String rolledName = extension > 0
+        ? name.substring(0, extension) + "." + index + name.substring(extension)
+        : name + "." + index;
+    return file.resolveSibling(rolledName);
+  }
+
+  private JsonGenerator open() throws IOException {
+    long existingSize = Files.exists(file) ? Files.size(file) : 0;
+    output = new CountingOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND), existingSize);
+    JsonGenerator jsonGenerator = jsonFactory.createGenerator(output, JsonEncoding.UTF8);
+    // lines are separated explicitly
+    jsonGenerator.setRootValueSeparator(null);
+    return jsonGenerator;
+  }
+
+  private void close() {
+    try {
+      generator.close();
+    } catch (IOException e) {
+      log.warn("Failed to close audit trail file {}", file, e);
+    }
+  }
+
+  private static final class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream out, long count) {
+      super(out);
+      this.count = count;
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      // FilterOutputStream would write byte per byte
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
@@ -0,0 +1,246 @@
+package com.symphony.bdk.workflow.engine.handler.readmodel;
+
+import com.symphony.bdk.workflow.engine.camunda.history.HistoricInstancesDeletedEvent;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.AbstractInstanceDomainConverter;
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
+import com.symphony.bdk.workflow.monitoring.readmodel.InstanceSummary;
+import com.symphony.bdk.workflow.monitoring.readmodel.InstanceSummaryRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Projects process instance history events into the {@link InstanceSummary} read model.
+ *
+ * <p>Summaries are written once Camunda's transaction commits so that rolled back instances never show up. A failed
+ * write is logged and counted with the workflow.monitoring.read-model.failed metric, the read model is then rebuilt
+ * from Camunda's history in the background, as it is on startup when it does not hold as many instances as Camunda's
+ * history: it was not written while disabled or some writes failed before a restart.</p>
+ *
+ * <p>The read model is not {@link #isReady() ready} until the startup check or rebuild completes, instance listings
+ * are read from Camunda's history meanwhile so that they are never empty or partial.</p>
+ */
+@Slf4j
+@Component
+public class InstanceSummaryProjection implements HistoricEventAction {
+  private final InstanceSummaryRepository repository;
+  private final RepositoryService repositoryService;
+  private final HistoryService historyService;
+  private final ManagementService managementService;
+  private final boolean enabled;
+  private final boolean rebuildOnStartup;
+  private final int rebuildBatchSize;
+  private final Counter failures;
+  private final Executor rebuilds;
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+  private volatile boolean ready;
+
+  // definitions are immutable, their version tag can be kept until they are deleted
+  private final Cache<String, Optional<Long>> versions = Caffeine.newBuilder().maximumSize(1_000).build();
+
+  @Autowired
+  public InstanceSummaryProjection(InstanceSummaryRepository repository, @Lazy RepositoryService repositoryService,
+      @Lazy HistoryService historyService, @Lazy ManagementService managementService, MeterRegistry registry,
+      @Value("${wdk.properties.monitoring.read-model.enabled:false}") boolean enabled,
+      @Value("${wdk.properties.monitoring.read-model.rebuild-on-startup:false}") boolean rebuildOnStartup,
+      @Value("${wdk.properties.monitoring.read-model.rebuild-batch-size:500}") int rebuildBatchSize) {
+    this(repository, repositoryService, historyService, managementService, registry, enabled, rebuildOnStartup,
+        rebuildBatchSize, Executors.newSingleThreadExecutor(runnable -> {
+          Thread thread = new Thread(runnable, "read-model-rebuild");
+          thread.setDaemon(true);
+          return thread;
+        }));
+  }
+
+  InstanceSummaryProjection(InstanceSummaryRepository repository, RepositoryService repositoryService,
+      HistoryService historyService, ManagementService managementService, MeterRegistry registry, boolean enabled,
+      boolean rebuildOnStartup, int rebuildBatchSize, Executor rebuilds) {
+    this.repository = repository;
+    this.repositoryService = repositoryService;
+    this.historyService = historyService;
+    this.managementService = managementService;
+    this.enabled = enabled;
+    this.rebuildOnStartup = rebuildOnStartup;
+    this.rebuildBatchSize = rebuildBatchSize;
+    this.rebuilds = rebuilds;
+    this.failures = Counter.builder("workflow.monitoring.read-model.failed")
+        .description("Instance summaries that could not be written to the monitoring read model")
+        .register(registry);
+  }
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (!enabled || !(historyEvent instanceof HistoricProcessInstanceEventEntity)) {
+      return;
+    }
+    HistoricProcessInstanceEventEntity event = (HistoricProcessInstanceEventEntity) historyEvent;
+    if (event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_START)
+        || event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+      HistoricEventAction.afterCommit(() -> project(event));
+    }
+  }
+
+  private void project(HistoricProcessInstanceEventEntity event) {
+    try {
+      InstanceSummary summary = event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)
+          ? repository.findById(event.getProcessInstanceId()).orElseGet(InstanceSummary::new)
+          : new InstanceSummary();
+      repository.save(update(summary, event));
+    } catch (RuntimeException e) {
+      failures.increment();
+      log.warn("Failed to update the summary of instance {}, rebuilding the read model",
+          event.getProcessInstanceId(), e);
+      ready = false;
+      scheduleRebuild();
+    }
+  }
+
+  private InstanceSummary update(InstanceSummary summary, HistoricProcessInstanceEventEntity event) {
+    summary.setInstanceId(event.getProcessInstanceId());
+    summary.setWorkflowId(event.getProcessDefinitionKey());
+    summary.setDefinitionId(event.getProcessDefinitionId());
+    summary.setVersion(version(event.getProcessDefinitionId()));
+    summary.setStatus(AbstractInstanceDomainConverter.resolveStatus(event.getState(), event.getEndActivityId()));
+    if (event.getStartTime() != null) {
+      summary.setStartDate(event.getStartTime().toInstant());
+    }
+    if (event.getEndTime() != null) {
+      summary.setEndDate(event.getEndTime().toInstant());
+      if (summary.getStartDate() == null) {
+        summary.setStartDate(summary.getEndDate());
+      }
+    }
+    summary.setDuration(event.getDurationInMillis());
+    return summary;
+  }
+
+  private Long version(String definitionId) {
+    return versions.get(definitionId, id -> {
+      String versionTag = repositoryService.getProcessDefinition(id).getVersionTag();
+      return StringUtils.isNumeric(versionTag) ? Optional.of(Long.valueOf(versionTag)) : Optional.empty();
+    }).orElse(null);
+  }
+
+  @EventListener
+  public void onHistoricInstancesDeleted(HistoricInstancesDeletedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    if (!event.getInstanceIds().isEmpty()) {
+      repository.deleteByInstanceIds(event.getInstanceIds());
+    }
+    if (!event.getDefinitionIds().isEmpty()) {
+      repository.deleteByDefinitionIds(event.getDefinitionIds());
+      versions.invalidateAll(event.getDefinitionIds());
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (!enabled) {
+      return;
+    }
+    long instances = historyService.createHistoricProcessInstanceQuery().count();
+    long summaries = repository.count();
+    if (rebuildOnStartup || summaries != instances) {
+      log.info("Rebuilding the monitoring read model, it holds {} instances out of {}", summaries, instances);
+      scheduleRebuild();
+    } else {
+      ready = true;
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (rebuilds instanceof ExecutorService) {
+      ((ExecutorService) rebuilds).shutdownNow();
+    }
+  }
+
+  /**
+   * @return true if the read model holds all the instances, false while it is being rebuilt or after a failed rebuild
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Rebuilds the read model in the background, unless a rebuild is already waiting to start.
+   */
+  void scheduleRebuild() {
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      rebuilds.execute(() -> {
+        // writes failing from now on schedule another rebuild
+        rebuildScheduled.set(false);
+        try {
+          rebuild();
+        } catch (RuntimeException e) {
+          log.error("Failed to rebuild the monitoring read model, instances are read from Camunda's history", e);
+        }
+      });
+    }
+  }
+
+  /**
+   * Replaces the read model with the instances in Camunda's history, read in batches ordered by instance id.
+   * Instances starting or ending during the rebuild might be overwritten with their previous state.
+   *
+   * <p>The read model is not ready until the rebuild completes, a failed rebuild leaves it not ready.</p>
+   *
+   * @return the number of instances in the rebuilt read model
+   */
+  public long rebuild() {
+    ready = false;
+    long start = System.currentTimeMillis();
+    String sql = "select * from " + managementService.getTableName(HistoricProcessInstance.class)
+        + " where ID_ > #{lastId} order by ID_ asc";
+    repository.deleteAllInBatch();
+    long count = 0;
+    String lastId = "";
+    List<HistoricProcessInstance> batch;
+    do {
+      batch = historyService.createNativeHistoricProcessInstanceQuery()
+          .sql(sql)
+          .parameter("lastId", lastId)
+          .listPage(0, rebuildBatchSize);
+      repository.saveAll(batch.stream()
+          .map(instance -> update(new InstanceSummary(), (HistoricProcessInstanceEventEntity) instance))
+          .collect(Collectors.toList()));
+      count += batch.size();
+      if (!batch.isEmpty()) {
+        lastId = batch.get(batch.size() - 1).getId();
+      }
+    } while (batch.size() == rebuildBatchSize);
+    log.info("Rebuilt the monitoring read model with {} instances in {} ms", count, System.currentTimeMillis() - start);
+    // a write failed during the rebuild, the next one completes the read model
+    ready = !rebuildScheduled.get();
+    return count;
+  }
+}
@@ -0,0 +1,63 @@
+package com.symphony.bdk.workflow.engine.handler.stats;
+
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.AbstractInstanceDomainConverter;
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
+import com.symphony.bdk.workflow.monitoring.stats.WorkflowStatistics;
+
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records instances and activities into {@link WorkflowStatistics} as they start and end, once the engine transaction
+ * commits so that rolled back instances and activities are not counted.
+ */
+@Component
+public class WorkflowStatsAction implements HistoricEventAction {
+  private final WorkflowStatistics statistics;
+
+  public WorkflowStatsAction(WorkflowStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity) {
+      recordInstance((HistoricProcessInstanceEventEntity) historyEvent);
+    } else if (historyEvent instanceof HistoricActivityInstanceEventEntity
+        && historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)) {
+      recordActivity((HistoricActivityInstanceEventEntity) historyEvent);
+    }
+  }
+
+  private void recordInstance(HistoricProcessInstanceEventEntity event) {
+    if (event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_START)) {
+      String workflowId = event.getProcessDefinitionKey();
+      HistoricEventAction.afterCommit(() -> statistics.instanceStarted(workflowId));
+    } else if (event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+      String status = AbstractInstanceDomainConverter.resolveStatus(event.getState(), event.getEndActivityId());
+      // terminated instances, such as the ones of a removed workflow, neither completed nor failed
+      if (status != null && event.getDurationInMillis() != null) {
+        String workflowId = event.getProcessDefinitionKey();
+        boolean failed = StatusEnum.FAILED.name().equals(status);
+        long duration = event.getDurationInMillis();
+        HistoricEventAction.afterCommit(() -> statistics.instanceEnded(workflowId, failed, duration));
+      }
+    }
+  }
+
+  private void recordActivity(HistoricActivityInstanceEventEntity event) {
+    // gateways, start and end events take no time, they would only flood the activity statistics
+    String type = StringUtils.defaultString(event.getActivityType()).toLowerCase();
+    if (event.getDurationInMillis() != null && !StringUtils.endsWithAny(type, "gateway", "startevent", "endevent")) {
+      String workflowId = event.getProcessDefinitionKey();
+      String activityId = event.getActivityId();
+      long duration = event.getDurationInMillis();
+      HistoricEventAction.afterCommit(() -> statistics.activityEnded(workflowId, activityId, duration));
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.symphony.bdk.workflow.engine.handler.stream;
+
+import com.symphony.bdk.workflow.api.v1.dto.NodeStateView;
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
+import com.symphony.bdk.workflow.api.v1.dto.VariableView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
+import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowNodeTypeHelper;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.converter.AbstractInstanceDomainConverter;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
+import com.symphony.bdk.workflow.monitoring.repository.domain.VariablesDomain;
+import com.symphony.bdk.workflow.monitoring.stream.InstanceStateStream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.history.HistoricDetail;
+import org.camunda.bpm.engine.history.HistoricVariableUpdate;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Publishes node state transitions, global variables and error changes of watched instances to the
+ * {@link InstanceStateStream}, in the same shape as the instance state endpoint returns them.
+ *
+ * <p>Events are built within the engine command, variables can only be deserialized there, and published once
+ * Camunda's transaction commits so that rolled back changes are never streamed. Nodes are resolved in the workflow
+ * version the instance runs, as the instance state endpoint does.</p>
+ */
+@Slf4j
+@Component
+public class InstanceStateStreamAction implements HistoricEventAction {
+  private final InstanceStateStream stream;
+  private final WorkflowDirectedGraphService workflowDirectedGraphService;
+  private final RepositoryService repositoryService;
+  private final ObjectConverter objectConverter;
+
+  public InstanceStateStreamAction(InstanceStateStream stream,
+      WorkflowDirectedGraphService workflowDirectedGraphService, @Lazy RepositoryService repositoryService,
+      ObjectConverter objectConverter) {
+    this.stream = stream;
+    this.workflowDirectedGraphService = workflowDirectedGraphService;
+    this.repositoryService = repositoryService;
+    this.objectConverter = objectConverter;
+  }
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (!stream.isWatched(historyEvent.getProcessInstanceId())) {
+      return;
+    }
+    if (historyEvent instanceof HistoricActivityInstanceEventEntity) {
+      publishNode((HistoricActivityInstanceEventEntity) historyEvent);
+    } else if (historyEvent instanceof HistoricVariableUpdateEventEntity
+        && historyEvent instanceof HistoricVariableUpdate) {
+      publishVariables((HistoricVariableUpdateEventEntity) historyEvent);
+    } else if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+      publishEnd((HistoricProcessInstanceEventEntity) historyEvent);
+    }
+  }
+
+  private void publishNode(HistoricActivityInstanceEventEntity event) {
+    WorkflowDirectedGraph directedGraph =
+        directedGraph(event.getProcessDefinitionKey(), event.getProcessDefinitionId());
+    // nodes that are not part of the SWADL, such as gateways, are not returned by the instance state either
+    if (directedGraph == null || !directedGraph.isRegistered(event.getActivityId())) {
+      return;
+    }
+    String name = WorkflowNodeTypeHelper.toUpperUnderscore(
+        directedGraph.getDictionary().get(event.getActivityId()).getWrappedType().getSimpleName());
+    NodeStateView node = NodeStateView.builder()
+        .workflowId(event.getProcessDefinitionKey())
+        .instanceId(event.getProcessInstanceId())
+        .nodeId(event.getActivityId())
+        .type(WorkflowNodeTypeHelper.toType(name))
+        .group(WorkflowNodeTypeHelper.toGroup(name))
+        .startDate(toInstant(event.getStartTime()))
+        .endDate(toInstant(event.getEndTime()))
+        .duration(event.getDurationInMillis() == null ? null : Duration.ofMillis(event.getDurationInMillis()))
+        .build();
+    HistoricEventAction.afterCommit(() -> stream.publish(event.getProcessInstanceId(), "node", node));
+  }
+
+  private WorkflowDirectedGraph directedGraph(String workflowId, String definitionId) {
+    // definitions come from the engine's deployment cache, the version tag of a versioned workflow is its version
+    String versionTag = definitionId == null ? null
+        : repositoryService.getProcessDefinition(definitionId).getVersionTag();
+    return StringUtils.isNumeric(versionTag)
+        ? workflowDirectedGraphService.getDirectedGraph(workflowId, Long.valueOf(versionTag))
+        : workflowDirectedGraphService.getDirectedGraph(workflowId);
+  }
+
+  private void publishVariables(HistoricVariableUpdateEventEntity event) {
+    String variableName = event.getVariableName();
+    if (!ActivityExecutorContext.VARIABLES.equals(variableName)
+        && !ActivityExecutorContext.ERROR.equals(variableName)) {
+      return;
+    }
+    VariablesDomain variables;
+    try {
+      variables = objectConverter.convert(event, HistoricDetail.class, VariablesDomain.class);
+    } catch (RuntimeException e) {
+      log.debug("Failed to read variable {} of instance {} to stream it", variableName,
+          event.getProcessInstanceId(), e);
+      return;
+    }
+    if (ActivityExecutorContext.VARIABLES.equals(variableName)) {
+      VariableView view = new VariableView(variables);
+      HistoricEventAction.afterCommit(() -> stream.publish(event.getProcessInstanceId(), "variables", view));
+    } else if (variables.getOutputs() != null) {
+      HistoricEventAction.afterCommit(
+          () -> stream.publish(event.getProcessInstanceId(), "error", variables.getOutputs()));
+    }
+  }
+
+  private void publishEnd(HistoricProcessInstanceEventEntity event) {
+    String status = AbstractInstanceDomainConverter.resolveStatus(event.getState(), event.getEndActivityId());
+    WorkflowInstView instance = WorkflowInstView.builder()
+        .id(event.getProcessDefinitionKey())
+        .instanceId(event.getProcessInstanceId())
+        .status(StatusEnum.toInstanceStatusEnum(status))
+        .startDate(toInstant(event.getStartTime()))
+        .endDate(toInstant(event.getEndTime()))
+        .duration(event.getDurationInMillis() == null ? null : Duration.ofMillis(event.getDurationInMillis()))
+        .build();
+    HistoricEventAction.afterCommit(
+        () -> stream.publish(event.getProcessInstanceId(), InstanceStateStream.END_EVENT, instance));
+  }
+
+  private static Instant toInstant(Date date) {
+    return date == null ? null : date.toInstant();
+  }
+}
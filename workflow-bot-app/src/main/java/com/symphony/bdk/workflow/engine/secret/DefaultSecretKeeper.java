@@ -3,11 +3,20 @@ package com.symphony.bdk.workflow.engine.secret;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.exception.DuplicateException;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
@@ -22,9 +31,31 @@ public class DefaultSecretKeeper implements SecretKeeper {
 
   private final SecretCryptVault vault;
 
-  public DefaultSecretKeeper(SecretRepository repository, SecretCryptVault vault) {
+  // decrypted secrets are wiped from memory when evicted
+  private final Cache<String, SecretBuffer> secrets;
+
+  private final Timer decryptTimer;
+
+  public DefaultSecretKeeper(SecretRepository repository, SecretCryptVault vault, MeterRegistry registry,
+      @Value("${wdk.properties.secret.cache.ttl:PT1M}") Duration ttl,
+      @Value("${wdk.properties.secret.cache.max-size:1000}") long maxSize) {
     this.repository = repository;
     this.vault = vault;
+    this.secrets = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(maxSize)
+        .executor(Runnable::run)
+        .removalListener((String key, SecretBuffer secret, RemovalCause cause) -> {
+          if (secret != null) {
+            secret.destroy();
+          }
+        })
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, secrets, "secret");
+    this.decryptTimer = Timer.builder("workflow.secret.decrypt")
+        .description("Time spent decrypting secrets")
+        .register(registry);
   }
 
   @Override
@@ -35,18 +66,31 @@ public class DefaultSecretKeeper implements SecretKeeper {
       throw new DuplicateException("Secret reference key exists already.");
     }
     repository.save(new SecretDomain(key, Base64.getEncoder().encodeToString(vault.encrypt(secret))));
+    invalidate(key);
   }
 
   @Override
   public String get(String key) {
-    String secret = repository.findByRef(key).orElse(new SecretDomain()).getSecret();
-    return secret == null ? null
-        : new String(vault.decrypt(Base64.getDecoder().decode(secret)), StandardCharsets.UTF_8);
+    SecretBuffer secret = secrets.get(key, this::load);
+    if (secret == null) {
+      return null;
+    }
+    String value = secret.asString();
+    if (value == null) {
+      // evicted and wiped concurrently, decrypt it again without caching
+      SecretBuffer reloaded = load(key);
+      if (reloaded != null) {
+        value = reloaded.asString();
+        reloaded.destroy();
+      }
+    }
+    return value;
   }
 
   @Override
   public void remove(String key) {
     repository.deleteByRef(key);
+    invalidate(key);
   }
 
   @Override
@@ -57,4 +101,26 @@ public class DefaultSecretKeeper implements SecretKeeper {
         .collect(
             Collectors.toList());
   }
+
+  private SecretBuffer load(String key) {
+    String secret = repository.findByRef(key).orElse(new SecretDomain()).getSecret();
+    if (secret == null) {
+      return null;
+    }
+    byte[] encrypted = Base64.getDecoder().decode(secret);
+    return new SecretBuffer(decryptTimer.record(() -> vault.decrypt(encrypted)));
+  }
+
+  private void invalidate(String key) {
+    secrets.invalidate(key);
+    // once committed as well, a concurrent lookup might have cached the previous value in the meantime
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          secrets.invalidate(key);
+        }
+      });
+    }
+  }
 }
@@ -0,0 +1,36 @@
+package com.symphony.bdk.workflow.engine.secret;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.security.auth.Destroyable;
+
+/**
+ * Decrypted secret kept as bytes rather than as an immutable string, so that it can be wiped from memory once it is
+ * no longer cached.
+ */
+class SecretBuffer implements Destroyable {
+  private final byte[] value;
+  private boolean destroyed;
+
+  SecretBuffer(byte[] value) {
+    this.value = value;
+  }
+
+  /**
+   * @return the secret, null if it has been destroyed in the meantime
+   */
+  synchronized String asString() {
+    return destroyed ? null : new String(value, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public synchronized void destroy() {
+    Arrays.fill(value, (byte) 0);
+    destroyed = true;
+  }
+
+  @Override
+  public synchronized boolean isDestroyed() {
+    return destroyed;
+  }
+}
@@ -2,9 +2,11 @@ package com.symphony.bdk.workflow.engine.secret;
 
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.Key;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.function.Function;
@@ -16,11 +18,17 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 public class SecretCryptVault {
+  /**
+   * Version of the secrets encrypted before key versions were derived from the keys, with any of the configured keys.
+   */
+  public static final int LEGACY_VERSION = 0;
   private static final String DEFAULT_CIPHER = "AES/GCM/NoPadding";
   private static final String DEFAULT_ALGORITHM = "AES";
   private static final int DEFAULT_SALT_LENGTH = 8;
   private static final int ALGORITHM_NONCE_SIZE = 12;
   private static final int ALGORITHM_TAG_SIZE = 128;
+  // Cipher instances are not thread safe but can be re-initialized, this saves a provider lookup per operation
+  private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(SecretCryptVault::newCipher);
   private SecureRandom secureRandom = new SecureRandom();
   private final CryptVersion[] cryptVersions = new CryptVersion[256];
   private int defaultVersion = -1;
@@ -45,6 +53,36 @@ public class SecretCryptVault {
     return withKey(version, cryptVersion);
   }
 
+  /**
+   * Same as {@link #with256BitAesGcmNoPaddingAnd64BitSaltKey(int, byte[])}, with the version derived from the key.
+   *
+   * @param secret key for the algorithm
+   */
+  public SecretCryptVault with256BitAesGcmNoPaddingAnd64BitSaltKey(byte[] secret) {
+    int version = keyVersion(secret);
+    if (this.cryptVersions[version] != null) {
+      throw new IllegalArgumentException(
+          "version " + version + " derived from the key is already used by another key, use another passphrase");
+    }
+    return with256BitAesGcmNoPaddingAnd64BitSaltKey(version, secret);
+  }
+
+  /**
+   * The version does not depend on the order or the number of configured keys, so that keys can be added and removed
+   * without changing the version of the others. It is never {@link #LEGACY_VERSION}.
+   *
+   * @param secret key for the algorithm
+   * @return version between 1 and 255 derived from the key
+   */
+  public static int keyVersion(byte[] secret) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret);
+      return 1 + Math.floorMod(ByteBuffer.wrap(digest).getInt(), 255);
+    } catch (NoSuchAlgorithmException e) {
+      throw new CryptOperationException("JCE exception caught while deriving key version", e);
+    }
+  }
+
   public SecretCryptVault withKey(int version, CryptVersion cryptVersion) {
     if (version >= 0 && version <= 255) {
       if (this.cryptVersions[version] != null) {
@@ -73,8 +111,8 @@ public class SecretCryptVault {
       byte[] nonce = new byte[ALGORITHM_NONCE_SIZE];
       secureRandom.nextBytes(nonce);
 
-      // Create the cipher instance and initialize.
-      Cipher cipher = Cipher.getInstance(DEFAULT_CIPHER);
+      // Reuse the thread's cipher instance and initialize.
+      Cipher cipher = CIPHERS.get();
       cipher.init(Cipher.ENCRYPT_MODE, cryptVersion.key, new GCMParameterSpec(ALGORITHM_TAG_SIZE, nonce));
 
       // Encrypt and prepend nonce.
@@ -85,34 +123,61 @@ public class SecretCryptVault {
       System.arraycopy(ciphertext, 0, ciphertextAndNonce, nonce.length + 1, ciphertext.length);
 
       return ciphertextAndNonce;
-    } catch (NoSuchAlgorithmException | InvalidKeyException | InvalidAlgorithmParameterException
-             | NoSuchPaddingException | BadPaddingException | IllegalBlockSizeException e) {
+    } catch (InvalidKeyException | InvalidAlgorithmParameterException | BadPaddingException
+             | IllegalBlockSizeException e) {
       throw new CryptOperationException("JCE exception caught while encrypting with version " + version, e);
     }
   }
 
   public byte[] decrypt(byte[] ciphertextAndNonce) {
     int version = fromSignedByte(ciphertextAndNonce[0]);
-    CryptVersion cryptVersion = cryptVersion(version);
+    if (version == LEGACY_VERSION && this.cryptVersions[LEGACY_VERSION] == null) {
+      return decryptLegacy(ciphertextAndNonce);
+    }
+    return decrypt(version, cryptVersion(version), ciphertextAndNonce);
+  }
+
+  private byte[] decryptLegacy(byte[] ciphertextAndNonce) {
+    cryptVersion(this.defaultVersion);
+    CryptOperationException failure = null;
+    // GCM authenticates the ciphertext, decrypting with the wrong key fails
+    for (int version = this.cryptVersions.length - 1; version > LEGACY_VERSION; version--) {
+      if (this.cryptVersions[version] != null) {
+        try {
+          return decrypt(version, this.cryptVersions[version], ciphertextAndNonce);
+        } catch (CryptOperationException e) {
+          failure = e;
+        }
+      }
+    }
+    throw new CryptOperationException("None of the configured keys decrypts legacy version " + LEGACY_VERSION,
+        failure);
+  }
+
+  private byte[] decrypt(int version, CryptVersion cryptVersion, byte[] ciphertextAndNonce) {
     try {
-      // Retrieve the nonce and ciphertext.
-      byte[] nonce = new byte[ALGORITHM_NONCE_SIZE];
-      byte[] ciphertext = new byte[ciphertextAndNonce.length - ALGORITHM_NONCE_SIZE - 1];
-      System.arraycopy(ciphertextAndNonce, 1, nonce, 0, nonce.length);
-      System.arraycopy(ciphertextAndNonce, nonce.length + 1, ciphertext, 0, ciphertext.length);
-
-      // Create the cipher instance and initialize.
-      Cipher cipher = Cipher.getInstance(DEFAULT_CIPHER);
-      cipher.init(Cipher.DECRYPT_MODE, cryptVersion.key, new GCMParameterSpec(ALGORITHM_TAG_SIZE, nonce));
-
-      // Decrypt and return result.
-      return cipher.doFinal(ciphertext);
-    } catch (NoSuchAlgorithmException | InvalidKeyException | InvalidAlgorithmParameterException
-             | NoSuchPaddingException | BadPaddingException | IllegalBlockSizeException e) {
+      // Reuse the thread's cipher instance and initialize with the nonce, read in place.
+      Cipher cipher = CIPHERS.get();
+      cipher.init(Cipher.DECRYPT_MODE, cryptVersion.key,
+          new GCMParameterSpec(ALGORITHM_TAG_SIZE, ciphertextAndNonce, 1, ALGORITHM_NONCE_SIZE));
+
+      // Decrypt the ciphertext following the nonce and return result.
+      return cipher.doFinal(ciphertextAndNonce, ALGORITHM_NONCE_SIZE + 1,
+          ciphertextAndNonce.length - ALGORITHM_NONCE_SIZE - 1);
+    } catch (InvalidKeyException | InvalidAlgorithmParameterException | BadPaddingException
+             | IllegalBlockSizeException e) {
       throw new CryptOperationException("JCE exception caught while encrypting with version " + version, e);
     }
   }
 
+  private static Cipher newCipher() {
+    try {
+      return Cipher.getInstance(DEFAULT_CIPHER);
+    } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+      throw new CryptOperationException("JCE exception caught while creating cipher " + DEFAULT_CIPHER, e);
+    }
+  }
+
   private CryptVersion cryptVersion(int version) {
     try {
       CryptVersion result = cryptVersions[version];
@@ -128,6 +193,27 @@ public class SecretCryptVault {
     }
   }
 
+  public int getDefaultVersion() {
+    return defaultVersion;
+  }
+
+  /**
+   * @return true if values encrypted with this key version can be decrypted, provided the key has not changed
+   */
+  public boolean isKnownVersion(int version) {
+    if (version < 0 || version >= this.cryptVersions.length) {
+      return false;
+    }
+    return this.cryptVersions[version] != null || (version == LEGACY_VERSION && this.defaultVersion >= 0);
+  }
+
+  /**
+   * @return the key version a value has been encrypted with
+   */
+  public static int version(byte[] ciphertextAndNonce) {
+    return fromSignedByte(ciphertextAndNonce[0]);
+  }
+
   public SecretCryptVault withDefaultKeyVersion(int defaultVersion) {
     if (defaultVersion >= 0 && defaultVersion <= 255) {
       if (this.cryptVersions[defaultVersion] == null) {
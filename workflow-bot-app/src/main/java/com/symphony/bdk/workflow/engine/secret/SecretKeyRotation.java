@@ -0,0 +1,232 @@
+package com.symphony.bdk.workflow.engine.secret;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-encrypts stored secrets with the default key version of the vault, once a new key has been configured.
+ *
+ * <p>Secrets are read page by page and rotated in parallel batches. A secret is only updated if it has not changed
+ * since it was read, so secrets can still be read, saved and removed while the rotation runs.</p>
+ */
+@Slf4j
+@Component
+public class SecretKeyRotation {
+  // outcomes of a secret rotation, indexes in the per batch counts
+  private static final int ROTATED = 0;
+  private static final int UP_TO_DATE = 1;
+  private static final int CONFLICT = 2;
+  private static final int FAILED = 3;
+  private static final int UNKNOWN_KEY = 4;
+
+  private final SecretRepository repository;
+  private final SecretCryptVault vault;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int pageSize;
+  private final int batchSize;
+  private final int parallelism;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong rotated = new AtomicLong();
+  private final AtomicLong upToDate = new AtomicLong();
+  private final AtomicLong conflicts = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong unknownKeys = new AtomicLong();
+
+  public SecretKeyRotation(SecretRepository repository, SecretCryptVault vault,
+      PlatformTransactionManager transactionManager, MeterRegistry registry,
+      @Value("${wdk.properties.secret.rotation.enabled:true}") boolean enabled,
+      @Value("${wdk.properties.secret.rotation.page-size:500}") int pageSize,
+      @Value("${wdk.properties.secret.rotation.batch-size:50}") int batchSize,
+      @Value("${wdk.properties.secret.rotation.parallelism:4}") int parallelism) {
+    this.repository = repository;
+    this.vault = vault;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.pageSize = pageSize;
+    this.batchSize = batchSize;
+    this.parallelism = parallelism;
+
+    Gauge.builder("workflow.secret.rotation.total", total, AtomicLong::get)
+        .description("Secrets to process by the current or last key rotation")
+        .register(registry);
+    registerResultGauge(registry, "rotated", rotated);
+    registerResultGauge(registry, "up_to_date", upToDate);
+    registerResultGauge(registry, "conflict", conflicts);
+    registerResultGauge(registry, "failed", failed);
+    registerResultGauge(registry, "unknown_key", unknownKeys);
+  }
+
+  private static void registerResultGauge(MeterRegistry registry, String result, AtomicLong value) {
+    Gauge.builder("workflow.secret.rotation", value, AtomicLong::get)
+        .description("Secrets processed by the current or last key rotation")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  @Async
+  @EventListener(ApplicationReadyEvent.class)
+  public void rotateOnStartup() {
+    if (enabled) {
+      rotate();
+    }
+  }
+
+  /**
+   * Rotates all secrets not yet encrypted with the default key version, returns once done.
+   *
+   * @return the progress of this rotation, or of the one already running
+   */
+  public Progress rotate() {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Secret key rotation is already running");
+      return progress();
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      total.set(repository.count());
+      rotated.set(0);
+      upToDate.set(0);
+      conflicts.set(0);
+      failed.set(0);
+      unknownKeys.set(0);
+      log.info("Rotating {} secrets to key version {}", total.get(), vault.getDefaultVersion());
+
+      String lastId = "";
+      List<SecretDomain> page;
+      do {
+        page = repository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+        if (page.isEmpty()) {
+          break;
+        }
+        lastId = page.get(page.size() - 1).getId();
+        rotatePage(executor, page);
+        Progress progress = progress();
+        log.info("Secret key rotation: {}/{} secrets processed", progress.getProcessed(), progress.getTotal());
+      } while (page.size() == pageSize);
+
+      Progress progress = progress();
+      log.info("Secret key rotation done: {} rotated, {} up to date, {} modified concurrently, {} failed, "
+              + "{} encrypted with an unknown key", progress.getRotated(), progress.getUpToDate(),
+          progress.getConflicts(), progress.getFailed(), progress.getUnknownKeys());
+      if (progress.getUnknownKeys() > 0) {
+        log.warn("{} secrets are encrypted with a key that is not configured, they cannot be read",
+            progress.getUnknownKeys());
+      }
+      return progress;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Secret key rotation interrupted");
+      return progress();
+    } finally {
+      executor.shutdownNow();
+      running.set(false);
+    }
+  }
+
+  public Progress progress() {
+    return new Progress(total.get(), rotated.get(), upToDate.get(), conflicts.get(), failed.get(),
+        unknownKeys.get());
+  }
+
+  private void rotatePage(ExecutorService executor, List<SecretDomain> page) throws InterruptedException {
+    List<Future<?>> batches = new ArrayList<>();
+    for (int i = 0; i < page.size(); i += batchSize) {
+      List<SecretDomain> batch = page.subList(i, Math.min(i + batchSize, page.size()));
+      batches.add(executor.submit(() -> rotateBatch(batch)));
+    }
+    for (int i = 0; i < batches.size(); i++) {
+      try {
+        batches.get(i).get();
+      } catch (ExecutionException e) {
+        int batchStart = i * batchSize;
+        int failedSecrets = Math.min(batchStart + batchSize, page.size()) - batchStart;
+        failed.addAndGet(failedSecrets);
+        log.warn("Secret key rotation failed for a batch of {} secrets", failedSecrets, e.getCause());
+      }
+    }
+  }
+
+  private void rotateBatch(List<SecretDomain> batch) {
+    // outcomes are only counted once the batch is committed
+    long[] outcomes = new long[5];
+    transactionTemplate.executeWithoutResult(status -> {
+      Arrays.fill(outcomes, 0);
+      batch.forEach(secret -> outcomes[rotateSecret(secret)]++);
+    });
+    rotated.addAndGet(outcomes[ROTATED]);
+    upToDate.addAndGet(outcomes[UP_TO_DATE]);
+    conflicts.addAndGet(outcomes[CONFLICT]);
+    failed.addAndGet(outcomes[FAILED]);
+    unknownKeys.addAndGet(outcomes[UNKNOWN_KEY]);
+  }
+
+  private int rotateSecret(SecretDomain secret) {
+    if (secret.getSecret() == null) {
+      return UP_TO_DATE;
+    }
+    byte[] encrypted = Base64.getDecoder().decode(secret.getSecret());
+    int version = SecretCryptVault.version(encrypted);
+    if (!vault.isKnownVersion(version)) {
+      log.warn("Secret {} is encrypted with key version {} which is not configured", secret.getRef(), version);
+      return UNKNOWN_KEY;
+    }
+    if (version == vault.getDefaultVersion()) {
+      return UP_TO_DATE;
+    }
+    byte[] plaintext;
+    try {
+      plaintext = vault.decrypt(encrypted);
+    } catch (CryptOperationException | IllegalArgumentException e) {
+      // the key of that version has changed, other secrets can still be rotated
+      log.warn("Secret {} could not be decrypted for rotation: {}", secret.getRef(), e.getMessage());
+      return FAILED;
+    }
+    String reEncrypted;
+    try {
+      reEncrypted = Base64.getEncoder().encodeToString(vault.encrypt(plaintext));
+    } finally {
+      Arrays.fill(plaintext, (byte) 0);
+    }
+    return repository.updateSecret(secret.getId(), secret.getSecret(), reEncrypted) == 1 ? ROTATED : CONFLICT;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static class Progress {
+    private final long total;
+    private final long rotated;
+    private final long upToDate;
+    private final long conflicts;
+    private final long failed;
+    private final long unknownKeys;
+
+    public long getProcessed() {
+      return rotated + upToDate + conflicts + failed + unknownKeys;
+    }
+  }
+}
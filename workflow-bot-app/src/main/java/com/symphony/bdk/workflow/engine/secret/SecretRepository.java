@@ -1,8 +1,13 @@
 package com.symphony.bdk.workflow.engine.secret;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +15,15 @@ public interface SecretRepository extends JpaRepository<SecretDomain, String> {
   Optional<SecretDomain> findByRef(String ref);
 
   void deleteByRef(String ref);
+
+  List<SecretDomain> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+
+  /**
+   * Replaces the encrypted secret only if it has not changed since it was read.
+   *
+   * @return the number of updated rows, 0 if the secret has been modified or removed concurrently
+   */
+  @Modifying
+  @Query("update SecretDomain s set s.secret = :updated where s.id = :id and s.secret = :current")
+  int updateSecret(@Param("id") String id, @Param("current") String current, @Param("updated") String updated);
 }
@@ -1,31 +1,223 @@
 package com.symphony.bdk.workflow.engine.shared;
 
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+import com.symphony.bdk.workflow.engine.shared.SharedDataEntryUpdater.Update;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.context.BpmnExecutionContext;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+/**
+ * Shared data stored as one row per (namespace, key), updates are optimistic and retried on conflicts.
+ *
+ * <p>Namespaces are cached as raw JSON values, writes from this node invalidate the cache right away while writes
+ * from other nodes are visible once the short TTL expires. In snapshot mode, the parsed namespace is reused for all
+ * reads of the same activity execution, it must then be treated as read-only. Writes bump the namespace's version
+ * so that snapshots taken before are parsed again on their next read.</p>
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
-@Transactional(propagation = Propagation.REQUIRES_NEW)
 public class DefaultSharedDataStore implements SharedDataStore {
-  private final SharedDataRepository repository;
+  private static final int MAX_ATTEMPTS = 100;
+  private static final long MAX_BACKOFF_MS = 50;
+  private static final Duration SNAPSHOT_TTL = Duration.ofMinutes(1);
+  private static final long MAX_SNAPSHOTS = 10_000;
+
+  private final SharedDataEntryRepository repository;
+  private final SharedDataEntryUpdater updater;
+  private final Cache<String, Map<String, String>> namespaces;
+  // activity instance id -> namespace -> parsed data, null when snapshot mode is disabled
+  private final Cache<String, Map<String, Snapshot>> snapshots;
+  private final Map<String, Long> namespaceVersions = new ConcurrentHashMap<>();
+
+  public DefaultSharedDataStore(SharedDataEntryRepository repository, SharedDataEntryUpdater updater,
+      MeterRegistry registry,
+      @Value("${wdk.properties.shared-data.cache.ttl:PT5S}") Duration ttl,
+      @Value("${wdk.properties.shared-data.cache.max-namespaces:1000}") long maxNamespaces,
+      @Value("${wdk.properties.shared-data.cache.snapshot:false}") boolean snapshot) {
+    this.repository = repository;
+    this.updater = updater;
+    this.namespaces = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(maxNamespaces)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, namespaces, "shared-data");
+    this.snapshots = snapshot
+        ? Caffeine.newBuilder().expireAfterWrite(SNAPSHOT_TTL).maximumSize(MAX_SNAPSHOTS).build()
+        : null;
+  }
 
   @Override
   public Map<String, Object> getNamespaceData(String namespace) {
-    return repository.findByNamespace(namespace).orElse(new SharedData()).getProperties();
+    String activityInstanceId = snapshots == null ? null : currentActivityInstanceId();
+    if (activityInstanceId == null) {
+      return parse(namespaces.get(namespace, this::loadNamespace));
+    }
+    Map<String, Snapshot> activitySnapshots = snapshots.get(activityInstanceId, id -> new ConcurrentHashMap<>());
+    // read before loading, a concurrent write makes the next read load the namespace again
+    long version = namespaceVersions.getOrDefault(namespace, 0L);
+    Snapshot snapshot = activitySnapshots.get(namespace);
+    if (snapshot == null || snapshot.version != version) {
+      snapshot = new Snapshot(version,
+          Collections.unmodifiableMap(parse(namespaces.get(namespace, this::loadNamespace))));
+      activitySnapshots.put(namespace, snapshot);
+    }
+    return snapshot.data;
+  }
+
+  /**
+   * Drops cached namespaces, to be called after shared data is modified without going through this store.
+   */
+  public void invalidateAll() {
+    namespaces.invalidateAll();
+    if (snapshots != null) {
+      snapshots.invalidateAll();
+    }
+  }
+
+  String currentActivityInstanceId() {
+    BpmnExecutionContext context = Context.getBpmnExecutionContext();
+    return context == null || context.getExecution() == null ? null : context.getExecution().getActivityInstanceId();
+  }
+
+  private Map<String, String> loadNamespace(String namespace) {
+    Map<String, String> data = new HashMap<>();
+    repository.findByNamespace(namespace).forEach(entry -> data.put(entry.getDataKey(), entry.getDataValue()));
+    return Collections.unmodifiableMap(data);
+  }
+
+  private static Map<String, Object> parse(Map<String, String> rawData) {
+    Map<String, Object> data = new HashMap<>();
+    rawData.forEach((key, value) -> data.put(key, SharedDataEntry.read(value)));
+    return data;
   }
 
   @Override
   public void putNamespaceData(String namespace, String key, Object data) {
-    SharedData sharedData = repository.findByNamespace(namespace).orElse(new SharedData().namespace(namespace));
-    sharedData.getProperties().put(key, data);
-    sharedData.setLastUpdated(Instant.now().toEpochMilli());
-    repository.save(sharedData);
+    update(namespace, key, current -> Update.to(data));
+  }
+
+  @Override
+  public long increment(String namespace, String key, long delta) {
+    AtomicLong result = new AtomicLong();
+    update(namespace, key, current -> {
+      long value = toLong(namespace, key, current) + delta;
+      result.set(value);
+      return Update.to(value);
+    });
+    return result.get();
+  }
+
+  @Override
+  public boolean compareAndSet(String namespace, String key, Object expected, Object data) {
+    String expectedJson = SharedDataEntry.write(expected);
+    return update(namespace, key, current -> {
+      if (!expectedJson.equals(SharedDataEntry.write(current))) {
+        return Update.mismatched();
+      }
+      return expectedJson.equals(SharedDataEntry.write(data)) ? Update.unchanged() : Update.to(data);
+    });
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Object> appendToList(String namespace, String key, Object item) {
+    AtomicReference<List<Object>> result = new AtomicReference<>();
+    update(namespace, key, current -> {
+      List<Object> list = new ArrayList<>();
+      if (current instanceof List) {
+        list.addAll((List<Object>) current);
+      } else if (current != null) {
+        throw new IllegalArgumentException(
+            String.format("Shared data %s in namespace %s is not a list", key, namespace));
+      }
+      list.add(item);
+      result.set(list);
+      return Update.to(list);
+    });
+    return result.get();
+  }
+
+  private boolean update(String namespace, String key, Function<Object, Update> operation) {
+    try {
+      return updateWithRetries(namespace, key, operation);
+    } finally {
+      // once committed, so that a concurrent read cannot cache the previous value again
+      namespaces.invalidate(namespace);
+      if (snapshots != null) {
+        namespaceVersions.merge(namespace, 1L, Long::sum);
+      }
+    }
+  }
+
+  private boolean updateWithRetries(String namespace, String key, Function<Object, Update> operation) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return updater.update(namespace, key, operation);
+      } catch (OptimisticLockingFailureException e) {
+        retryOrThrow(namespace, key, attempt, e);
+      } catch (DataIntegrityViolationException e) {
+        // a concurrent insert of the same key wins the unique constraint, anything else is a genuine error
+        if (repository.findByNamespaceAndDataKey(namespace, key).isEmpty()) {
+          throw e;
+        }
+        retryOrThrow(namespace, key, attempt, e);
+      }
+    }
+  }
+
+  private static void retryOrThrow(String namespace, String key, int attempt, RuntimeException conflict) {
+    if (attempt >= MAX_ATTEMPTS) {
+      throw conflict;
+    }
+    log.debug("Conflict on shared data {} in namespace {}, attempt {}", key, namespace, attempt);
+    // jittered exponential backoff to spread concurrent writers
+    long maxDelay = Math.min(MAX_BACKOFF_MS, 1L << Math.min(attempt, 6));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw conflict;
+    }
+  }
+
+  private static long toLong(String namespace, String key, Object value) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+    throw new IllegalArgumentException(String.format("Shared data %s in namespace %s is not a number", key, namespace));
+  }
+
+  private static final class Snapshot {
+    private final long version;
+    private final Map<String, Object> data;
+
+    Snapshot(long version, Map<String, Object> data) {
+      this.version = version;
+      this.data = data;
+    }
   }
 }
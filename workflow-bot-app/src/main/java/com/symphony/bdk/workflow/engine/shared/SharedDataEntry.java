@@ -0,0 +1,88 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+
+/**
+ * One shared data value, stored in its own row so that writes to different keys of a namespace never conflict.
+ * Concurrent writes to the same key are detected with the optimistic {@link #version}.
+ */
+@Entity
+@Table(name = "SHARED_DATA_ENTRY", uniqueConstraints = @UniqueConstraint(columnNames = {"NAMESPACE", "DATA_KEY"}),
+    indexes = @Index(name = "NAMESPACE_KEY_IDX", columnList = "NAMESPACE, DATA_KEY", unique = true))
+@Data
+@NoArgsConstructor
+public class SharedDataEntry {
+  // sorted map keys give a canonical form to compare values with
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  @Id
+  @GeneratedValue(generator = "system-uuid")
+  @GenericGenerator(name = "system-uuid", strategy = "uuid2")
+  @Column(name = "ID")
+  private String id;
+
+  @Column(name = "NAMESPACE", nullable = false, length = 15)
+  private String namespace;
+
+  @Column(name = "DATA_KEY", nullable = false, length = 100)
+  private String dataKey;
+
+  @Lob
+  @Column(name = "DATA_VALUE", length = Integer.MAX_VALUE)
+  private String dataValue;
+
+  @Version
+  @Column(name = "VERSION")
+  private Long version;
+
+  @Column(name = "LAST_UPDATED")
+  private Long lastUpdated;
+
+  public SharedDataEntry(String namespace, String key) {
+    this.namespace = namespace;
+    this.dataKey = key;
+  }
+
+  public Object getData() {
+    return read(dataValue);
+  }
+
+  public void setData(Object data) {
+    this.dataValue = write(data);
+  }
+
+  static String write(Object data) {
+    try {
+      return MAPPER.writeValueAsString(data);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Shared data must be serializable to JSON", e);
+    }
+  }
+
+  static Object read(String json) {
+    if (json == null) {
+      return null;
+    }
+    try {
+      return MAPPER.readValue(json, Object.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Stored shared data is not valid JSON", e);
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SharedDataEntryRepository extends JpaRepository<SharedDataEntry, String> {
+  List<SharedDataEntry> findByNamespace(String namespace);
+
+  Optional<SharedDataEntry> findByNamespaceAndDataKey(String namespace, String dataKey);
+}
@@ -0,0 +1,75 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Runs a single read-modify-write attempt on a shared data entry, conflicts are reported as
+ * {@link org.springframework.dao.OptimisticLockingFailureException} (concurrent update) or
+ * {@link org.springframework.dao.DataIntegrityViolationException} (concurrent insert) and retried by the caller.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class SharedDataEntryUpdater {
+  private final SharedDataEntryRepository repository;
+
+  /**
+   * Applies the operation to the current value of the key, the value is only written if the operation changed it.
+   *
+   * @return false if the current value did not match the operation's expectation
+   */
+  public boolean update(String namespace, String key, Function<Object, Update> operation) {
+    SharedDataEntry entry = repository.findByNamespaceAndDataKey(namespace, key)
+        .orElseGet(() -> new SharedDataEntry(namespace, key));
+    Update update = operation.apply(entry.getData());
+    if (update.isChanged()) {
+      entry.setData(update.getValue());
+      entry.setLastUpdated(Instant.now().toEpochMilli());
+      repository.saveAndFlush(entry);
+    }
+    return update.isMatched();
+  }
+
+  /**
+   * Outcome of an operation on the current value of a key.
+   */
+  @Getter
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Update {
+    private static final Update UNCHANGED = new Update(true, false, null);
+    private static final Update MISMATCHED = new Update(false, false, null);
+
+    private final boolean matched;
+    private final boolean changed;
+    private final Object value;
+
+    /**
+     * The key is set to the given value.
+     */
+    public static Update to(Object value) {
+      return new Update(true, true, value);
+    }
+
+    /**
+     * The current value is kept, the operation is successful.
+     */
+    public static Update unchanged() {
+      return UNCHANGED;
+    }
+
+    /**
+     * The current value is kept, it did not match what the operation expected.
+     */
+    public static Update mismatched() {
+      return MISMATCHED;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Moves shared data stored by previous versions, one JSON document per namespace, to per key rows.
+ * Keys already written with the new storage are kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SharedDataMigration {
+  private final SharedDataRepository legacyRepository;
+  private final SharedDataEntryRepository repository;
+  private final DefaultSharedDataStore sharedDataStore;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void migrate() {
+    List<SharedData> legacyData = legacyRepository.findAll();
+    if (legacyData.isEmpty()) {
+      return;
+    }
+    for (SharedData sharedData : legacyData) {
+      sharedData.getProperties().forEach((key, value) -> {
+        if (repository.findByNamespaceAndDataKey(sharedData.getNamespace(), key).isEmpty()) {
+          SharedDataEntry entry = new SharedDataEntry(sharedData.getNamespace(), key);
+          entry.setData(value);
+          entry.setLastUpdated(sharedData.getLastUpdated());
+          repository.save(entry);
+        }
+      });
+    }
+    legacyRepository.deleteAll(legacyData);
+    sharedDataStore.invalidateAll();
+    log.info("Migrated {} shared data namespace(s) to per key storage", legacyData.size());
+  }
+}
@@ -28,7 +28,7 @@ public class WorkflowExpirationService {
   private final WorkflowExpirationPlanner workflowExpirationPlanner;
 
   public void scheduleWorkflowExpiration(String workflowId, Instant instant) {
-    List<WorkflowExpirationJob> expirationJobs = versioningRepository.findByWorkflowId(workflowId)
+    List<WorkflowExpirationJob> expirationJobs = versioningRepository.findSummariesByWorkflowId(workflowId)
         .stream()
         .map(workflow -> new WorkflowExpirationJob(workflow.getId(), workflow.getWorkflowId(),
             workflow.getDeploymentId(), instant))
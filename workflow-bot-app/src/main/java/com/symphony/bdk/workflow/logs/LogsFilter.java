@@ -0,0 +1,64 @@
+package com.symphony.bdk.workflow.logs;
+
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
+
+import ch.qos.logback.classic.Level;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Logs a streaming subscriber is interested in, unset criteria match all logs.
+ *
+ * <p>Workflow and instance ids are read from the MDC entries set while executing activities, logs written outside an
+ * activity execution are therefore not streamed to a subscriber filtering on them.</p>
+ */
+public final class LogsFilter {
+  public static final LogsFilter ALL = new LogsFilter(null, null, Level.ALL, null);
+
+  private final String workflowId;
+  private final String instanceId;
+  private final Level level;
+  private final String loggerPrefix;
+
+  private LogsFilter(String workflowId, String instanceId, Level level, String loggerPrefix) {
+    this.workflowId = workflowId;
+    this.instanceId = instanceId;
+    this.level = level;
+    this.loggerPrefix = loggerPrefix;
+  }
+
+  /**
+   * @param workflowId   workflow id the logs are written for
+   * @param instanceId   process instance id the logs are written for
+   * @param level        minimum level of the logs, such as INFO
+   * @param loggerPrefix prefix of the logger names
+   * @return the filter
+   */
+  public static LogsFilter of(@Nullable String workflowId, @Nullable String instanceId, @Nullable String level,
+      @Nullable String loggerPrefix) {
+    Level minLevel = Level.ALL;
+    if (level != null) {
+      minLevel = Level.toLevel(level, null);
+      if (minLevel == null) {
+        throw new IllegalArgumentException(String.format("Unknown log level %s", level));
+      }
+    }
+    return new LogsFilter(workflowId, instanceId, minLevel, loggerPrefix);
+  }
+
+  /**
+   * Evaluated by the logging threads, before the log is formatted.
+   *
+   * @param level  log level
+   * @param logger logger name
+   * @param mdc    MDC entries of the log
+   * @return true if the log is to be streamed
+   */
+  public boolean accept(Level level, String logger, Map<String, String> mdc) {
+    return level.isGreaterOrEqual(this.level)
+        && (loggerPrefix == null || logger.startsWith(loggerPrefix))
+        && (workflowId == null || workflowId.equals(mdc.get(CamundaExecutor.MDC_WORKFLOW_ID)))
+        && (instanceId == null || instanceId.equals(mdc.get(CamundaExecutor.MDC_PROCESS_ID)));
+  }
+}
@@ -8,26 +8,32 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class LogsStreamingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements SmartLifecycle {
 
+  // runs on every logging thread, compiled once rather than on each replaceAll
+  private static final Pattern LINE_BREAKS = Pattern.compile("[\\r\\n]+");
+
   private final LogsStreamingService service;
 
   @Override
   protected void append(ILoggingEvent eventObject) {
-    StringBuilder messageBuilder = new StringBuilder();
-    messageBuilder.append(eventObject.getFormattedMessage());
-
+    if (!service.hasSubscribers()
+        || !service.isStreamed(eventObject.getLevel(), eventObject.getLoggerName(), eventObject.getMDCPropertyMap())) {
+      return;
+    }
+    String message = eventObject.getFormattedMessage();
     if (eventObject.getThrowableProxy() != null) {
-      messageBuilder.append("\n");
-      messageBuilder.append(ThrowableProxyUtil.asString(eventObject.getThrowableProxy()));
+      message = message + "\n" + ThrowableProxyUtil.asString(eventObject.getThrowableProxy());
     }
 
-    String formattedMessage = messageBuilder.toString().replaceAll("(\\r|\\n|\\r\\n)+", "\t");
-    service.broadcast(eventObject.getTimeStamp(), eventObject.getLevel().toString(), eventObject.getLoggerName(),
-        formattedMessage);
+    String formattedMessage = LINE_BREAKS.matcher(message).replaceAll("\t");
+    service.broadcast(eventObject.getTimeStamp(), eventObject.getLevel(), eventObject.getLoggerName(),
+        eventObject.getMDCPropertyMap(), formattedMessage);
   }
 
   @Override
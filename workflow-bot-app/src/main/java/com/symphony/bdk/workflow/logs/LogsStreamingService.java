@@ -1,46 +1,209 @@
 package com.symphony.bdk.workflow.logs;
 
+import com.symphony.bdk.workflow.concurrent.BoundedRingBuffer;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Streams logs to SSE subscribers without slowing down the threads that log.
+ *
+ * <p>{@link #broadcast(long, Level, String, Map, String)} only pushes the log to a lock-free ring buffer. A single
+ * dispatcher thread copies each log to the bounded queue of every subscriber whose {@link LogsFilter} accepts it,
+ * dropping the oldest log of a subscriber that does not keep up, and subscribers are sent their queued logs by a sender
+ * task each, so that a slow client only delays itself. Dropped logs are counted (workflow.logs.stream.dropped).</p>
+ *
+ * <p>The dispatcher parks while the ring buffer is empty and is unparked by the next broadcast, it does not wake up
+ * when nobody logs or nobody is subscribed.</p>
+ */
 @Service
 @Slf4j
 public class LogsStreamingService {
-  private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+  private final BoundedRingBuffer<LogEntry> buffer;
+  private final int subscriberBufferSize;
+  private final Executor senders;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final Counter droppedCounter;
+  private final Counter subscriberDroppedCounter;
+
+  private final AtomicBoolean dispatcherIdle = new AtomicBoolean();
+  private volatile boolean running;
+  private volatile Thread dispatcherThread;
+
+  @Autowired
+  public LogsStreamingService(MeterRegistry registry,
+      @Value("${wdk.properties.logs.stream.buffer-size:8192}") int bufferSize,
+      @Value("${wdk.properties.logs.stream.subscriber-buffer-size:1024}") int subscriberBufferSize) {
+    this(registry, bufferSize, subscriberBufferSize, Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "logs-stream-sender");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  LogsStreamingService(MeterRegistry registry, int bufferSize, int subscriberBufferSize, Executor senders) {
+    this.buffer = new BoundedRingBuffer<>(bufferSize);
+    this.subscriberBufferSize = subscriberBufferSize;
+    this.senders = senders;
+
+    this.droppedCounter = registry.counter("workflow.logs.stream.dropped", "queue", "shared");
+    this.subscriberDroppedCounter = registry.counter("workflow.logs.stream.dropped", "queue", "subscriber");
+    registry.gaugeCollectionSize("workflow.logs.stream.subscribers", Tags.empty(), this.subscribers);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    dispatcherThread = new Thread(this::dispatch, "logs-stream-dispatcher");
+    dispatcherThread.setDaemon(true);
+    dispatcherThread.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (dispatcherThread != null) {
+      LockSupport.unpark(dispatcherThread);
+      dispatcherThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+    if (senders instanceof ExecutorService) {
+      ((ExecutorService) senders).shutdownNow();
+    }
+  }
 
-  @Async
   public void subscribe(SseEmitter emitter) {
+    subscribe(emitter, LogsFilter.ALL);
+  }
+
+  @Async
+  public void subscribe(SseEmitter emitter, LogsFilter filter) {
     log.debug("subscribe a new sse emitter.");
-    emitter.onCompletion(() -> this.emitters.remove(emitter));
+    Subscriber subscriber = new Subscriber(emitter, filter, new BoundedRingBuffer<>(subscriberBufferSize));
+    emitter.onCompletion(() -> this.subscribers.remove(subscriber));
     emitter.onTimeout(() -> {
       emitter.complete();
-      this.emitters.remove(emitter);
+      this.subscribers.remove(subscriber);
     });
-    this.emitters.add(emitter);
-  }
-
-  public void broadcast(long timestamp, String level, String logger, String data) {
-    List<SseEmitter> failedConnections = new ArrayList<>();
-    emitters.forEach(emitter -> {
-      SseEmitter.SseEventBuilder event = SseEmitter.event()
-          .id(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(timestamp)))
-          .data(String.format("[%s] %s - %s", level, logger, data))
-          .name("message");
-      boolean sent = sendMessage(event, emitter);
-      if (!sent) {
-        failedConnections.add(emitter);
+    this.subscribers.add(subscriber);
+  }
+
+  /**
+   * Cheap check for the appender to skip formatting logs nobody is waiting for.
+   */
+  public boolean hasSubscribers() {
+    return !subscribers.isEmpty();
+  }
+
+  /**
+   * Lets the appender skip formatting logs filtered out by all the subscribers.
+   */
+  public boolean isStreamed(Level level, String logger, Map<String, String> mdc) {
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.filter.accept(level, logger, mdc)) {
+        return true;
       }
-    });
-    if (!failedConnections.isEmpty()) {
-      unsubscribe(failedConnections);
+    }
+    return false;
+  }
+
+  /**
+   * Queues the log for the subscribers, never blocks: the log is dropped if the queue is full.
+   */
+  public void broadcast(long timestamp, Level level, String logger, Map<String, String> mdc, String data) {
+    if (!buffer.offer(new LogEntry(timestamp, level, logger, mdc, data))) {
+      droppedCounter.increment();
+    }
+    // only the first log after the dispatcher went idle pays for the unpark
+    Thread dispatcher = dispatcherThread;
+    if (dispatcher != null && dispatcherIdle.get() && dispatcherIdle.compareAndSet(true, false)) {
+      LockSupport.unpark(dispatcher);
+    }
+  }
+
+  private void dispatch() {
+    while (running) {
+      if (!dispatchPending()) {
+        dispatcherIdle.set(true);
+        // a log offered before the flag was set would not unpark the dispatcher
+        if (buffer.isEmpty() && running) {
+          LockSupport.park(this);
+        }
+        dispatcherIdle.set(false);
+      }
+    }
+  }
+
+  /**
+   * @return true if any log has been dispatched
+   */
+  boolean dispatchPending() {
+    boolean dispatched = false;
+    LogEntry entry;
+    while ((entry = buffer.poll()) != null) {
+      dispatched = true;
+      // formatted once for all the subscribers
+      LogMessage message = null;
+      for (Subscriber subscriber : subscribers) {
+        if (subscriber.filter.accept(entry.level, entry.logger, entry.mdc)) {
+          if (message == null) {
+            message = entry.toMessage();
+          }
+          subscriber.offer(message);
+        }
+      }
+    }
+    if (dispatched) {
+      subscribers.forEach(this::scheduleSend);
+    }
+    return dispatched;
+  }
+
+  private void scheduleSend(Subscriber subscriber) {
+    if (!subscriber.buffer.isEmpty() && subscriber.sending.compareAndSet(false, true)) {
+      senders.execute(() -> send(subscriber));
+    }
+  }
+
+  private void send(Subscriber subscriber) {
+    try {
+      LogMessage message;
+      while ((message = subscriber.buffer.poll()) != null) {
+        if (!sendMessage(message.toEvent(), subscriber.emitter)) {
+          subscribers.remove(subscriber);
+          return;
+        }
+      }
+    } finally {
+      subscriber.sending.set(false);
+    }
+    // logs queued after the last poll but before the flag was reset would otherwise wait for the next dispatch
+    if (subscribers.contains(subscriber)) {
+      scheduleSend(subscriber);
     }
   }
 
@@ -60,7 +223,61 @@ public class LogsStreamingService {
     }
   }
 
-  private void unsubscribe(List<SseEmitter> ids) {
-    emitters.removeAll(ids);
+  private final class Subscriber {
+    private final SseEmitter emitter;
+    private final LogsFilter filter;
+    private final BoundedRingBuffer<LogMessage> buffer;
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    Subscriber(SseEmitter emitter, LogsFilter filter, BoundedRingBuffer<LogMessage> buffer) {
+      this.emitter = emitter;
+      this.filter = filter;
+      this.buffer = buffer;
+    }
+
+    void offer(LogMessage message) {
+      // the most recent logs are the most useful to someone watching them live
+      while (!buffer.offer(message)) {
+        if (buffer.poll() != null) {
+          subscriberDroppedCounter.increment();
+        }
+      }
+    }
+  }
+
+  private static final class LogEntry {
+    private final long timestamp;
+    private final Level level;
+    private final String logger;
+    // logback's MDC snapshot, not modified once the log is written
+    private final Map<String, String> mdc;
+    private final String data;
+
+    LogEntry(long timestamp, Level level, String logger, Map<String, String> mdc, String data) {
+      this.timestamp = timestamp;
+      this.level = level;
+      this.logger = logger;
+      this.mdc = mdc;
+      this.data = data;
+    }
+
+    LogMessage toMessage() {
+      return new LogMessage(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(timestamp)),
+          "[" + level + "] " + logger + " - " + data);
+    }
+  }
+
+  private static final class LogMessage {
+    private final String id;
+    private final String text;
+
+    LogMessage(String id, String text) {
+      this.id = id;
+      this.text = text;
+    }
+
+    SseEmitter.SseEventBuilder toEvent() {
+      return SseEmitter.event().id(id).data(text).name("message");
+    }
   }
 }
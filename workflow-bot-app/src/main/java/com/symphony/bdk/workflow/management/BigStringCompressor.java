@@ -1,54 +1,73 @@
 package com.symphony.bdk.workflow.management;
 
+import com.symphony.bdk.workflow.management.compression.CompressionCodec;
+import com.symphony.bdk.workflow.management.compression.DictionaryDeflateCodec;
+import com.symphony.bdk.workflow.management.compression.GzipCodec;
+
+import org.springframework.beans.factory.annotation.Value;
+
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.List;
 
+/**
+ * Stores strings compressed, prefixed by a header naming the codec so that the codec can change without migrating
+ * existing rows. Rows written before the header was introduced are plain gzip and are still readable.
+ */
 @Converter
 public class BigStringCompressor implements AttributeConverter<String, byte[]> {
+  private static final byte MAGIC = (byte) 0xB5;
+  private static final int HEADER_LENGTH = 2;
+  private static final List<CompressionCodec> CODECS = List.of(new GzipCodec(), new DictionaryDeflateCodec());
+
+  private CompressionCodec codec = codec(DictionaryDeflateCodec.NAME);
+
+  @Value("${wdk.properties.swadl.compression:" + DictionaryDeflateCodec.NAME + "}")
+  public void setCodec(String name) {
+    this.codec = codec(name);
+  }
+
+  private static CompressionCodec codec(String name) {
+    return CODECS.stream()
+        .filter(c -> c.name().equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown compression codec " + name));
+  }
+
   @Override
   public byte[] convertToDatabaseColumn(String attribute) {
-    try {
-      return compress(attribute);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    if (attribute == null) {
+      return null;
     }
-  }
-
-  private static byte[] compress(String attribute) throws IOException {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
-    gzipOutputStream.write(attribute.getBytes(StandardCharsets.UTF_8));
-    gzipOutputStream.close();
-    return outputStream.toByteArray();
+    byte[] compressed = codec.compress(attribute.getBytes(StandardCharsets.UTF_8), HEADER_LENGTH);
+    compressed[0] = MAGIC;
+    compressed[1] = codec.id();
+    return compressed;
   }
 
   @Override
   public String convertToEntityAttribute(byte[] dbData) {
-    try {
-      return decompress(dbData);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    if (dbData == null) {
+      return null;
+    }
+    byte[] decompressed;
+    if (dbData.length >= HEADER_LENGTH && dbData[0] == MAGIC) {
+      decompressed = CODECS.stream()
+          .filter(c -> c.id() == dbData[1])
+          .findFirst()
+          .orElseThrow(() -> new IllegalStateException("Unknown compression codec id " + dbData[1]))
+          .decompress(dbData, HEADER_LENGTH);
+    } else if (isLegacyGzip(dbData)) {
+      decompressed = CODECS.get(0).decompress(dbData, 0);
+    } else {
+      throw new IllegalStateException("Unknown compression format");
     }
+    return new String(decompressed, StandardCharsets.UTF_8);
   }
 
-  private static String decompress(byte[] dbData) throws IOException {
-    ByteArrayInputStream inputStream = new ByteArrayInputStream(dbData);
-    GZIPInputStream gzipInputStream = new GZIPInputStream(inputStream);
-    byte[] buffer = new byte[100];
-    int length;
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    while ((length = gzipInputStream.read(buffer)) > 0) {
-      outputStream.write(buffer, 0, length);
-    }
-    gzipInputStream.close();
-    outputStream.close();
-    return outputStream.toString(StandardCharsets.UTF_8);
+  private static boolean isLegacyGzip(byte[] data) {
+    return data.length >= 2 && (data[0] & 0xff) == 0x1f && (data[1] & 0xff) == 0x8b;
   }
 }
@@ -6,10 +6,12 @@ import com.symphony.bdk.workflow.configuration.ConditionalOnPropertyNotEmpty;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowTranslationCache;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.management.converter.VersionedWorkflowBiConverter;
 import com.symphony.bdk.workflow.management.repository.VersionedWorkflowRepository;
 import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import lombok.RequiredArgsConstructor;
@@ -32,10 +34,12 @@ public class WorkflowManagementService {
   private final WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
   private final VersionedWorkflowRepository versionRepository;
   private final ObjectConverter objectConverter;
+  private final WorkflowTranslationCache translationCache;
 
   public void deploy(SwadlView swadlView) {
     Workflow workflow = objectConverter.convert(swadlView.getSwadl(), Workflow.class);
     throwExceptionIfUnPublishedVersionExists(workflow);
+    // not cached, the version is generated while parsing so the same translation is never requested again
     CamundaTranslatedWorkflowContext context = workflowEngine.translate(workflow);
     String deploy = null;
     if (workflow.isToPublish()) {
@@ -47,7 +51,8 @@ public class WorkflowManagementService {
   }
 
   private void throwExceptionIfUnPublishedVersionExists(Workflow workflow) {
-    Optional<VersionedWorkflow> notPublished = versionRepository.findByWorkflowIdAndPublishedFalse(workflow.getId());
+    Optional<VersionedWorkflowSummary> notPublished =
+        versionRepository.findByWorkflowIdAndPublishedFalse(workflow.getId());
     notPublished.ifPresent(wf -> {
       throw new IllegalArgumentException(
           String.format("Version %s of workflow has not been published yet.", wf.getVersion()));
@@ -117,10 +122,10 @@ public class WorkflowManagementService {
 
   public void delete(String id, Long version) {
     Optional.ofNullable(version).ifPresentOrElse(ver -> {
-      Optional<VersionedWorkflow> workflow = versionRepository.findByWorkflowIdAndVersion(id, ver);
+      Optional<VersionedWorkflowSummary> workflow = versionRepository.findSummaryByWorkflowIdAndVersion(id, ver);
       workflow.ifPresent(w -> {
         versionRepository.deleteByWorkflowIdAndVersion(id, ver);
-        if (w.getActive()) {
+        if (Boolean.TRUE.equals(w.getActive())) {
           workflowEngine.undeployByDeploymentId(w.getDeploymentId());
         }
       });
@@ -132,8 +137,10 @@ public class WorkflowManagementService {
 
   public void setActiveVersion(String workflowId, Long version) {
     VersionedWorkflow deployedWorkflow = validateWorkflowVersion(workflowId, version);
-    Workflow workflowToDeploy = objectConverter.convert(deployedWorkflow.getSwadl(), version, Workflow.class);
-    String deploymentId = workflowEngine.deploy(workflowToDeploy);
+    String swadl = deployedWorkflow.getSwadl();
+    CamundaTranslatedWorkflowContext context =
+        translationCache.translate(swadl, version, () -> objectConverter.convert(swadl, version, Workflow.class));
+    String deploymentId = workflowEngine.deploy(context);
     setCurrentActiveVersionToInactive(workflowId);
     deployedWorkflow.setDeploymentId(deploymentId);
     deployedWorkflow.setActive(true);
@@ -0,0 +1,23 @@
+package com.symphony.bdk.workflow.management.compression;
+
+/**
+ * Compression algorithm used to store large strings, identified in stored data by its id.
+ * Ids must never be reused once data has been written with a codec.
+ */
+public interface CompressionCodec {
+  byte id();
+
+  String name();
+
+  /**
+   * @param data         bytes to compress
+   * @param headerLength number of leading bytes to leave free in the returned array for the caller
+   */
+  byte[] compress(byte[] data, int headerLength);
+
+  /**
+   * @param data   compressed bytes
+   * @param offset position of the first compressed byte in data
+   */
+  byte[] decompress(byte[] data, int offset);
+}
@@ -0,0 +1,48 @@
+package com.symphony.bdk.workflow.management.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip format, as written by previous versions without any header.
+ */
+public class GzipCodec implements CompressionCodec {
+  public static final String NAME = "gzip";
+  private static final int BUFFER_SIZE = 8192;
+
+  @Override
+  public byte id() {
+    return 1;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte[] compress(byte[] data, int headerLength) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(headerLength + data.length / 4 + 64);
+    outputStream.write(new byte[headerLength], 0, headerLength);
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE)) {
+      gzipOutputStream.write(data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+
+  @Override
+  public byte[] decompress(byte[] data, int offset) {
+    try (GZIPInputStream gzipInputStream =
+        new GZIPInputStream(new ByteArrayInputStream(data, offset, data.length - offset), BUFFER_SIZE)) {
+      return gzipInputStream.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
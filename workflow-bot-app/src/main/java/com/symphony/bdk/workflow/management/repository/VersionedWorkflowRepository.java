@@ -2,6 +2,7 @@ package com.symphony.bdk.workflow.management.repository;
 
 import com.symphony.bdk.workflow.configuration.ConditionalOnPropertyNotEmpty;
 import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -14,15 +15,19 @@ import java.util.Optional;
 public interface VersionedWorkflowRepository extends JpaRepository<VersionedWorkflow, String> {
   List<VersionedWorkflow> findByWorkflowId(String workflowId);
 
+  List<VersionedWorkflowSummary> findSummariesByWorkflowId(String workflowId);
+
   Optional<VersionedWorkflow> findTopByWorkflowIdOrderByVersionDesc(String workflowId);
 
   Optional<VersionedWorkflow> findByWorkflowIdAndVersion(String workflowId, Long version);
 
+  Optional<VersionedWorkflowSummary> findSummaryByWorkflowIdAndVersion(String workflowId, Long version);
+
   Optional<VersionedWorkflow> findByWorkflowIdAndActiveTrue(String workflowId);
 
-  Optional<VersionedWorkflow> findByWorkflowIdAndPublishedFalse(String workflowId);
+  Optional<VersionedWorkflowSummary> findByWorkflowIdAndPublishedFalse(String workflowId);
 
-  List<VersionedWorkflow> findByActiveTrue();
+  List<VersionedWorkflowSummary> findByActiveTrue();
 
   void deleteByWorkflowId(String workflowId);
 
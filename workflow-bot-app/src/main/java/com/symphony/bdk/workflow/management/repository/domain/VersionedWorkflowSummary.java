@@ -0,0 +1,23 @@
+package com.symphony.bdk.workflow.management.repository.domain;
+
+/**
+ * Projection of {@link VersionedWorkflow} without the SWADL content, which is compressed and can be large, to be used
+ * when listing workflows or reading their metadata only.
+ */
+public interface VersionedWorkflowSummary {
+  String getId();
+
+  String getWorkflowId();
+
+  Long getVersion();
+
+  Boolean getPublished();
+
+  Boolean getActive();
+
+  String getDeploymentId();
+
+  Long getCreatedBy();
+
+  String getDescription();
+}
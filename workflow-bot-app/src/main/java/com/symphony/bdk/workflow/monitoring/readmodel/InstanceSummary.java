@@ -0,0 +1,51 @@
+package com.symphony.bdk.workflow.monitoring.readmodel;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * One row per workflow instance, projected from Camunda's history events so that instance listings are read from
+ * an index of this table whatever the size of the history is.
+ */
+@Entity
+@Table(name = "INSTANCE_SUMMARY",
+    indexes = {@Index(name = "WORKFLOW_START_IDX", columnList = "WORKFLOW_ID, START_DATE, INSTANCE_ID"),
+        @Index(name = "WORKFLOW_STATUS_START_IDX", columnList = "WORKFLOW_ID, STATUS, START_DATE, INSTANCE_ID"),
+        @Index(name = "DEFINITION_IDX", columnList = "DEFINITION_ID")})
+@Data
+@NoArgsConstructor
+public class InstanceSummary {
+  @Id
+  @Column(name = "INSTANCE_ID", length = 64)
+  private String instanceId;
+
+  @Column(name = "WORKFLOW_ID", nullable = false, length = 100)
+  private String workflowId;
+
+  @Column(name = "DEFINITION_ID", nullable = false, length = 64)
+  private String definitionId;
+
+  @Column(name = "VERSION")
+  private Long version;
+
+  @Column(name = "STATUS", length = 20)
+  private String status;
+
+  @Column(name = "START_DATE", nullable = false)
+  private Instant startDate;
+
+  @Column(name = "END_DATE")
+  private Instant endDate;
+
+  // in milliseconds
+  @Column(name = "DURATION")
+  private Long duration;
+}
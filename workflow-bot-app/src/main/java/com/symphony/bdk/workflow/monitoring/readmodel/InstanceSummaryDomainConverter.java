@@ -0,0 +1,26 @@
+package com.symphony.bdk.workflow.monitoring.readmodel;
+
+import com.symphony.bdk.workflow.converter.Converter;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class InstanceSummaryDomainConverter implements Converter<InstanceSummary, WorkflowInstanceDomain> {
+
+  @Override
+  public WorkflowInstanceDomain apply(InstanceSummary summary) {
+    return WorkflowInstanceDomain.builder()
+        .id(summary.getInstanceId())
+        .name(summary.getWorkflowId())
+        .version(summary.getVersion())
+        .instanceId(summary.getInstanceId())
+        .status(summary.getStatus())
+        .startDate(summary.getStartDate())
+        .endDate(summary.getEndDate())
+        .duration(summary.getDuration() == null ? null : Duration.ofMillis(summary.getDuration()))
+        .build();
+  }
+}
@@ -0,0 +1,125 @@
+package com.symphony.bdk.workflow.monitoring.readmodel;
+
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
+import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.repository.WorkflowInstCmdaApiQueryRepository;
+import com.symphony.bdk.workflow.engine.handler.readmodel.InstanceSummaryProjection;
+import com.symphony.bdk.workflow.monitoring.repository.WorkflowInstQueryRepository;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves instance listings from the {@link InstanceSummary} read model instead of Camunda's history tables.
+ *
+ * <p>Listings are read from Camunda's history until the read model is {@link InstanceSummaryProjection#isReady()
+ * ready}, for instance while it is rebuilt.</p>
+ */
+@Primary
+@Component
+@ConditionalOnProperty(value = "wdk.properties.monitoring.read-model.enabled", havingValue = "true")
+public class InstanceSummaryQueryRepository implements WorkflowInstQueryRepository {
+  private final InstanceSummaryRepository repository;
+  private final ObjectConverter objectConverter;
+  private final InstanceSummaryProjection projection;
+  private final WorkflowInstCmdaApiQueryRepository camundaRepository;
+
+  public InstanceSummaryQueryRepository(InstanceSummaryRepository repository, ObjectConverter objectConverter,
+      InstanceSummaryProjection projection, WorkflowInstCmdaApiQueryRepository camundaRepository) {
+    this.repository = repository;
+    this.objectConverter = objectConverter;
+    this.projection = projection;
+    this.camundaRepository = camundaRepository;
+  }
+
+  @Override
+  public List<WorkflowInstanceDomain> findAllById(String id) {
+    if (!projection.isReady()) {
+      return camundaRepository.findAllById(id);
+    }
+    return convert(repository.findByWorkflowIdOrderByStartDateAscInstanceIdAsc(id));
+  }
+
+  @Override
+  public List<WorkflowInstanceDomain> findAllByIdAndStatus(String id, StatusEnum status) {
+    if (!projection.isReady()) {
+      return camundaRepository.findAllByIdAndStatus(id, status);
+    }
+    return convert(repository.findByWorkflowIdAndStatusOrderByStartDateAscInstanceIdAsc(id, status.name()));
+  }
+
+  @Override
+  public List<WorkflowInstanceDomain> findAllByIdAndVersion(String id, String version) {
+    if (!projection.isReady()) {
+      return camundaRepository.findAllByIdAndVersion(id, version);
+    }
+    if (version == null) {
+      return findAllById(id);
+    }
+    return toVersion(version)
+        .map(v -> convert(repository.findByWorkflowIdAndVersionOrderByStartDateAscInstanceIdAsc(id, v)))
+        .orElse(Collections.emptyList());
+  }
+
+  @Override
+  public Optional<WorkflowInstanceDomain> findByIdAndInstanceId(String id, String instanceId) {
+    if (!projection.isReady()) {
+      return camundaRepository.findByIdAndInstanceId(id, instanceId);
+    }
+    return repository.findByWorkflowIdAndInstanceId(id, instanceId)
+        .map(summary -> objectConverter.convert(summary, WorkflowInstanceDomain.class));
+  }
+
+  @Override
+  public List<WorkflowInstanceDomain> findAllByIdAndStatusAndVersion(String id, StatusEnum status, String version) {
+    if (!projection.isReady()) {
+      return camundaRepository.findAllByIdAndStatusAndVersion(id, status, version);
+    }
+    if (version == null) {
+      return findAllByIdAndStatus(id, status);
+    }
+    return toVersion(version)
+        .map(v -> convert(
+            repository.findByWorkflowIdAndStatusAndVersionOrderByStartDateAscInstanceIdAsc(id, status.name(), v)))
+        .orElse(Collections.emptyList());
+  }
+
+  @Override
+  public List<WorkflowInstanceDomain> findPage(String id, StatusEnum status, String version,
+      WorkflowInstanceKey after, int limit) {
+    if (!projection.isReady()) {
+      return camundaRepository.findPage(id, status, version, after, limit);
+    }
+    Optional<Long> versionNumber = toVersion(version);
+    if (version != null && versionNumber.isEmpty()) {
+      return Collections.emptyList();
+    }
+    // the first page starts after the epoch, start dates are always later
+    Instant startDate = after == null ? Instant.EPOCH : after.getStartDate();
+    String instanceId = after == null ? "" : after.getInstanceId();
+    return convert(repository.findPage(id, status == null ? null : status.name(), versionNumber.orElse(null),
+        startDate, instanceId, PageRequest.of(0, limit)));
+  }
+
+  private List<WorkflowInstanceDomain> convert(List<InstanceSummary> summaries) {
+    return objectConverter.convertCollection(summaries, WorkflowInstanceDomain.class);
+  }
+
+  static Optional<Long> toVersion(String version) {
+    try {
+      return Optional.ofNullable(version).map(Long::valueOf);
+    } catch (NumberFormatException e) {
+      // version tags are always numbers, an unknown one matches no instance
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.symphony.bdk.workflow.monitoring.readmodel;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InstanceSummaryRepository extends JpaRepository<InstanceSummary, String> {
+  List<InstanceSummary> findByWorkflowIdOrderByStartDateAscInstanceIdAsc(String workflowId);
+
+  List<InstanceSummary> findByWorkflowIdAndStatusOrderByStartDateAscInstanceIdAsc(String workflowId, String status);
+
+  List<InstanceSummary> findByWorkflowIdAndVersionOrderByStartDateAscInstanceIdAsc(String workflowId, Long version);
+
+  List<InstanceSummary> findByWorkflowIdAndStatusAndVersionOrderByStartDateAscInstanceIdAsc(String workflowId,
+      String status, Long version);
+
+  Optional<InstanceSummary> findByWorkflowIdAndInstanceId(String workflowId, String instanceId);
+
+  @Query("select s from InstanceSummary s where s.workflowId = :workflowId"
+      + " and (:status is null or s.status = :status)"
+      + " and (:version is null or s.version = :version)"
+      + " and (s.startDate > :startDate or (s.startDate = :startDate and s.instanceId > :instanceId))"
+      + " order by s.startDate asc, s.instanceId asc")
+  List<InstanceSummary> findPage(@Param("workflowId") String workflowId, @Param("status") String status,
+      @Param("version") Long version, @Param("startDate") Instant startDate, @Param("instanceId") String instanceId,
+      Pageable pageable);
+
+  @Transactional
+  @Modifying
+  @Query("delete from InstanceSummary s where s.instanceId in :instanceIds")
+  void deleteByInstanceIds(@Param("instanceIds") Collection<String> instanceIds);
+
+  @Transactional
+  @Modifying
+  @Query("delete from InstanceSummary s where s.definitionId in :definitionIds")
+  void deleteByDefinitionIds(@Param("definitionIds") Collection<String> definitionIds);
+}
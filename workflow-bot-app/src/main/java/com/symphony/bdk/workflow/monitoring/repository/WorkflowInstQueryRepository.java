@@ -2,8 +2,11 @@ package com.symphony.bdk.workflow.monitoring.repository;
 
 import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
 
 import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
 
 public interface WorkflowInstQueryRepository extends QueryRepository<WorkflowInstanceDomain, String> {
   List<WorkflowInstanceDomain> findAllById(String id);
@@ -12,5 +15,16 @@ public interface WorkflowInstQueryRepository extends QueryRepository<WorkflowIns
 
   List<WorkflowInstanceDomain> findAllByIdAndVersion(String id, String version);
 
+  /**
+   * Finds an instance by its id, only if it is an instance of the given workflow.
+   */
+  Optional<WorkflowInstanceDomain> findByIdAndInstanceId(String id, String instanceId);
+
   List<WorkflowInstanceDomain> findAllByIdAndStatusAndVersion(String id, StatusEnum status, String version);
+
+  /**
+   * Lists instances ordered by start date and instance id, reading at most limit instances after the given key.
+   */
+  List<WorkflowInstanceDomain> findPage(String id, @Nullable StatusEnum status, @Nullable String version,
+      @Nullable WorkflowInstanceKey after, int limit);
 }
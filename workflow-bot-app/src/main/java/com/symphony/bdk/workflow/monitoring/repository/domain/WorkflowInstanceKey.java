@@ -0,0 +1,34 @@
+package com.symphony.bdk.workflow.monitoring.repository.domain;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of an instance when listing them by start date and instance id, exposed as an opaque cursor.
+ */
+@Value
+public class WorkflowInstanceKey {
+  private static final char SEPARATOR = ':';
+
+  Instant startDate;
+  String instanceId;
+
+  public String toCursor() {
+    String key = startDate.toEpochMilli() + String.valueOf(SEPARATOR) + instanceId;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static WorkflowInstanceKey fromCursor(String cursor) {
+    try {
+      String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = key.indexOf(SEPARATOR);
+      return new WorkflowInstanceKey(Instant.ofEpochMilli(Long.parseLong(key.substring(0, separator))),
+          key.substring(separator + 1));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException(String.format("Invalid cursor %s", cursor), e);
+    }
+  }
+}
@@ -5,9 +5,11 @@ import com.symphony.bdk.workflow.api.v1.dto.NodeView;
 import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.api.v1.dto.VariableView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstLifeCycleFilter;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstPageView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
@@ -18,7 +20,7 @@ import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.management.repository.VersionedWorkflowRepository;
-import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 import com.symphony.bdk.workflow.monitoring.repository.ActivityQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.VariableQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.WorkflowInstQueryRepository;
@@ -26,15 +28,23 @@ import com.symphony.bdk.workflow.monitoring.repository.WorkflowQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.domain.ActivityInstanceDomain;
 import com.symphony.bdk.workflow.monitoring.repository.domain.VariablesDomain;
 import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
+import com.symphony.bdk.workflow.monitoring.stats.WorkflowStatistics;
+import com.symphony.bdk.workflow.monitoring.stream.InstanceStateStream;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -49,14 +59,30 @@ public class MonitoringService {
   private final ActivityQueryRepository activityQueryRepository;
   private final VariableQueryRepository variableQueryRepository;
   private final ObjectConverter objectConverter;
+  private final WorkflowStatistics workflowStatistics;
+  private final InstanceStateStream instanceStateStream;
 
   private final Optional<VersionedWorkflowRepository> optionalVersionedRepository;
 
+  // keyed by graph identity: deploying a workflow caches a new graph and removing it evicts the graph, either way
+  // the view of the previous graph is no longer looked up and is collected with it
+  private final Cache<WorkflowDirectedGraph, WorkflowDefinitionView> definitionViews = Caffeine.newBuilder()
+      .weakKeys()
+      .build();
+
+  private int maxPageSize = 1000;
+
+  @Value("${wdk.properties.monitoring.instances.max-page-size:1000}")
+  public void setMaxPageSize(int maxPageSize) {
+    this.maxPageSize = maxPageSize;
+  }
+
   public List<WorkflowView> listAllWorkflows() {
     if (optionalVersionedRepository.isPresent()) {
       VersionedWorkflowRepository repository = optionalVersionedRepository.get();
-      List<VersionedWorkflow> activeWorkflows = repository.findByActiveTrue();
-      return objectConverter.convertCollection(activeWorkflows, WorkflowView.class);
+      List<VersionedWorkflowSummary> activeWorkflows = repository.findByActiveTrue();
+      // projections are proxies, their converter is registered under the projection interface
+      return objectConverter.convertCollection(activeWorkflows, VersionedWorkflowSummary.class, WorkflowView.class);
     }
     return objectConverter.convertCollection(workflowQueryRepository.findAll(), WorkflowView.class);
   }
@@ -81,6 +107,42 @@ public class MonitoringService {
     return objectConverter.convertCollection(allById, WorkflowInstView.class);
   }
 
+  /**
+   * Lists a page of instances ordered by start date, the next page is read by passing back the returned cursor.
+   *
+   * @param limit page size, capped by the maximum page size
+   */
+  public WorkflowInstPageView listWorkflowInstances(String workflowId, String status, Long version,
+      @Nullable String cursor, @Nullable Integer limit) {
+    if (limit != null && limit <= 0) {
+      throw new IllegalArgumentException(String.format("Limit must be positive, got %d", limit));
+    }
+    int pageSize = limit == null ? maxPageSize : Math.min(limit, maxPageSize);
+    List<WorkflowInstanceDomain> page = workflowInstQueryRepository.findPage(workflowId,
+        StatusEnum.toInstanceStatusEnum(status), Optional.ofNullable(version).map(String::valueOf).orElse(null),
+        Optional.ofNullable(cursor).map(WorkflowInstanceKey::fromCursor).orElse(null), pageSize);
+
+    String nextCursor = null;
+    if (page.size() == pageSize) {
+      WorkflowInstanceDomain last = page.get(page.size() - 1);
+      nextCursor = new WorkflowInstanceKey(last.getStartDate(), last.getInstanceId()).toCursor();
+    }
+    return new WorkflowInstPageView(objectConverter.convertCollection(page, WorkflowInstView.class), nextCursor);
+  }
+
+  /**
+   * Reads all the instances page by page, so that only one page is held in memory at a time.
+   */
+  public void streamWorkflowInstances(String workflowId, String status, Long version,
+      Consumer<List<WorkflowInstView>> pageConsumer) {
+    String cursor = null;
+    do {
+      WorkflowInstPageView page = listWorkflowInstances(workflowId, status, version, cursor, maxPageSize);
+      pageConsumer.accept(page.getInstances());
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+  }
+
   public WorkflowNodesStateView listWorkflowInstanceNodes(String workflowId, String instanceId,
       WorkflowInstLifeCycleFilter lifeCycleFilter) {
     // check if the instance belongs to the provided workflow
@@ -99,6 +161,26 @@ public class MonitoringService {
     return buildWorkflowNodesStateView(nodes, globalVariables, error);
   }
 
+  /**
+   * Streams the changes of the instance state, the current state is read from
+   * {@link #listWorkflowInstanceNodes(String, String, WorkflowInstLifeCycleFilter)}.
+   *
+   * @param fromRevision revision of the last event received to resume the stream, only new changes are sent if null
+   */
+  public SseEmitter streamWorkflowInstanceNodes(String workflowId, String instanceId, @Nullable Long fromRevision) {
+    WorkflowInstView instance = this.checkIsInstanceOfWorkflow(workflowId, instanceId);
+    boolean ended = instance.getEndDate() != null;
+    SseEmitter emitter = instanceStateStream.subscribe(instanceId, fromRevision, ended);
+    if (!ended) {
+      // an instance ending before the subscription watched it had its end event dropped, the client would wait forever
+      WorkflowInstView current = this.checkIsInstanceOfWorkflow(workflowId, instanceId);
+      if (current.getEndDate() != null) {
+        instanceStateStream.ended(instanceId, current);
+      }
+    }
+    return emitter;
+  }
+
   private static WorkflowNodesStateView buildWorkflowNodesStateView(List<NodeStateView> nodes,
       VariablesDomain globalVariables, VariablesDomain error) {
     WorkflowNodesStateView result = new WorkflowNodesStateView();
@@ -128,9 +210,23 @@ public class MonitoringService {
     return this.getWorkflowDefinition(workflowId, null);
   }
 
+  /**
+   * Views are rendered once per directed graph, the returned view is shared and must not be modified.
+   */
   public WorkflowNodesView getWorkflowDefinition(String workflowId, Long version) {
+    return getWorkflowDefinitionView(workflowId, version).getNodes();
+  }
+
+  /**
+   * Views and their ETag are computed once per directed graph, the returned view is shared and must not be modified.
+   */
+  public WorkflowDefinitionView getWorkflowDefinitionView(String workflowId, Long version) {
     WorkflowDirectedGraph directedGraph = getWorkflowDirectedGraph(workflowId, version);
+    return definitionViews.get(directedGraph,
+        graph -> WorkflowDefinitionView.of(buildWorkflowDefinition(workflowId, graph)));
+  }
 
+  private static WorkflowNodesView buildWorkflowDefinition(String workflowId, WorkflowDirectedGraph directedGraph) {
     Map<String, WorkflowNode> dictionary = directedGraph.getDictionary();
     List<NodeView> activities = dictionary.keySet().stream().map(node -> {
       WorkflowNode workflowNode = dictionary.get(node);
@@ -195,18 +291,15 @@ public class MonitoringService {
         .collect(Collectors.toList());
   }
 
-  private WorkflowInstView checkIsInstanceOfWorkflow(String workflowId, String instanceId) {
-    Optional<WorkflowInstView> instance = this.listWorkflowInstances(workflowId, null, null)
-        .stream()
-        .filter(workflowInstView -> workflowInstView.getInstanceId().equals(instanceId) && workflowInstView.getId()
-            .equals(workflowId))
-        .findAny();
+  public WorkflowStatsView getWorkflowStats(String workflowId) {
+    return workflowStatistics.getStats(workflowId);
+  }
 
-    if (instance.isEmpty()) {
-      throw new NotFoundException(
-          String.format("Either no workflow deployed with id %s, or %s is not an instance of it", workflowId,
-              instanceId));
-    }
-    return instance.get();
+  private WorkflowInstView checkIsInstanceOfWorkflow(String workflowId, String instanceId) {
+    return workflowInstQueryRepository.findByIdAndInstanceId(workflowId, instanceId)
+        .map(instance -> objectConverter.convert(instance, WorkflowInstView.class))
+        .orElseThrow(() -> new NotFoundException(
+            String.format("Either no workflow deployed with id %s, or %s is not an instance of it", workflowId,
+                instanceId)));
   }
 }
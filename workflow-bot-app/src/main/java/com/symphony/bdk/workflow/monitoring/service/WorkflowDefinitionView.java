@@ -0,0 +1,40 @@
+package com.symphony.bdk.workflow.monitoring.service;
+
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Value;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Nodes view of a workflow definition along with its ETag, both computed once when the view is cached.
+ */
+@Value
+public class WorkflowDefinitionView {
+  // sorted map keys give a canonical form to hash the view with
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  WorkflowNodesView nodes;
+  String etag;
+
+  /**
+   * @param nodes the view, it must not be modified afterward
+   * @return the view with the SHA-256 of its JSON form as ETag
+   */
+  public static WorkflowDefinitionView of(WorkflowNodesView nodes) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(MAPPER.writeValueAsBytes(nodes));
+      return new WorkflowDefinitionView(nodes, HexFormat.of().formatHex(digest));
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Workflow definition view cannot be serialized", e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
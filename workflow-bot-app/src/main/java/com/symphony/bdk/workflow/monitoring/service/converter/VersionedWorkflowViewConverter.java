@@ -2,15 +2,15 @@ package com.symphony.bdk.workflow.monitoring.service.converter;
 
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.converter.Converter;
-import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 
 import org.springframework.stereotype.Component;
 
 @Component
-public class VersionedWorkflowViewConverter implements Converter<VersionedWorkflow, WorkflowView> {
+public class VersionedWorkflowViewConverter implements Converter<VersionedWorkflowSummary, WorkflowView> {
 
   @Override
-  public WorkflowView apply(VersionedWorkflow workflow) {
+  public WorkflowView apply(VersionedWorkflowSummary workflow) {
     return WorkflowView.builder()
         .id(workflow.getWorkflowId())
         .version(workflow.getVersion())
@@ -0,0 +1,221 @@
+package com.symphony.bdk.workflow.monitoring.stats;
+
+import com.symphony.bdk.workflow.api.v1.dto.DurationStatsView;
+import com.symphony.bdk.workflow.api.v1.dto.WindowStatsView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Per workflow statistics over sliding windows, recorded as history events happen so that reading them never queries
+ * the history.
+ *
+ * <p>Each window is a ring of slices and slides by one slice. Durations are recorded in HDR histograms, merged across
+ * the slices of a window to compute percentiles with 2 significant digits. Statistics are kept in memory: they start
+ * empty on startup and are per bot instance when several are running.</p>
+ */
+@Component
+public class WorkflowStatistics {
+  private static final int SIGNIFICANT_DIGITS = 2;
+
+  private final List<Duration> windows;
+  private final int slices;
+  private final Clock clock;
+  private final Cache<String, WorkflowWindows> workflows;
+
+  @Autowired
+  public WorkflowStatistics(@Value("${wdk.properties.monitoring.stats.windows:PT5M,PT1H,P1D}") List<Duration> windows,
+      @Value("${wdk.properties.monitoring.stats.slices:12}") int slices) {
+    this(windows, slices, Clock.systemUTC());
+  }
+
+  WorkflowStatistics(List<Duration> windows, int slices, Clock clock) {
+    if (windows.isEmpty() || slices < 1) {
+      throw new IllegalArgumentException("At least one window split in at least one slice is required");
+    }
+    this.windows = windows;
+    this.slices = slices;
+    this.clock = clock;
+    // a workflow without any event during the longest window has nothing left to report
+    this.workflows = Caffeine.newBuilder()
+        .expireAfterAccess(Collections.max(windows, Comparator.naturalOrder()))
+        .build();
+  }
+
+  public void instanceStarted(String workflowId) {
+    record(workflowId, slice -> slice.started++);
+  }
+
+  public void instanceEnded(String workflowId, boolean failed, long durationMillis) {
+    record(workflowId, slice -> {
+      if (failed) {
+        slice.failed++;
+      } else {
+        slice.completed++;
+      }
+      slice.durations().recordValue(Math.max(0, durationMillis));
+    });
+  }
+
+  public void activityEnded(String workflowId, String activityId, long durationMillis) {
+    record(workflowId, slice -> slice.activity(activityId).recordValue(Math.max(0, durationMillis)));
+  }
+
+  public WorkflowStatsView getStats(String workflowId) {
+    WorkflowWindows workflow = workflows.getIfPresent(workflowId);
+    List<WindowStatsView> views = new ArrayList<>();
+    for (int i = 0; i < windows.size(); i++) {
+      views.add(workflow == null ? emptyView(windows.get(i)) : workflow.view(i, clock.millis()));
+    }
+    return WorkflowStatsView.builder().workflowId(workflowId).windows(views).build();
+  }
+
+  private void record(String workflowId, Consumer<Slice> recorder) {
+    workflows.get(workflowId, id -> new WorkflowWindows()).record(recorder, clock.millis());
+  }
+
+  private static WindowStatsView emptyView(Duration window) {
+    return WindowStatsView.builder()
+        .window(window)
+        .duration(durationStats(new Histogram(SIGNIFICANT_DIGITS)))
+        .activities(Collections.emptyMap())
+        .build();
+  }
+
+  private static DurationStatsView durationStats(Histogram histogram) {
+    if (histogram.getTotalCount() == 0) {
+      return DurationStatsView.builder().count(0).build();
+    }
+    return DurationStatsView.builder()
+        .count(histogram.getTotalCount())
+        .p50(Duration.ofMillis(histogram.getValueAtPercentile(50)))
+        .p95(Duration.ofMillis(histogram.getValueAtPercentile(95)))
+        .p99(Duration.ofMillis(histogram.getValueAtPercentile(99)))
+        .build();
+  }
+
+  private final class WorkflowWindows {
+    private final Ring[] rings;
+
+    WorkflowWindows() {
+      rings = windows.stream().map(window -> new Ring(window, slices)).toArray(Ring[]::new);
+    }
+
+    synchronized void record(Consumer<Slice> recorder, long now) {
+      for (Ring ring : rings) {
+        recorder.accept(ring.current(now));
+      }
+    }
+
+    synchronized WindowStatsView view(int window, long now) {
+      return rings[window].view(now);
+    }
+  }
+
+  private static final class Ring {
+    private final Duration window;
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    Ring(Duration window, int sliceCount) {
+      this.window = window;
+      this.sliceMillis = Math.max(1, window.toMillis() / sliceCount);
+      this.slices = new Slice[sliceCount];
+      for (int i = 0; i < sliceCount; i++) {
+        slices[i] = new Slice();
+      }
+    }
+
+    Slice current(long now) {
+      long index = now / sliceMillis;
+      Slice slice = slices[(int) (index % slices.length)];
+      if (slice.index != index) {
+        slice.reset(index);
+      }
+      return slice;
+    }
+
+    WindowStatsView view(long now) {
+      long index = now / sliceMillis;
+      long started = 0;
+      long completed = 0;
+      long failed = 0;
+      Histogram durations = new Histogram(SIGNIFICANT_DIGITS);
+      Map<String, Histogram> activities = new TreeMap<>();
+      for (Slice slice : slices) {
+        // slices not written since the window slid past them are stale
+        if (slice.index <= index - slices.length || slice.index > index) {
+          continue;
+        }
+        started += slice.started;
+        completed += slice.completed;
+        failed += slice.failed;
+        if (slice.durations != null) {
+          durations.add(slice.durations);
+        }
+        slice.activities.forEach((activityId, histogram) ->
+            activities.computeIfAbsent(activityId, id -> new Histogram(SIGNIFICANT_DIGITS)).add(histogram));
+      }
+
+      Map<String, DurationStatsView> activityStats = new TreeMap<>();
+      activities.forEach((activityId, histogram) -> activityStats.put(activityId, durationStats(histogram)));
+      return WindowStatsView.builder()
+          .window(window)
+          .started(started)
+          .completed(completed)
+          .failed(failed)
+          .instanceRate((double) started / Math.max(1, window.toSeconds()))
+          .duration(durationStats(durations))
+          .activities(activityStats)
+          .build();
+    }
+  }
+
+  private static final class Slice {
+    private long index = -1;
+    private long started;
+    private long completed;
+    private long failed;
+    private Histogram durations;
+    private final Map<String, Histogram> activities = new HashMap<>();
+
+    void reset(long index) {
+      this.index = index;
+      started = 0;
+      completed = 0;
+      failed = 0;
+      if (durations != null) {
+        durations.reset();
+      }
+      // activities that no longer run would otherwise keep their histogram
+      activities.clear();
+    }
+
+    Histogram durations() {
+      if (durations == null) {
+        durations = new Histogram(SIGNIFICANT_DIGITS);
+      }
+      return durations;
+    }
+
+    Histogram activity(String activityId) {
+      return activities.computeIfAbsent(activityId, id -> new Histogram(SIGNIFICANT_DIGITS));
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package com.symphony.bdk.workflow.monitoring.stream;
+
+import com.symphony.bdk.workflow.concurrent.BoundedRingBuffer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+/**
+ * Pushes the state changes of watched workflow instances to their SSE subscribers.
+ *
+ * <p>Each event gets a revision, increasing per instance, sent as the SSE event id. The latest events of an instance
+ * are kept in a replay buffer so that a subscriber reconnecting with the last revision it received resumes where it
+ * stopped. Publishing only buffers events: each subscriber has its own bounded buffer, drained by a sender task of its
+ * own so that a slow client neither holds the workflow execution nor delays the other subscribers. A subscriber whose
+ * buffer overflows is disconnected, it can then resume from its last revision.</p>
+ */
+@Slf4j
+@Component
+public class InstanceStateStream {
+  public static final String END_EVENT = "end";
+  public static final String RESET_EVENT = "reset";
+
+  private final int bufferSize;
+  private final int replaySize;
+  private final long timeoutMillis;
+  private final Executor senders;
+  private final Counter overflowCounter;
+
+  // instances stay watched after their last subscriber left, for it to resume
+  private final Cache<String, Channel> channels;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public InstanceStateStream(MeterRegistry registry,
+      @Value("${wdk.properties.monitoring.stream.buffer-size:256}") int bufferSize,
+      @Value("${wdk.properties.monitoring.stream.replay-size:256}") int replaySize,
+      @Value("${wdk.properties.monitoring.stream.timeout:PT30M}") Duration timeout) {
+    this(registry, bufferSize, replaySize, timeout, Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "instance-state-stream-sender");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  InstanceStateStream(MeterRegistry registry, int bufferSize, int replaySize, Duration timeout, Executor senders) {
+    this.bufferSize = bufferSize;
+    this.replaySize = Math.max(1, replaySize);
+    this.timeoutMillis = timeout.toMillis();
+    this.senders = senders;
+    this.channels = Caffeine.newBuilder()
+        .expireAfterAccess(timeout)
+        .<String, Channel>removalListener((instanceId, channel, cause) -> {
+          if (channel != null && cause == RemovalCause.EXPIRED) {
+            channel.close();
+          }
+        })
+        .build();
+
+    this.overflowCounter = registry.counter("workflow.monitoring.stream.overflow");
+    registry.gaugeCollectionSize("workflow.monitoring.stream.subscribers", Tags.empty(), this.subscribers);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (senders instanceof ExecutorService) {
+      ((ExecutorService) senders).shutdownNow();
+    }
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    subscribers.clear();
+  }
+
+  /**
+   * @param instanceId   instance to watch
+   * @param fromRevision revision of the last event received, only the new events are sent if null
+   * @param ended        whether the instance already ended, the stream is then only replayed
+   * @return emitter streaming the instance events until it ends
+   */
+  public SseEmitter subscribe(String instanceId, @Nullable Long fromRevision, boolean ended) {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    subscribe(emitter, instanceId, fromRevision, ended);
+    return emitter;
+  }
+
+  void subscribe(SseEmitter emitter, String instanceId, @Nullable Long fromRevision, boolean ended) {
+    Channel channel = ended ? channels.getIfPresent(instanceId) : channels.get(instanceId, id -> new Channel());
+    if (channel == null) {
+      // ended before anyone watched it, its state is fully available from the history
+      emitter.complete();
+      return;
+    }
+    Subscriber subscriber = new Subscriber(emitter, channel, new BoundedRingBuffer<>(bufferSize));
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> {
+      emitter.complete();
+      unsubscribe(subscriber);
+    });
+    emitter.onError(e -> unsubscribe(subscriber));
+    channel.subscribe(subscriber, fromRevision);
+    subscribers.add(subscriber);
+    log.debug("Subscribed to the state of instance {} from revision {}", instanceId, fromRevision);
+  }
+
+  /**
+   * Cheap check to skip building events nobody is waiting for.
+   */
+  public boolean isWatched(String instanceId) {
+    return instanceId != null && channels.getIfPresent(instanceId) != null;
+  }
+
+  /**
+   * Buffers the event for the subscribers of the instance, never blocks. The stream of an instance completes once
+   * its {@link #END_EVENT} is sent.
+   */
+  public void publish(String instanceId, String name, Object data) {
+    Channel channel = channels.getIfPresent(instanceId);
+    if (channel != null) {
+      channel.publish(name, data);
+    }
+  }
+
+  /**
+   * Publishes the {@link #END_EVENT} of an instance found ended after it started being watched, unless it was already
+   * published: the instance might have ended before its events were published.
+   */
+  public void ended(String instanceId, Object data) {
+    Channel channel = channels.getIfPresent(instanceId);
+    if (channel != null) {
+      channel.publish(END_EVENT, data);
+    }
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    subscriber.channel.unsubscribe(subscriber);
+    subscribers.remove(subscriber);
+  }
+
+  private void scheduleSend(Subscriber subscriber) {
+    if (subscriber.sending.compareAndSet(false, true)) {
+      senders.execute(() -> send(subscriber));
+    }
+  }
+
+  private void send(Subscriber subscriber) {
+    boolean open;
+    try {
+      open = sendPending(subscriber);
+    } finally {
+      subscriber.sending.set(false);
+    }
+    // events queued after the last poll but before the flag was reset would otherwise wait for the next publish
+    if (open && (!subscriber.buffer.isEmpty() || subscriber.overflowed)) {
+      scheduleSend(subscriber);
+    }
+  }
+
+  /**
+   * @return false once the subscriber is disconnected
+   */
+  private boolean sendPending(Subscriber subscriber) {
+    StreamEvent event;
+    while ((event = subscriber.buffer.poll()) != null) {
+      try {
+        subscriber.emitter.send(SseEmitter.event()
+            .id(String.valueOf(event.revision))
+            .name(event.name)
+            .data(event.data, MediaType.APPLICATION_JSON));
+      } catch (Exception e) {
+        log.trace("Failed to send instance state event - {}", e.getMessage());
+        subscriber.emitter.completeWithError(e);
+        unsubscribe(subscriber);
+        return false;
+      }
+      if (END_EVENT.equals(event.name)) {
+        subscriber.emitter.complete();
+        unsubscribe(subscriber);
+        return false;
+      }
+    }
+    if (subscriber.overflowed) {
+      // everything up to the overflow has been sent, the client resumes from there
+      subscriber.emitter.complete();
+      unsubscribe(subscriber);
+      return false;
+    }
+    return true;
+  }
+
+  private final class Channel {
+    private final Deque<StreamEvent> replay = new ArrayDeque<>();
+    private final List<Subscriber> channelSubscribers = new ArrayList<>();
+    private long revision;
+    private StreamEvent end;
+
+    synchronized void publish(String name, Object data) {
+      if (end != null && END_EVENT.equals(name)) {
+        // already ended, from the events or when subscribing
+        return;
+      }
+      StreamEvent event = new StreamEvent(++revision, name, data);
+      if (replay.size() >= replaySize) {
+        replay.removeFirst();
+      }
+      replay.addLast(event);
+      if (END_EVENT.equals(name)) {
+        end = event;
+      }
+      channelSubscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    synchronized void subscribe(Subscriber subscriber, @Nullable Long fromRevision) {
+      long from = fromRevision == null ? revision : fromRevision;
+      StreamEvent oldest = replay.peekFirst();
+      if (from > revision || (oldest != null && oldest.revision > from + 1)) {
+        // events were missed, or come from a previous stream, the client has to reload the whole state
+        subscriber.offer(new StreamEvent(revision, RESET_EVENT, revision));
+        from = revision;
+      }
+      for (StreamEvent event : replay) {
+        if (event.revision > from) {
+          subscriber.offer(event);
+        }
+      }
+      if (end != null && end.revision <= from) {
+        // the instance already ended, its end event is sent again for the subscriber to stop listening
+        subscriber.offer(end);
+      }
+      channelSubscribers.add(subscriber);
+    }
+
+    synchronized void unsubscribe(Subscriber subscriber) {
+      channelSubscribers.remove(subscriber);
+    }
+
+    synchronized void close() {
+      channelSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+  }
+
+  private final class Subscriber {
+    private final SseEmitter emitter;
+    private final Channel channel;
+    private final BoundedRingBuffer<StreamEvent> buffer;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean overflowed;
+
+    Subscriber(SseEmitter emitter, Channel channel, BoundedRingBuffer<StreamEvent> buffer) {
+      this.emitter = emitter;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    void offer(StreamEvent event) {
+      // later events must not be sent once one is dropped, the client would miss it silently
+      if (!overflowed && !buffer.offer(event)) {
+        overflowed = true;
+        overflowCounter.increment();
+      }
+      scheduleSend(this);
+    }
+  }
+
+  private static final class StreamEvent {
+    private final long revision;
+    private final String name;
+    private final Object data;
+
+    StreamEvent(long revision, String name, Object data) {
+      this.revision = revision;
+      this.name = name;
+      this.data = data;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.symphony.bdk.workflow.swadl;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.reflect.TypeUtils;
@@ -12,49 +13,170 @@ import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.reflections.util.FilterBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Collect known activities (including custom ones) from the classpath.
+ *
+ * <p>Activities and executors are read from the index generated at build time by the workflow-activity-index
+ * annotation processor. Classpath entries without an index, such as custom activities built without the processor,
+ * are scanned instead.</p>
  */
 @Slf4j
 @SuppressWarnings("unchecked")
 public final class ActivityRegistry {
+  static final String INDEX = "META-INF/wdk/activities.index";
 
-  private static final Set<Class<? extends BaseActivity>> activityTypes;
+  private static final Set<Class<? extends BaseActivity>> activityTypes = new HashSet<>();
   @Getter
   private static final Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>>
-      activityExecutors;
+      activityExecutors = new HashMap<>();
+  @Getter(AccessLevel.PACKAGE)
+  private static final List<URL> scannedUrls;
 
   static {
-    Reflections reflections = new Reflections(new ConfigurationBuilder()
-        .setScanners(Scanners.SubTypes)
-        // this is a bit ugly, but it works faster than scanning the entire classpath and for all contexts (JAR, tests)
-        .addUrls(ClasspathHelper.forClassLoader().stream()
-            // avoid bot dependencies / pick only lib/ folder
-            .filter(a -> a.toString().contains("lib/") && !a.toString().contains("BOOT-INF"))
-            .collect(Collectors.toList()))
-        .addUrls(ClasspathHelper.forPackage("com.symphony.bdk.workflow"))
-        .filterInputsBy(new FilterBuilder().includePattern(".*class")));
-    activityTypes = reflections.getSubTypesOf(BaseActivity.class);
-
-    activityExecutors = reflections.getSubTypesOf(ActivityExecutor.class).stream()
-        .map(Class.class::cast)
-        .collect(Collectors.toMap(ActivityRegistry::findMatchingActivity, Function.identity()));
+    long start = System.nanoTime();
+    Set<URL> urls = classpathUrls();
+    scannedUrls = Collections.unmodifiableList(load(urls, activityTypes, activityExecutors));
 
     log.info("Found these activities: {}", activityTypes.stream()
         .map(Class::getSimpleName)
         .sorted()
         .collect(Collectors.toList()));
+    log.info("Activities loaded in {} ms, {} classpath entries indexed, {} scanned",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), urls.size() - scannedUrls.size(), scannedUrls.size());
     // in TRACE level print the full class names and matching executors
     log.trace("Found these activities: {} and executors: {}", activityTypes, activityExecutors);
   }
 
+  static Set<URL> classpathUrls() {
+    Set<URL> urls = new LinkedHashSet<>();
+    // this is a bit ugly, but it works faster than scanning the entire classpath and for all contexts (JAR, tests)
+    ClasspathHelper.forClassLoader().stream()
+        // avoid bot dependencies / pick only lib/ folder
+        .filter(a -> a.toString().contains("lib/") && !a.toString().contains("BOOT-INF"))
+        .forEach(urls::add);
+    urls.addAll(ClasspathHelper.forPackage("com.symphony.bdk.workflow"));
+    return urls;
+  }
+
+  /**
+   * Reads the index of the given classpath entries, scanning the ones without an index.
+   *
+   * @return the scanned classpath entries
+   */
+  static List<URL> load(Set<URL> urls, Set<Class<? extends BaseActivity>> activities,
+      Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> executors) {
+    Map<String, URL> indexes = findIndexes();
+    List<URL> notIndexed = new ArrayList<>();
+    for (URL url : urls) {
+      URL index = indexes.get(root(url.toString()));
+      if (index == null) {
+        notIndexed.add(url);
+      } else {
+        readIndex(index, activities, executors);
+      }
+    }
+    if (!notIndexed.isEmpty()) {
+      scan(notIndexed, activities, executors);
+    }
+    return notIndexed;
+  }
+
+  private static Map<String, URL> findIndexes() {
+    Map<String, URL> indexes = new HashMap<>();
+    for (ClassLoader classLoader : ClasspathHelper.classLoaders()) {
+      try {
+        for (URL index : Collections.list(classLoader.getResources(INDEX))) {
+          String url = index.toString();
+          indexes.putIfAbsent(root(url.substring(0, url.length() - INDEX.length())), index);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return indexes;
+  }
+
+  /**
+   * Normalizes classpath entries and index locations: file:/lib/a.jar and jar:file:/lib/a.jar!/ are the same root.
+   */
+  static String root(String url) {
+    String root = url.startsWith("jar:") ? url.substring("jar:".length()) : url;
+    if (root.endsWith("!/")) {
+      root = root.substring(0, root.length() - "!/".length());
+    }
+    return root.endsWith("/") ? root.substring(0, root.length() - 1) : root;
+  }
+
+  private static void readIndex(URL index, Set<Class<? extends BaseActivity>> activities,
+      Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> executors) {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] entry = line.trim().split("\\s+");
+        if (entry.length == 2 && "activity".equals(entry[0])) {
+          Class<?> activity = load(entry[1]);
+          if (activity != null) {
+            activities.add((Class<? extends BaseActivity>) activity);
+          }
+        } else if (entry.length == 3 && "executor".equals(entry[0])) {
+          Class<?> executor = load(entry[1]);
+          Class<?> activity = load(entry[2]);
+          if (executor != null && activity != null) {
+            executors.put((Class<? extends BaseActivity>) activity,
+                (Class<? extends ActivityExecutor<? extends BaseActivity>>) executor);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read activity index " + index, e);
+    }
+  }
+
+  private static Class<?> load(String className) {
+    for (ClassLoader classLoader : ClasspathHelper.classLoaders()) {
+      try {
+        return Class.forName(className, false, classLoader);
+      } catch (ClassNotFoundException e) {
+        log.trace("Class {} not found with class loader {}", className, classLoader);
+      }
+    }
+    log.warn("Class {} is listed in an activity index but cannot be loaded", className);
+    return null;
+  }
+
+  static void scan(Collection<URL> urls, Set<Class<? extends BaseActivity>> activities,
+      Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> executors) {
+    Reflections reflections = new Reflections(new ConfigurationBuilder()
+        .setScanners(Scanners.SubTypes)
+        .addUrls(urls)
+        .filterInputsBy(new FilterBuilder().includePattern(".*class")));
+    activities.addAll(reflections.getSubTypesOf(BaseActivity.class));
+
+    reflections.getSubTypesOf(ActivityExecutor.class).stream()
+        .map(Class.class::cast)
+        .forEach(executor -> executors.put(findMatchingActivity(executor), executor));
+  }
+
   private static Class<? extends BaseActivity> findMatchingActivity(
       Class<? extends ActivityExecutor<? extends BaseActivity>> a) {
     try {
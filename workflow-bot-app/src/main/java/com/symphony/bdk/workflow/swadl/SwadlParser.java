@@ -44,18 +44,15 @@ public class SwadlParser {
 
   public static Workflow fromYaml(InputStream yaml) throws IOException, ProcessingException {
     String yamlString = IOUtils.toString(yaml, StandardCharsets.UTF_8);
-    SwadlValidator.validateYaml(yamlString);
-    return MAPPER.readValue(yamlString, Workflow.class);
+    return fromYaml(yamlString);
   }
 
   public static Workflow fromYaml(String yamlString) throws IOException, ProcessingException {
-    SwadlValidator.validateYaml(yamlString);
-    return MAPPER.readValue(yamlString, Workflow.class);
+    // the YAML is parsed once, the validated tree is then converted to a workflow
+    return MAPPER.treeToValue(SwadlValidator.validateYaml(yamlString), Workflow.class);
   }
 
   public static Workflow fromYaml(File workflowFile) throws IOException, ProcessingException {
-    String yamlString = Files.readString(workflowFile.toPath(), StandardCharsets.UTF_8);
-    SwadlValidator.validateYaml(yamlString);
-    return MAPPER.readValue(yamlString, Workflow.class);
+    return fromYaml(Files.readString(workflowFile.toPath(), StandardCharsets.UTF_8));
   }
 }
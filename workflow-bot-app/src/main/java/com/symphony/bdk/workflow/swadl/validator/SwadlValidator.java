@@ -9,26 +9,36 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ListReportProvider;
 import com.github.fge.jsonschema.core.report.LogLevel;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
 import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
  * Validates a SWADL workflow written in YAML.
+ *
+ * <p>When a workflow is saved again, only the activities that changed since its last accepted version are validated
+ * against the schema. Validation times are exposed as the workflow.swadl.validation timer, tagged with the mode:
+ * incremental, or full when the workflow is not valid and errors are reported with their location.</p>
  */
 @Slf4j
 public class SwadlValidator {
@@ -42,7 +52,17 @@ public class SwadlValidator {
       .setReportProvider(new ListReportProvider(LogLevel.ERROR, LogLevel.FATAL))
       .freeze();
 
-  private static final JsonNode jsonSchema;
+  private static final JsonSchema JSON_SCHEMA;
+  // same schema without the activities' definitions, they are validated one by one with ACTIVITY_SCHEMA
+  private static final JsonSchema WORKFLOW_SCHEMA;
+  private static final JsonSchema ACTIVITY_SCHEMA;
+
+  // workflow id -> activities of its last accepted version
+  private static final Cache<String, Set<JsonNode>> ACCEPTED_ACTIVITIES = Caffeine.newBuilder()
+      .maximumSize(1_000)
+      .build();
+  private static final Timer INCREMENTAL_TIMER = validationTimer("incremental");
+  private static final Timer FULL_TIMER = validationTimer("full");
 
   static {
     // load it only once as it won't change dynamically (i.e. we don't support adding new custom activities on the fly)
@@ -50,9 +70,15 @@ public class SwadlValidator {
       if (schemaStream == null) {
         throw new IOException("Could not read JSON schema from classpath location: " + JSON_SCHEMA_FILE);
       }
-      jsonSchema = OBJECT_MAPPER.readTree(schemaStream);
+      JsonNode jsonSchema = OBJECT_MAPPER.readTree(schemaStream);
       addCustomActivitiesToSchema(jsonSchema);
-    } catch (IOException e) {
+      JSON_SCHEMA = JSON_SCHEMA_FACTORY.getJsonSchema(jsonSchema);
+      ACTIVITY_SCHEMA = JSON_SCHEMA_FACTORY.getJsonSchema(jsonSchema, "/properties/activities/items");
+
+      JsonNode workflowSchema = jsonSchema.deepCopy();
+      ((ObjectNode) workflowSchema.get("properties").get("activities")).putObject("items");
+      WORKFLOW_SCHEMA = JSON_SCHEMA_FACTORY.getJsonSchema(workflowSchema);
+    } catch (IOException | ProcessingException e) {
       throw new IllegalStateException("Failed to load JSON schema", e);
     }
   }
@@ -60,18 +86,49 @@ public class SwadlValidator {
   private SwadlValidator() {
   }
 
-  public static void validateYaml(String yaml) throws SwadlNotValidException, ProcessingException {
-    validate(yaml);
+  /**
+   * Validates the workflow against the JSON schema.
+   *
+   * @return the workflow as a tree, to be converted without parsing the YAML again
+   */
+  public static JsonNode validateYaml(String yaml) throws SwadlNotValidException, ProcessingException {
+    return validate(yaml);
+  }
+
+  /**
+   * Forgets the accepted versions of all workflows, their next validation checks every activity.
+   */
+  public static void clearAcceptedActivities() {
+    ACCEPTED_ACTIVITIES.invalidateAll();
   }
 
-  private static void validate(String yaml) throws ProcessingException, SwadlNotValidException {
+  private static Timer validationTimer(String mode) {
+    return Timer.builder("workflow.swadl.validation")
+        .description("Time spent validating SWADL against the JSON schema")
+        .tag("mode", mode)
+        .register(Metrics.globalRegistry);
+  }
 
-    final JsonSchema schema = JSON_SCHEMA_FACTORY.getJsonSchema(jsonSchema);
+  private static JsonNode validate(String yaml) throws ProcessingException, SwadlNotValidException {
     try {
+      long start = System.nanoTime();
       JsonNode yamlTree = YAML_READER.readTree(yaml);
-      ProcessingReport report = schema.validate(yamlTree);
+      int validatedActivities = validateChangedActivities(yamlTree);
+      if (validatedActivities >= 0) {
+        INCREMENTAL_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Validated {} changed activities out of {}", validatedActivities, yamlTree.get("activities").size());
+        return yamlTree;
+      }
+
+      ProcessingReport report;
+      try {
+        report = JSON_SCHEMA.validate(yamlTree);
+      } finally {
+        FULL_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
 
       if (!report.isSuccess()) {
+        // locating errors in the YAML source reads it again, only done for invalid workflows
         YamlJsonPointer yamlJsonPointer = new YamlJsonPointer(new StringReader(yaml));
         List<SwadlError> errors =
             StreamSupport.stream(Spliterators.spliteratorUnknownSize(report.iterator(), Spliterator.ORDERED), false)
@@ -79,11 +136,41 @@ public class SwadlValidator {
                 .collect(Collectors.toList());
         throw new SwadlNotValidException(errors, report.toString());
       }
+      return yamlTree;
     } catch (JsonProcessingException e) {
       throw new SwadlNotValidException(e);
     }
   }
 
+  /**
+   * Validates the workflow without its activities and then only the activities that are not part of the last accepted
+   * version of the workflow.
+   *
+   * @return the number of activities validated or -1 if the workflow is not valid, the whole workflow is then
+   *     validated again to report errors with their location
+   */
+  private static int validateChangedActivities(JsonNode yamlTree) throws ProcessingException {
+    if (!WORKFLOW_SCHEMA.validInstance(yamlTree)) {
+      return -1;
+    }
+    String workflowId = yamlTree.get("id").asText();
+    Set<JsonNode> acceptedActivities = ACCEPTED_ACTIVITIES.getIfPresent(workflowId);
+    Set<JsonNode> activities = new HashSet<>();
+    int validatedActivities = 0;
+    for (JsonNode activity : yamlTree.get("activities")) {
+      if (acceptedActivities == null || !acceptedActivities.contains(activity)) {
+        if (!ACTIVITY_SCHEMA.validInstance(activity)) {
+          return -1;
+        }
+        validatedActivities++;
+      }
+      // copied as the tree is later converted and could be modified
+      activities.add(activity.deepCopy());
+    }
+    ACCEPTED_ACTIVITIES.put(workflowId, activities);
+    return validatedActivities;
+  }
+
   /**
    * On the fly, we add the custom activities discovered in the classpath to the JSON Schema.This way we can validate
    * them at least for basic attributes.
@@ -0,0 +1,89 @@
+package com.symphony.bdk.workflow;
+
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Properties;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeploymentIntegrationTest extends IntegrationTest {
+
+  private static final String SWADL = "id: unchanged-deployment\n"
+      + "activities:\n"
+      + "  - send-message:\n"
+      + "      id: sendmsg\n"
+      + "      to:\n"
+      + "        stream-id: \"123\"\n"
+      + "      content: %s\n"
+      + "      on:\n"
+      + "        one-of:\n"
+      + "          - message-received:\n"
+      + "              content: /unchanged-deployment\n"
+      + "          - request-received:\n"
+      + "              token: %s\n";
+
+  @Autowired
+  MeterRegistry registry;
+
+  @Test
+  void deploy_unchangedWorkflow_skipped() throws Exception {
+    double skipped = skippedDeployments();
+
+    String first = engine.deploy(workflow("hello", "token"));
+    String second = engine.deploy(workflow("hello", "token"));
+
+    assertThat(second).isEqualTo(first);
+    assertThat(repositoryService.createDeploymentQuery().deploymentName("unchanged-deployment").count())
+        .isEqualTo(1);
+    assertThat(skippedDeployments()).isEqualTo(skipped + 1);
+  }
+
+  @Test
+  void deploy_changedWorkflow_deployed() throws Exception {
+    String first = engine.deploy(workflow("hello", "token"));
+    String contentChanged = engine.deploy(workflow("bye", "token"));
+    String tokenChanged = engine.deploy(workflow("bye", "otherToken"));
+
+    assertThat(contentChanged).isNotEqualTo(first);
+    assertThat(tokenChanged).isNotEqualTo(contentChanged);
+    assertThat(repositoryService.createDeploymentQuery().deploymentName("unchanged-deployment").count())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void deploy_changedVersion_deployed() throws Exception {
+    Workflow workflow = workflow("hello", "token");
+    workflow.setVersion(1L);
+    String first = engine.deploy(workflow);
+    workflow.setVersion(2L);
+    String second = engine.deploy(workflow);
+
+    assertThat(second).isNotEqualTo(first);
+  }
+
+  @Test
+  void deploy_changedHistoryLevel_deployed() throws Exception {
+    Workflow workflow = workflow("hello", "token");
+    String first = engine.deploy(workflow);
+    Properties properties = new Properties();
+    properties.setHistory(Properties.HistoryLevel.NONE);
+    workflow.setProperties(properties);
+    String levelChanged = engine.deploy(workflow);
+    String levelUnchanged = engine.deploy(workflow);
+
+    assertThat(levelChanged).isNotEqualTo(first);
+    assertThat(levelUnchanged).isEqualTo(levelChanged);
+  }
+
+  private static Workflow workflow(String content, String token) throws Exception {
+    return SwadlParser.fromYaml(String.format(SWADL, content, token));
+  }
+
+  private double skippedDeployments() {
+    return registry.get("workflow.deployment.skipped").counter().count();
+  }
+}
@@ -205,6 +205,61 @@ class MonitoringApiIntegrationTest extends IntegrationTest {
     engine.undeployByWorkflowId(workflow.getId());
   }
 
+  @Test
+  void listWorkflowInstancesPage_followsCursor() throws Exception {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/monitoring/testing-workflow-1.swadl.yaml"));
+    final V4Message message = message("Hello!");
+
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message);
+
+    engine.undeployByWorkflowId(workflow.getId()); // clean any old running instance
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("/testingWorkflow1"));
+    engine.onEvent(messageReceived("/testingWorkflow1"));
+
+    // Wait for the workflow to get executed
+    Thread.sleep(2000);
+
+    String cursor = given()
+        .header(X_MONITORING_TOKEN_HEADER_KEY, X_MONITORING_TOKEN_HEADER_VALUE)
+        .contentType(ContentType.JSON)
+        .when()
+        .get(String.format(LIST_WORKFLOW_INSTANCES_PATH + "/page?limit=1", "testingWorkflow1"))
+        .then()
+        .assertThat()
+        .statusCode(HttpStatus.OK.value())
+        .body("instances", hasSize(1))
+        .body("instances[0].status", equalTo("COMPLETED"))
+        .body("nextCursor", not(isEmptyOrNullString()))
+        .extract()
+        .path("nextCursor");
+
+    String secondCursor = given()
+        .header(X_MONITORING_TOKEN_HEADER_KEY, X_MONITORING_TOKEN_HEADER_VALUE)
+        .contentType(ContentType.JSON)
+        .when()
+        .get(String.format(LIST_WORKFLOW_INSTANCES_PATH + "/page?limit=1&cursor=" + cursor, "testingWorkflow1"))
+        .then()
+        .assertThat()
+        .statusCode(HttpStatus.OK.value())
+        .body("instances", hasSize(1))
+        .extract()
+        .path("nextCursor");
+
+    given()
+        .header(X_MONITORING_TOKEN_HEADER_KEY, X_MONITORING_TOKEN_HEADER_VALUE)
+        .contentType(ContentType.JSON)
+        .when()
+        .get(String.format(LIST_WORKFLOW_INSTANCES_PATH + "/page?limit=1&cursor=" + secondCursor, "testingWorkflow1"))
+        .then()
+        .assertThat()
+        .statusCode(HttpStatus.OK.value())
+        .body("instances", empty());
+
+    engine.undeployByWorkflowId(workflow.getId());
+  }
+
   @Test
   void listWorkflowInstances_pendingStatusAndVersionFilter() throws Exception {
     final Workflow workflow =
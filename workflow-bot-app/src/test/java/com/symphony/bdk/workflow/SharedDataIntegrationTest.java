@@ -2,15 +2,29 @@ package com.symphony.bdk.workflow;
 
 import com.symphony.bdk.core.service.message.model.Message;
 import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.workflow.engine.shared.DefaultSharedDataStore;
+import com.symphony.bdk.workflow.engine.shared.SharedData;
+import com.symphony.bdk.workflow.engine.shared.SharedDataEntryRepository;
+import com.symphony.bdk.workflow.engine.shared.SharedDataMigration;
 import com.symphony.bdk.workflow.engine.shared.SharedDataRepository;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -18,9 +32,22 @@ import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+@Slf4j
 public class SharedDataIntegrationTest extends IntegrationTest {
+  private static final int WRITERS = 50;
+  private static final int WRITES_PER_WRITER = 20;
 
   @Autowired SharedDataRepository sharedDataRepository;
+  @Autowired SharedDataEntryRepository sharedDataEntryRepository;
+  @Autowired DefaultSharedDataStore sharedDataStore;
+  @Autowired SharedDataMigration sharedDataMigration;
+
+  @AfterEach
+  void cleanSharedData() {
+    sharedDataRepository.deleteAll();
+    sharedDataEntryRepository.deleteAll();
+    sharedDataStore.invalidateAll();
+  }
 
   @Test
   @DisplayName("Share counter between process instances")
@@ -40,7 +67,6 @@ public class SharedDataIntegrationTest extends IntegrationTest {
     engine.onEvent(messageReceived("/count"));
     verify(messageService, timeout(5000).times(4)).send(anyString(), captor.capture());
     assertThat(captor.getValue().getContent()).contains("2");
-    sharedDataRepository.deleteAll();
   }
 
   @Test
@@ -64,7 +90,75 @@ public class SharedDataIntegrationTest extends IntegrationTest {
     engine.onEvent(messageReceived("/count2"));
     verify(messageService, timeout(5000).times(4)).send(anyString(), captor.capture());
     assertThat(captor.getValue().getContent()).contains("2");
-    sharedDataRepository.deleteAll();
   }
 
+  @Test
+  @DisplayName("Atomic shared data functions from a workflow")
+  void atomicFunctions() throws Exception {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/shareddata/shared-atomic-data.swadl.yaml"));
+    final V4Message message = message("/atomic");
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message);
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("/atomic"));
+
+    ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+    verify(messageService, timeout(5000)).send(anyString(), captor.capture());
+    assertThat(captor.getValue().getContent()).contains("counter is 5, flag is set");
+    assertThat(sharedDataStore.getNamespaceData("atomic")).containsEntry("list", List.of("first"));
+  }
+
+  @Test
+  @DisplayName("Legacy namespace documents are split into per key entries")
+  void migrateLegacySharedData() {
+    SharedData legacy = new SharedData().namespace("legacy");
+    legacy.getProperties().put("counter", 3);
+    legacy.getProperties().put("name", "value");
+    sharedDataRepository.save(legacy);
+    sharedDataStore.putNamespaceData("legacy", "name", "new value");
+
+    sharedDataMigration.migrate();
+
+    assertThat(sharedDataRepository.findAll()).isEmpty();
+    assertThat(sharedDataStore.getNamespaceData("legacy"))
+        .isEqualTo(Map.of("counter", 3, "name", "new value"));
+  }
+
+  @Test
+  @DisplayName("Concurrent writers to the same namespace do not lose updates")
+  void contention() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+    try {
+      List<Callable<Void>> writers = new ArrayList<>();
+      for (int i = 0; i < WRITERS; i++) {
+        String key = "writer-" + i;
+        writers.add(() -> {
+          for (int j = 0; j < WRITES_PER_WRITER; j++) {
+            sharedDataStore.increment("contention", "counter", 1);
+            sharedDataStore.putNamespaceData("contention", key, j);
+          }
+          sharedDataStore.appendToList("contention", "writers", key);
+          return null;
+        });
+      }
+
+      long start = System.nanoTime();
+      for (Future<Void> future : executor.invokeAll(writers)) {
+        future.get();
+      }
+      long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+      log.info("{} writers performed {} shared data writes in {} ms", WRITERS,
+          WRITERS * (2 * WRITES_PER_WRITER + 1), elapsedMs);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Map<String, Object> data = sharedDataStore.getNamespaceData("contention");
+    assertThat(((Number) data.get("counter")).longValue()).isEqualTo(WRITERS * WRITES_PER_WRITER);
+    assertThat((List<?>) data.get("writers")).hasSize(WRITERS);
+    for (int i = 0; i < WRITERS; i++) {
+      assertThat(data).containsEntry("writer-" + i, WRITES_PER_WRITER - 1);
+    }
+  }
 }
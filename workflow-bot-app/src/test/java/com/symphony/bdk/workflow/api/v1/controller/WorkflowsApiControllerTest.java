@@ -1,30 +1,38 @@
 package com.symphony.bdk.workflow.api.v1.controller;
 
+import com.symphony.bdk.workflow.api.v1.dto.DurationStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.NodeStateView;
 import com.symphony.bdk.workflow.api.v1.dto.NodeView;
 import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.api.v1.dto.VariableView;
+import com.symphony.bdk.workflow.api.v1.dto.WindowStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstLifeCycleFilter;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstPageView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.engine.ExecutionParameters;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.exception.UnauthorizedException;
 import com.symphony.bdk.workflow.monitoring.repository.domain.VariablesDomain;
+import com.symphony.bdk.workflow.monitoring.service.WorkflowDefinitionView;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.http.HttpMethod;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.symphony.bdk.workflow.api.v1.dto.NodeView.ChildView;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,10 +40,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,6 +61,8 @@ class WorkflowsApiControllerTest extends ApiTest {
       "/v1/workflows/%s/instances/%s/states";
   private static final String GET_WORKFLOW_DEFINITIONS_PATH = "/v1/workflows/%s/nodes";
   private static final String LIST_WORKFLOW_INSTANCE_GLOBAL_VARS_PATH = "/v1/workflows/%s/instances/%s/variables";
+  private static final String GET_WORKFLOW_STATS_PATH = "/v1/workflows/%s/stats";
+  private static final String STREAM_INSTANCE_STATE_PATH = "/v1/workflows/%s/instances/%s/states/stream";
 
   private static final String MONITORING_TOKEN_VALUE = "MONITORING_TOKEN_VALUE";
 
@@ -170,6 +185,52 @@ class WorkflowsApiControllerTest extends ApiTest {
         .andExpect(jsonPath("[1].endDate").isNotEmpty());
   }
 
+  @Test
+  void listWorkflowInstancesPage() throws Exception {
+    WorkflowInstView instanceView =
+        workflowInstView("testWorkflowId", "instance1", 222L, 666L, 1L, StatusEnum.COMPLETED);
+    when(monitoringService.listWorkflowInstances("testWorkflowId", null, null, "cursor", 1)).thenReturn(
+        new WorkflowInstPageView(List.of(instanceView), "nextCursor"));
+
+    mockMvc.perform(
+            request(HttpMethod.GET, String.format(LIST_WORKFLOW_INSTANCES_PATH, "testWorkflowId") + "/page")
+                .header("X-Monitoring-Token", MONITORING_TOKEN_VALUE)
+                .queryParam("cursor", "cursor")
+                .queryParam("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("instances[0].instanceId").value("instance1"))
+        .andExpect(jsonPath("nextCursor").value("nextCursor"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void streamWorkflowInstances() throws Exception {
+    WorkflowInstView instanceView1 =
+        workflowInstView("testWorkflowId", "instance1", 222L, 666L, 1L, StatusEnum.COMPLETED);
+    WorkflowInstView instanceView2 =
+        workflowInstView("testWorkflowId", "instance2", 333L, 777L, 2L, StatusEnum.PENDING);
+    doAnswer(invocation -> {
+      Consumer<List<WorkflowInstView>> pageConsumer = invocation.getArgument(3);
+      pageConsumer.accept(List.of(instanceView1));
+      pageConsumer.accept(List.of(instanceView2));
+      return null;
+    }).when(monitoringService).streamWorkflowInstances(eq("testWorkflowId"), isNull(), isNull(), any());
+
+    MvcResult mvcResult = mockMvc.perform(
+            request(HttpMethod.GET, String.format(LIST_WORKFLOW_INSTANCES_PATH, "testWorkflowId"))
+                .header("X-Monitoring-Token", MONITORING_TOKEN_VALUE)
+                .accept("application/x-ndjson"))
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"));
+    String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines[0]).contains("\"instanceId\":\"instance1\"");
+    assertThat(lines[1]).contains("\"instanceId\":\"instance2\"");
+  }
+
   @Test
   void listWorkflowInstances_noTokenProvidedTest() throws Exception {
     mockMvc.perform(request(HttpMethod.GET, String.format(LIST_WORKFLOW_INSTANCES_PATH, "testWorkflowId")))
@@ -303,6 +364,19 @@ class WorkflowsApiControllerTest extends ApiTest {
         .andExpect(jsonPath("message").value(errorMsg));
   }
 
+  @Test
+  void streamInstanceState_lastEventIdPreferred() throws Exception {
+    when(monitoringService.streamWorkflowInstanceNodes("workflowId", "instanceId", 5L)).thenReturn(new SseEmitter());
+
+    mockMvc.perform(request(HttpMethod.GET, String.format(STREAM_INSTANCE_STATE_PATH, "workflowId", "instanceId"))
+            .header("X-Monitoring-Token", MONITORING_TOKEN_VALUE)
+            .header("Last-Event-ID", "5")
+            .queryParam("revision", "2"))
+        .andExpect(status().isOk());
+
+    verify(monitoringService).streamWorkflowInstanceNodes("workflowId", "instanceId", 5L);
+  }
+
   @Test
   void getWorkflowDefinitions() throws Exception {
     final String workflowId = "testWorkflowId";
@@ -329,7 +403,8 @@ class WorkflowsApiControllerTest extends ApiTest {
         .flowNodes(Arrays.asList(activity0, event, activity1))
         .build();
 
-    when(monitoringService.getWorkflowDefinition(eq(workflowId), eq(1L))).thenReturn(workflowNodesView);
+    when(monitoringService.getWorkflowDefinitionView(eq(workflowId), eq(1L)))
+        .thenReturn(WorkflowDefinitionView.of(workflowNodesView));
 
     mockMvc.perform(
             request(HttpMethod.GET, String.format(GET_WORKFLOW_DEFINITIONS_PATH, workflowId))
@@ -359,6 +434,34 @@ class WorkflowsApiControllerTest extends ApiTest {
         .andExpect(jsonPath("$.flowNodes[2].children").isEmpty());
   }
 
+  @Test
+  void getWorkflowDefinitions_cachedByVersion() throws Exception {
+    WorkflowNodesView workflowNodesView = WorkflowNodesView.builder()
+        .workflowId("workflowId")
+        .version(1L)
+        .variables(Collections.emptyMap())
+        .flowNodes(Collections.emptyList())
+        .build();
+    WorkflowDefinitionView definitionView = WorkflowDefinitionView.of(workflowNodesView);
+    when(monitoringService.getWorkflowDefinitionView(eq("workflowId"), eq(1L))).thenReturn(definitionView);
+    when(monitoringService.getWorkflowDefinitionView(eq("workflowId"), isNull())).thenReturn(definitionView);
+    String etag = "\"" + definitionView.getEtag() + "\"";
+
+    mockMvc.perform(
+            request(HttpMethod.GET, String.format(GET_WORKFLOW_DEFINITIONS_PATH, "workflowId"))
+                .header("X-Monitoring-Token", MONITORING_TOKEN_VALUE).queryParam("version", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", etag))
+        .andExpect(header().string("Cache-Control", "max-age=86400, private"));
+
+    mockMvc.perform(
+            request(HttpMethod.GET, String.format(GET_WORKFLOW_DEFINITIONS_PATH, "workflowId"))
+                .header("X-Monitoring-Token", MONITORING_TOKEN_VALUE).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("Cache-Control", "no-cache, private"))
+        .andExpect(content().string(""));
+  }
+
   @Test
   void getWorkflowDefinitions_noTokenProvidedTest() throws Exception {
     mockMvc.perform(request(HttpMethod.GET, String.format(GET_WORKFLOW_DEFINITIONS_PATH, "workflowId")))
@@ -416,7 +519,8 @@ class WorkflowsApiControllerTest extends ApiTest {
     final String illegalWorkflowId = "testWorkflowId";
     final String errorMsg = String.format("No workflow deployed with id '%s' is found", illegalWorkflowId);
 
-    when(monitoringService.getWorkflowDefinition(illegalWorkflowId, null)).thenThrow(new NotFoundException(errorMsg));
+    when(monitoringService.getWorkflowDefinitionView(illegalWorkflowId, null))
+        .thenThrow(new NotFoundException(errorMsg));
 
     mockMvc.perform(
             request(HttpMethod.GET, String.format(GET_WORKFLOW_DEFINITIONS_PATH, illegalWorkflowId))
@@ -425,6 +529,37 @@ class WorkflowsApiControllerTest extends ApiTest {
         .andExpect(jsonPath("message").value(errorMsg));
   }
 
+  @Test
+  void getWorkflowStats() throws Exception {
+    DurationStatsView activity = DurationStatsView.builder().count(3).p50(Duration.ofMillis(10)).build();
+    WindowStatsView window = WindowStatsView.builder()
+        .window(Duration.ofMinutes(5))
+        .started(4)
+        .completed(2)
+        .failed(1)
+        .duration(DurationStatsView.builder().count(3).build())
+        .activities(Map.of("activity", activity))
+        .build();
+    when(monitoringService.getWorkflowStats("workflow")).thenReturn(
+        WorkflowStatsView.builder().workflowId("workflow").windows(List.of(window)).build());
+
+    mockMvc.perform(request(HttpMethod.GET, String.format(GET_WORKFLOW_STATS_PATH, "workflow"))
+            .header("X-Monitoring-Token", MONITORING_TOKEN_VALUE))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.workflowId").value("workflow"))
+        .andExpect(jsonPath("$.windows[0].started").value(4))
+        .andExpect(jsonPath("$.windows[0].completed").value(2))
+        .andExpect(jsonPath("$.windows[0].failed").value(1))
+        .andExpect(jsonPath("$.windows[0].duration.count").value(3))
+        .andExpect(jsonPath("$.windows[0].activities.activity.count").value(3));
+  }
+
+  @Test
+  void getWorkflowStats_noTokenProvidedTest() throws Exception {
+    mockMvc.perform(request(HttpMethod.GET, String.format(GET_WORKFLOW_STATS_PATH, "workflow")))
+        .andExpect(status().isBadRequest());
+  }
+
   private WorkflowInstView workflowInstView(String workflowId, String instanceId, long start, long end, Long version,
       StatusEnum status) {
 
@@ -4,18 +4,25 @@ import com.symphony.bdk.workflow.api.v1.WorkflowsMgtApi;
 import com.symphony.bdk.workflow.api.v1.dto.SwadlView;
 import com.symphony.bdk.workflow.api.v1.dto.VersionedWorkflowView;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
 import com.symphony.bdk.workflow.exception.NotFoundException;
+import com.symphony.bdk.workflow.logs.LogsFilter;
 
+import ch.qos.logback.classic.Level;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -181,6 +188,22 @@ class WorkflowsMgtApiControllerTest extends ApiTest {
               get(streamLogUri).contentType("text/plain").header(WorkflowsMgtApi.X_MANAGEMENT_TOKEN_KEY, "myToken"))
           .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("Streaming logs filtered by instance and level")
+    void test_streamingLogs_filtered() throws Exception {
+      mockMvc.perform(
+              get(streamLogUri).contentType("text/plain").header(WorkflowsMgtApi.X_MANAGEMENT_TOKEN_KEY, "myToken")
+                  .param("instance_id", "instance").param("level", "info"))
+          .andExpect(status().isOk());
+
+      ArgumentCaptor<LogsFilter> filter = ArgumentCaptor.forClass(LogsFilter.class);
+      verify(logsStreamingService).subscribe(any(SseEmitter.class), filter.capture());
+      Map<String, String> mdc = Map.of(CamundaExecutor.MDC_PROCESS_ID, "instance");
+      assertThat(filter.getValue().accept(Level.INFO, "logger", mdc)).isTrue();
+      assertThat(filter.getValue().accept(Level.DEBUG, "logger", mdc)).isFalse();
+      assertThat(filter.getValue().accept(Level.INFO, "logger", Map.of())).isFalse();
+    }
   }
 
 
@@ -0,0 +1,77 @@
+package com.symphony.bdk.workflow.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedRingBufferTest {
+
+  @Test
+  void capacity_roundedToPowerOfTwo() {
+    assertThat(new BoundedRingBuffer<>(1).capacity()).isEqualTo(1);
+    assertThat(new BoundedRingBuffer<>(3).capacity()).isEqualTo(4);
+    assertThat(new BoundedRingBuffer<>(8).capacity()).isEqualTo(8);
+    assertThatThrownBy(() -> new BoundedRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void offer_full_rejected() {
+    BoundedRingBuffer<String> buffer = new BoundedRingBuffer<>(2);
+
+    assertThat(buffer.offer("a")).isTrue();
+    assertThat(buffer.offer("b")).isTrue();
+    assertThat(buffer.offer("c")).isFalse();
+    assertThat(buffer.size()).isEqualTo(2);
+
+    assertThat(buffer.poll()).isEqualTo("a");
+    assertThat(buffer.offer("c")).isTrue();
+    assertThat(buffer.poll()).isEqualTo("b");
+    assertThat(buffer.poll()).isEqualTo("c");
+    assertThat(buffer.poll()).isNull();
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void offer_concurrentProducers_noLostElements() throws InterruptedException {
+    int producers = 8;
+    int perProducer = 10_000;
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1024);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    CountDownLatch done = new CountDownLatch(producers);
+    for (int p = 0; p < producers; p++) {
+      int offset = p * perProducer;
+      executor.submit(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          while (!buffer.offer(offset + i)) {
+            Thread.onSpinWait();
+          }
+        }
+        done.countDown();
+      });
+    }
+
+    List<Integer> consumed = new ArrayList<>();
+    while (consumed.size() < producers * perProducer) {
+      Integer element = buffer.poll();
+      if (element != null) {
+        consumed.add(element);
+      }
+    }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+
+    Set<Integer> unique = new HashSet<>(consumed);
+    assertThat(unique).hasSize(producers * perProducer);
+    assertThat(buffer.poll()).isNull();
+  }
+}
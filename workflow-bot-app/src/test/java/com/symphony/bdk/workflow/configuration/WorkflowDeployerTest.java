@@ -4,27 +4,38 @@ import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowTranslationCache;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,23 +47,51 @@ public class WorkflowDeployerTest {
   WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
   @Mock
   WorkflowDirectedGraphService directedGraphService;
+  @Mock
+  CamundaBpmnBuilder bpmnBuilder;
 
-  @InjectMocks
   WorkflowDeployer workflowDeployer;
 
+  @BeforeEach
+  void setUp() {
+    workflowDeployer = new WorkflowDeployer(workflowEngine, directedGraphService,
+        new WorkflowTranslationCache(workflowEngine, bpmnBuilder, new SimpleMeterRegistry(), 100), 4);
+  }
+
   @Test
   void testAddAllWorkflowsFromFolder() {
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
     String swadlFolderPath = "src/test/resources/basic/publish/";
     String deploymentId = "ABC";
 
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    whenTranslated();
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
 
     workflowDeployer.addAllWorkflowsFromFolder(Path.of(swadlFolderPath));
     verify(workflowEngine).deploy(any(CamundaTranslatedWorkflowContext.class));
   }
 
+  @Test
+  void testAddAllWorkflowsFromFolder_manyFiles_deployedInFileOrder(@TempDir Path folder) throws IOException {
+    String swadl = Files.readString(Path.of("src/test/resources/basic/publish/basic-workflow.swadl.yaml"));
+    for (int i = 0; i < 10; i++) {
+      Files.writeString(folder.resolve("workflow-" + i + ".swadl.yaml"),
+          swadl.replace("id: basic-workflow", "id: workflow-" + i));
+    }
+    Files.writeString(folder.resolve("workflow-invalid.swadl.yaml"), "id: invalid\nactivities: 42");
+    Files.writeString(folder.resolve("workflow-empty.swadl.yaml"), "");
+    whenTranslated();
+    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn("ABC");
+
+    workflowDeployer.addAllWorkflowsFromFolder(folder);
+
+    InOrder inOrder = inOrder(workflowEngine);
+    for (int i = 0; i < 10; i++) {
+      String workflowId = "workflow-" + i;
+      inOrder.verify(workflowEngine).deploy(argThat(c -> c.getWorkflow().getId().equals(workflowId)));
+    }
+    verify(workflowEngine, times(10)).deploy(any(CamundaTranslatedWorkflowContext.class));
+  }
+
   @Test
   void testAddAllWorkflowsFromFolderException() {
     String file = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
@@ -63,39 +102,36 @@ public class WorkflowDeployerTest {
   }
 
   @Test
-  void testAddWorkflowPublish_workflowNotExists() throws IOException, ProcessingException {
+  void testAddWorkflowPublish_workflowNotExists() throws IOException {
     String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     String workflowId = "basic-workflow";
     String deploymentId = "ABC";
 
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    whenTranslated();
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_CREATE));
 
-    verify(workflowEngine).deploy(eq(context));
+    verify(workflowEngine).deploy(argThat(c -> c.getWorkflow().getId().equals(workflowId)));
     verify(workflowEngine, never()).undeployByWorkflowId(eq(workflowId));
   }
 
   @Test
-  void testUpdateWorkflowDraft_workflowAlreadyExists() throws IOException, ProcessingException {
+  void testUpdateWorkflowDraft_workflowAlreadyExists() throws IOException {
     String workflowFile = "src/test/resources/basic/draft/basic-draft-workflow.swadl.yaml";
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    whenTranslated();
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_MODIFY));
     verify(workflowEngine, never()).deploy(any(CamundaTranslatedWorkflowContext.class));
   }
 
   @Test
-  void testHandleFileEventCreate() throws IOException, ProcessingException {
+  void testHandleFileEventCreate() throws IOException {
     final String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     final String deploymentId = "ABC";
 
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    whenTranslated();
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
 
@@ -104,11 +140,10 @@ public class WorkflowDeployerTest {
   }
 
   @Test
-  void testHandleFileEventModify() throws IOException, ProcessingException {
+  void testHandleFileEventModify() throws IOException {
     final String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     final String deploymentId = "ABC";
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    whenTranslated();
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
 
@@ -118,12 +153,11 @@ public class WorkflowDeployerTest {
   }
 
   @Test
-  void testHandleFileEventDeleteWorkflow() throws IOException, ProcessingException {
+  void testHandleFileEventDeleteWorkflow() throws IOException {
     String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     Path path = Path.of(workflowFile);
     final String deploymentId = "ABC";
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    whenTranslated();
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     doNothing().when(workflowEngine).undeployByWorkflowId(eq("basic-workflow"));
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
@@ -135,6 +169,29 @@ public class WorkflowDeployerTest {
     verify(workflowEngine).undeployByWorkflowId(eq("basic-workflow"));
   }
 
+  @Test
+  void testHandleFileEventModify_unchangedContent_translatedOnce() throws IOException {
+    final String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
+    whenTranslated();
+    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn("ABC");
+    when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
+
+    workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_MODIFY));
+    workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_MODIFY));
+
+    verify(workflowEngine).translate(any(Workflow.class));
+    verify(bpmnBuilder).translateWorkflow(any(Workflow.class), anyString());
+    verify(workflowEngine, times(2)).deploy(any(CamundaTranslatedWorkflowContext.class));
+  }
+
+  private void whenTranslated() {
+    when(workflowEngine.translate(any(Workflow.class))).thenAnswer(
+        invocation -> new CamundaTranslatedWorkflowContext(invocation.getArgument(0), null,
+            Bpmn.createExecutableProcess("test").startEvent().endEvent().done()));
+    lenient().when(bpmnBuilder.translateWorkflow(any(Workflow.class), anyString())).thenAnswer(
+        invocation -> new CamundaTranslatedWorkflowContext(invocation.getArgument(0), null, null));
+  }
+
   private static class WatchEvent implements java.nio.file.WatchEvent<Path> {
 
     private final java.nio.file.WatchEvent.Kind<Path> kind;
@@ -2,8 +2,11 @@ package com.symphony.bdk.workflow.configuration;
 
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowTranslationCache;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,7 +41,8 @@ class WorkflowFolderWatcherTest {
     engine = mock(WorkflowEngine.class);
     workflowBotConfiguration = mock(WorkflowBotConfiguration.class);
     directedGraphService = mock(WorkflowDirectedGraphService.class);
-    workflowDeployer = new WorkflowDeployer(engine, directedGraphService);
+    workflowDeployer = new WorkflowDeployer(engine, directedGraphService,
+        new WorkflowTranslationCache(engine, mock(CamundaBpmnBuilder.class), new SimpleMeterRegistry(), 100), 1);
 
     when(workflowBotConfiguration.getWorkflowsFolderPath()).thenReturn(workflowsFolder.getPath());
   }
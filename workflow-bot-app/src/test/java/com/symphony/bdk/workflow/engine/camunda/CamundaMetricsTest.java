@@ -0,0 +1,151 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
+import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+import org.camunda.bpm.engine.runtime.ExecutionQuery;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CamundaMetricsTest {
+
+  private final RepositoryService repositoryService = mock(RepositoryService.class);
+  private final RuntimeService runtimeService = mock(RuntimeService.class);
+  private final HistoryService historyService = mock(HistoryService.class);
+  private final CamundaMetrics metrics = new CamundaMetrics(repositoryService, runtimeService, historyService);
+
+  @Test
+  void initialize_countedOnce() {
+    ProcessDefinitionQuery definitionQuery = mock(ProcessDefinitionQuery.class, RETURNS_SELF);
+    when(repositoryService.createProcessDefinitionQuery()).thenReturn(definitionQuery);
+    when(definitionQuery.count()).thenReturn(2L);
+    ProcessInstanceQuery processQuery = runningProcesses(3L);
+    when(runtimeService.createExecutionQuery()).thenReturn(mock(ExecutionQuery.class, RETURNS_SELF));
+    HistoricProcessInstanceQuery historicProcessQuery = mock(HistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createHistoricProcessInstanceQuery()).thenReturn(historicProcessQuery);
+    when(historicProcessQuery.count()).thenReturn(10L);
+    HistoricActivityInstanceQuery historicActivityQuery = mock(HistoricActivityInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createHistoricActivityInstanceQuery()).thenReturn(historicActivityQuery);
+    when(historicActivityQuery.count()).thenReturn(20L, 5L);
+
+    metrics.initialize();
+    metrics.execute(processEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "endEvent_1"));
+
+    assertThat(metrics.countDeployedWorkflows()).isEqualTo(2);
+    assertThat(metrics.countRunningProcesses()).isEqualTo(3);
+    assertThat(metrics.countCompletedProcesses()).isEqualTo(11);
+    assertThat(metrics.countCompletedActivities()).isEqualTo(25);
+    verify(historicActivityQuery).activityType("scriptTask");
+    verify(historicActivityQuery).activityType("serviceTask");
+    // scrapes read the values kept in memory
+    verify(processQuery, times(1)).count();
+  }
+
+  @Test
+  void refreshRunningCounts_readFromRuntime() {
+    runningProcesses(3L);
+    ExecutionQuery executionQuery = mock(ExecutionQuery.class, RETURNS_SELF);
+    when(runtimeService.createExecutionQuery()).thenReturn(executionQuery);
+    when(executionQuery.count()).thenReturn(6L);
+    assertThat(metrics.countRunningProcesses()).isZero();
+
+    metrics.refreshRunningCounts();
+
+    assertThat(metrics.countRunningProcesses()).isEqualTo(3);
+    assertThat(metrics.countRunningActivities()).isEqualTo(6);
+  }
+
+  @Test
+  void execute_processEvents_counted() {
+    metrics.execute(processEvent(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+    metrics.execute(processEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "endEvent_1"));
+    metrics.execute(processEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "activity"));
+    metrics.execute(processEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "EXTERNALLY_TERMINATED", null));
+
+    assertThat(metrics.countCompletedProcesses()).isEqualTo(3);
+    assertThat(metrics.countFailedProcesses()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_activityEvents_counted() {
+    metrics.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_START, "serviceTask", 0));
+    metrics.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "serviceTask",
+        ActivityInstanceState.DEFAULT.getStateCode()));
+    metrics.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "scriptTask",
+        ActivityInstanceState.CANCELED.getStateCode()));
+    // events are not counted as activities
+    metrics.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "intermediateCatchEvent",
+        ActivityInstanceState.DEFAULT.getStateCode()));
+
+    assertThat(metrics.countCompletedActivities()).isEqualTo(2);
+    assertThat(metrics.countFailedActivities()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_inTransaction_countedAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      metrics.execute(processEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "endEvent_1"));
+      assertThat(metrics.countCompletedProcesses()).isZero();
+
+      TransactionSynchronizationUtils.triggerAfterCommit();
+      assertThat(metrics.countCompletedProcesses()).isEqualTo(1);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void execute_inRolledBackTransaction_notCounted() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      metrics.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "scriptTask",
+          ActivityInstanceState.CANCELED.getStateCode()));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(metrics.countFailedActivities()).isZero();
+  }
+
+  private ProcessInstanceQuery runningProcesses(long count) {
+    ProcessInstanceQuery processQuery = mock(ProcessInstanceQuery.class, RETURNS_SELF);
+    when(runtimeService.createProcessInstanceQuery()).thenReturn(processQuery);
+    when(processQuery.count()).thenReturn(count);
+    return processQuery;
+  }
+
+  private static HistoricProcessInstanceEventEntity processEvent(HistoryEventTypes type, String state,
+      String endActivityId) {
+    HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+    event.setEventType(type.getEventName());
+    event.setState(state);
+    event.setEndActivityId(endActivityId);
+    return event;
+  }
+
+  private static HistoricActivityInstanceEventEntity activityEvent(HistoryEventTypes type, String activityType,
+      int state) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setEventType(type.getEventName());
+    event.setActivityType(activityType);
+    event.setActivityInstanceState(state);
+    return event;
+  }
+}
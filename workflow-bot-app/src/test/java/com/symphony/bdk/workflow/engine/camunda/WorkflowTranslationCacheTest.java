@@ -0,0 +1,107 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.engine.WorkflowEngine;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowTranslationCacheTest {
+  private static final String SWADL = "id: test\n"
+      + "activities:\n"
+      + "  - send-message:\n"
+      + "      id: msg\n"
+      + "      on:\n"
+      + "        message-received:\n"
+      + "          content: msg\n"
+      + "      content: content";
+
+  @Mock
+  WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
+  @Mock
+  CamundaBpmnBuilder bpmnBuilder;
+
+  MeterRegistry registry;
+  WorkflowTranslationCache cache;
+  Workflow workflow;
+
+  @BeforeEach
+  void setUp() throws IOException, ProcessingException {
+    registry = new SimpleMeterRegistry();
+    cache = new WorkflowTranslationCache(workflowEngine, bpmnBuilder, registry, 10);
+    workflow = SwadlParser.fromYaml(SWADL);
+  }
+
+  @Test
+  void translate_sameContentAndVersion_translatedOnce() {
+    whenTranslated();
+    CamundaTranslatedWorkflowContext reused = new CamundaTranslatedWorkflowContext(workflow, null, null);
+    when(bpmnBuilder.translateWorkflow(eq(workflow), anyString())).thenReturn(reused);
+    AtomicInteger parsed = new AtomicInteger();
+
+    CamundaTranslatedWorkflowContext first = cache.translate(SWADL, 1L, () -> {
+      parsed.incrementAndGet();
+      return workflow;
+    });
+    CamundaTranslatedWorkflowContext second = cache.translate(SWADL, 1L, () -> {
+      parsed.incrementAndGet();
+      return workflow;
+    });
+
+    // contexts are mutable, they are not shared
+    assertThat(second).isSameAs(reused).isNotSameAs(first);
+    assertThat(parsed).hasValue(2);
+    verify(workflowEngine).translate(workflow);
+    verify(bpmnBuilder).translateWorkflow(workflow, first.getBpmnXml());
+    assertThat(registry.get("workflow.translation").tag("workflow", "test").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void translate_differentVersionOrContent_translatedAgain() {
+    whenTranslated();
+
+    cache.translate(SWADL, 1L, () -> workflow);
+    cache.translate(SWADL, 2L, () -> workflow);
+    cache.translate(SWADL + "\n", 1L, () -> workflow);
+
+    verify(workflowEngine, times(3)).translate(workflow);
+  }
+
+  @Test
+  void translate_invalidWorkflow_notCached() {
+    when(workflowEngine.translate(any(Workflow.class))).thenThrow(new IllegalArgumentException("invalid"));
+
+    assertThatThrownBy(() -> cache.translate(SWADL, 1L, () -> workflow)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> cache.translate(SWADL, 1L, () -> workflow)).isInstanceOf(IllegalArgumentException.class);
+
+    verify(workflowEngine, times(2)).translate(workflow);
+  }
+
+  private void whenTranslated() {
+    when(workflowEngine.translate(any(Workflow.class))).thenAnswer(
+        invocation -> new CamundaTranslatedWorkflowContext(invocation.getArgument(0), null,
+            Bpmn.createExecutableProcess("test").startEvent().endEvent().done()));
+  }
+}
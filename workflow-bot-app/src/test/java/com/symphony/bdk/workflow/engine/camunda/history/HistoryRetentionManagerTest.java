@@ -0,0 +1,120 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HistoryRetentionManagerTest {
+
+  private final HistoryService historyService = mock(HistoryService.class);
+  private final ManagementService managementService = mock(ManagementService.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private final HistoricProcessInstanceQuery query = mock(HistoricProcessInstanceQuery.class, RETURNS_SELF);
+
+  @BeforeEach
+  void setUp() {
+    when(historyService.createHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableCount()).thenReturn(Map.of("ACT_HI_PROCINST", 10L, "ACT_RU_EXECUTION", 5L));
+  }
+
+  @Test
+  void enforceRetention_expiredInstances_deleted() {
+    List<HistoricProcessInstance> expired = instances("1", "2");
+    when(query.listPage(anyInt(), anyInt())).thenReturn(expired, Collections.emptyList());
+    when(query.count()).thenReturn(3L);
+    HistoryRetentionManager manager = manager(0, DataSize.ofBytes(0));
+
+    manager.enforceRetention();
+
+    verify(query).finishedBefore(any());
+    verify(historyService).deleteHistoricProcessInstancesBulk(List.of("1", "2"));
+    verify(eventPublisher).publishEvent(HistoricInstancesDeletedEvent.ofInstances(List.of("1", "2")));
+    assertThat(manager.getHistoryInstances()).isEqualTo(3L);
+    assertThat(manager.getHistorySize()).isEqualTo(10 * 1024L);
+  }
+
+  @Test
+  void enforceRetention_tooManyInstances_oldestDeleted() {
+    List<HistoricProcessInstance> oldest = instances("1", "2");
+    when(query.listPage(anyInt(), anyInt())).thenReturn(Collections.emptyList(), oldest);
+    when(query.count()).thenReturn(5L);
+    HistoryRetentionManager manager = manager(3, DataSize.ofBytes(0));
+
+    manager.enforceRetention();
+
+    verify(query).listPage(0, 2);
+    verify(historyService).deleteHistoricProcessInstancesBulk(List.of("1", "2"));
+  }
+
+  @Test
+  void enforceRetention_historyTooBig_oldestDeleted() {
+    List<HistoricProcessInstance> oldest = instances("1");
+    when(query.listPage(anyInt(), anyInt())).thenReturn(Collections.emptyList(), oldest);
+    when(query.count()).thenReturn(2L);
+    when(managementService.getTableCount()).thenReturn(Map.of("ACT_HI_PROCINST", 10L), Map.of("ACT_HI_PROCINST", 2L));
+    HistoryRetentionManager manager = manager(0, DataSize.ofKilobytes(5));
+
+    manager.enforceRetention();
+
+    verify(query).listPage(0, 1);
+    verify(historyService).deleteHistoricProcessInstancesBulk(List.of("1"));
+    assertThat(manager.getHistorySize()).isEqualTo(2 * 1024L);
+  }
+
+  @Test
+  void enforceRetention_noTimeToLive_noAgeBasedDeletion() {
+    when(query.count()).thenReturn(3L);
+    HistoryRetentionManager manager = new HistoryRetentionManager(historyService, managementService, eventPublisher,
+        new SimpleMeterRegistry(), null, 0, DataSize.ofBytes(0), DataSize.ofKilobytes(1), 10, 10);
+
+    manager.enforceRetention();
+
+    verify(query, never()).finishedBefore(any());
+    verify(historyService, never()).deleteHistoricProcessInstancesBulk(anyList());
+    assertThat(manager.getHistoryInstances()).isEqualTo(3L);
+  }
+
+  @Test
+  void enforceRetention_nothingToDelete() {
+    when(query.listPage(anyInt(), anyInt())).thenReturn(Collections.emptyList());
+    HistoryRetentionManager manager = manager(0, DataSize.ofBytes(0));
+
+    manager.enforceRetention();
+
+    verify(historyService, never()).deleteHistoricProcessInstancesBulk(anyList());
+  }
+
+  private HistoryRetentionManager manager(long maxInstances, DataSize maxSize) {
+    return new HistoryRetentionManager(historyService, managementService, eventPublisher, new SimpleMeterRegistry(),
+        Duration.ofDays(1), maxInstances, maxSize, DataSize.ofKilobytes(1), 10, 10);
+  }
+
+  private static List<HistoricProcessInstance> instances(String... ids) {
+    return List.of(ids).stream().map(id -> {
+      HistoricProcessInstance instance = mock(HistoricProcessInstance.class);
+      when(instance.getId()).thenReturn(id);
+      return instance;
+    }).toList();
+  }
+}
@@ -0,0 +1,92 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.swadl.v1.Properties;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkflowHistoryLevelTest {
+
+  private final WorkflowHistoryLevel historyLevel = new WorkflowHistoryLevel(true);
+
+  @Test
+  void unknownWorkflow_fullHistory() {
+    ExecutionEntity execution = execution("unknown");
+
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_START, execution)).isTrue();
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE,
+        variable("aVariable", execution))).isTrue();
+  }
+
+  @Test
+  void noneLevel_noHistory() {
+    historyLevel.putLevel("wf", Properties.HistoryLevel.NONE);
+    ExecutionEntity execution = execution("wf");
+
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_START, execution)).isFalse();
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_END, execution)).isFalse();
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE,
+        variable("aVariable", execution))).isFalse();
+  }
+
+  @Test
+  void noneLevel_eventVariableStillRecorded() {
+    historyLevel.putLevel("wf", Properties.HistoryLevel.NONE);
+    ExecutionEntity execution = execution("wf");
+
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE,
+        variable(ActivityExecutorContext.EVENT, execution))).isTrue();
+  }
+
+  @Test
+  void activityLevel_noVariables() {
+    historyLevel.putLevel("wf", Properties.HistoryLevel.ACTIVITY);
+    ExecutionEntity execution = execution("wf");
+
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_START, execution)).isTrue();
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_END, execution)).isTrue();
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE,
+        variable("aVariable", execution))).isFalse();
+  }
+
+  @Test
+  void newVersionLevel_runningInstancesUnchanged() {
+    historyLevel.putLevel("wf", Properties.HistoryLevel.FULL);
+    historyLevel.putLevel("wf-v2", Properties.HistoryLevel.NONE);
+
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_END, execution("wf"))).isTrue();
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_END,
+        execution("wf-v2"))).isFalse();
+  }
+
+  @Test
+  void globalCheck_fullHistory() {
+    historyLevel.putLevel("wf", Properties.HistoryLevel.NONE);
+
+    assertThat(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_START, null)).isTrue();
+  }
+
+  private static ExecutionEntity execution(String deploymentId) {
+    ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+    processDefinition.setKey("wf");
+    processDefinition.setDeploymentId(deploymentId);
+    ExecutionEntity execution = mock(ExecutionEntity.class);
+    when(execution.getProcessDefinition()).thenReturn(processDefinition);
+    return execution;
+  }
+
+  private static VariableInstanceEntity variable(String name, ExecutionEntity execution) {
+    VariableInstanceEntity variable = mock(VariableInstanceEntity.class);
+    when(variable.getName()).thenReturn(name);
+    when(variable.getExecution()).thenReturn(execution);
+    return variable;
+  }
+}
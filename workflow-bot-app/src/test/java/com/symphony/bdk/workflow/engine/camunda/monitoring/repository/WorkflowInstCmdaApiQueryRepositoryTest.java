@@ -3,10 +3,13 @@ package com.symphony.bdk.workflow.engine.camunda.monitoring.repository;
 import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
 import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
 
 import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.community.mockito.QueryMocks;
 import org.junit.jupiter.api.Test;
@@ -14,27 +17,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class WorkflowInstCmdaApiQueryRepositoryTest {
   @Mock HistoryService historyService;
   @Mock RepositoryService repositoryService;
+  @Mock ManagementService managementService;
   @Mock ObjectConverter objectConverter;
   @InjectMocks WorkflowInstCmdaApiQueryRepository queryRepository;
 
@@ -119,6 +128,34 @@ class WorkflowInstCmdaApiQueryRepositoryTest {
     assertThat(all).hasSize(2);
   }
 
+  @Test
+  void findByIdAndInstanceId() {
+    // given
+    HistoricProcessInstance instance = mock(HistoricProcessInstance.class);
+    when(instance.getProcessDefinitionId()).thenReturn("definition");
+    QueryMocks.mockHistoricProcessInstanceQuery(historyService).singleResult(instance);
+    ProcessDefinition definition = mock(ProcessDefinition.class);
+    when(definition.getId()).thenReturn("definition");
+    when(definition.getVersionTag()).thenReturn("2");
+    when(repositoryService.getProcessDefinition("definition")).thenReturn(definition);
+    WorkflowInstanceDomain domain = WorkflowInstanceDomain.builder().instanceId("inst-id").version(2L).build();
+    when(objectConverter.convertCollection(List.of(instance), Map.of("definition", "2"),
+        WorkflowInstanceDomain.class)).thenReturn(List.of(domain));
+
+    // when
+    Optional<WorkflowInstanceDomain> found = queryRepository.findByIdAndInstanceId("workflow", "inst-id");
+
+    // then
+    assertThat(found).contains(domain);
+  }
+
+  @Test
+  void findByIdAndInstanceId_notFound() {
+    QueryMocks.mockHistoricProcessInstanceQuery(historyService).singleResult(null);
+
+    assertThat(queryRepository.findByIdAndInstanceId("workflow", "unknown")).isEmpty();
+  }
+
   static Stream<Arguments> instanceStatus() {
     return Stream.of(
         Arguments.arguments(StatusEnum.COMPLETED),
@@ -133,7 +170,10 @@ class WorkflowInstCmdaApiQueryRepositoryTest {
     // given
     HistoricProcessInstance instance1 = mock(HistoricProcessInstance.class);
     HistoricProcessInstance instance2 = mock(HistoricProcessInstance.class);
-    QueryMocks.mockHistoricProcessInstanceQuery(historyService).list(List.of(instance1, instance2));
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+    when(query.list()).thenReturn(List.of(instance1, instance2));
     ProcessDefinition definition1 = mock(ProcessDefinition.class);
     ProcessDefinition definition2 = mock(ProcessDefinition.class);
     QueryMocks.mockProcessDefinitionQuery(repositoryService).list(List.of(definition1, definition2));
@@ -163,7 +203,10 @@ class WorkflowInstCmdaApiQueryRepositoryTest {
     // given
     HistoricProcessInstance instance1 = mock(HistoricProcessInstance.class);
     HistoricProcessInstance instance2 = mock(HistoricProcessInstance.class);
-    QueryMocks.mockHistoricProcessInstanceQuery(historyService).list(List.of(instance1, instance2));
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+    when(query.list()).thenReturn(List.of(instance1, instance2));
     ProcessDefinition definition1 = mock(ProcessDefinition.class);
     ProcessDefinition definition2 = mock(ProcessDefinition.class);
     QueryMocks.mockProcessDefinitionQuery(repositoryService).list(List.of(definition1, definition2));
@@ -192,4 +235,75 @@ class WorkflowInstCmdaApiQueryRepositoryTest {
     // given
     assertThat(all).hasSize(1);
   }
+
+  @Test
+  void findPage_afterKey_readsNextRows() {
+    // given
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+    HistoricProcessInstance instance = mock(HistoricProcessInstance.class);
+    when(query.listPage(0, 10)).thenReturn(List.of(instance));
+    QueryMocks.mockProcessDefinitionQuery(repositoryService).list(List.of());
+    when(objectConverter.convertCollection(List.of(instance), WorkflowInstanceDomain.class)).thenReturn(
+        List.of(WorkflowInstanceDomain.builder().instanceId("inst-2").build()));
+    Instant start = Instant.ofEpochMilli(1000);
+
+    // when
+    List<WorkflowInstanceDomain> page =
+        queryRepository.findPage("workflow", null, null, new WorkflowInstanceKey(start, "inst-1"), 10);
+
+    // then
+    assertThat(page).hasSize(1);
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(query).sql(sql.capture());
+    assertThat(sql.getValue())
+        .contains("(START_TIME_ > #{startTime} or (START_TIME_ = #{startTime} and ID_ > #{instanceId}))")
+        .endsWith("order by START_TIME_ asc, ID_ asc");
+    verify(query).parameter("startTime", Date.from(start));
+    verify(query).parameter("instanceId", "inst-1");
+  }
+
+  static Stream<Arguments> statusPredicates() {
+    return Stream.of(
+        Arguments.arguments(StatusEnum.COMPLETED, "END_TIME_ is not null and END_ACT_ID_ like 'endEvent%'"),
+        Arguments.arguments(StatusEnum.FAILED, "END_TIME_ is not null and END_ACT_ID_ not like 'endEvent%'"),
+        Arguments.arguments(StatusEnum.PENDING, "END_TIME_ is null")
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("statusPredicates")
+  void findAllByIdWithStatus_filteredByDatabase(StatusEnum status, String predicate) {
+    // given
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+    QueryMocks.mockProcessDefinitionQuery(repositoryService).list(List.of());
+
+    // when
+    queryRepository.findAllByIdAndStatus("workflow", status);
+
+    // then
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(query).sql(sql.capture());
+    assertThat(sql.getValue()).contains(predicate);
+  }
+
+  @Test
+  void findPage_tablePrefix_prefixedTable() {
+    // given
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("WDK.ACT_HI_PROCINST");
+    QueryMocks.mockProcessDefinitionQuery(repositoryService).list(List.of());
+
+    // when
+    queryRepository.findPage("workflow", null, null, null, 10);
+
+    // then
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(query).sql(sql.capture());
+    assertThat(sql.getValue()).startsWith("select * from WDK.ACT_HI_PROCINST where");
+  }
 }
@@ -0,0 +1,120 @@
+package com.symphony.bdk.workflow.engine.handler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AsyncHistoricEventActionExecutorTest {
+
+  private final HistoricEventActionExecutor historicEventActionExecutor = new HistoricEventActionExecutor();
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void submit_disabled_executesSynchronously() {
+    AsyncHistoricEventActionExecutor executor =
+        new AsyncHistoricEventActionExecutor(historicEventActionExecutor, registry, false, 10);
+    executor.start();
+    HistoricEventAction action = mock(HistoricEventAction.class);
+    HistoryEvent event = new HistoryEvent();
+
+    assertThat(executor.submit(action, event)).isTrue();
+
+    verify(action).execute(event);
+  }
+
+  @Test
+  void submit_enabled_executesInBackground() throws InterruptedException {
+    AsyncHistoricEventActionExecutor executor =
+        new AsyncHistoricEventActionExecutor(historicEventActionExecutor, registry, true, 100);
+    executor.start();
+    HistoricEventAction action = mock(HistoricEventAction.class);
+
+    for (int i = 0; i < 25; i++) {
+      assertThat(executor.submit(action, new HistoryEvent())).isTrue();
+    }
+
+    await().atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> verify(action, times(25)).execute(any(HistoryEvent.class)));
+    assertThat(registry.timer("workflow.history.async.lag").count()).isEqualTo(25);
+    executor.stop();
+  }
+
+  @Test
+  void submit_enabled_restoresSubmitterMdc() throws Exception {
+    AsyncHistoricEventActionExecutor executor =
+        new AsyncHistoricEventActionExecutor(historicEventActionExecutor, registry, true, 100);
+    executor.start();
+    CompletableFuture<Map<String, String>> mdc = new CompletableFuture<>();
+    CompletableFuture<Map<String, String>> nextMdc = new CompletableFuture<>();
+
+    MDC.put("X-PROCESS-ID", "instance");
+    try {
+      executor.submit(event -> mdc.complete(MDC.getCopyOfContextMap()), new HistoryEvent());
+    } finally {
+      MDC.clear();
+    }
+    executor.submit(event -> nextMdc.complete(MDC.getCopyOfContextMap()), new HistoryEvent());
+
+    assertThat(mdc.get(5, TimeUnit.SECONDS)).containsEntry("X-PROCESS-ID", "instance");
+    // not leaked to the next action
+    assertThat(nextMdc.get(5, TimeUnit.SECONDS)).isNullOrEmpty();
+    executor.stop();
+  }
+
+  @Test
+  void submit_queueFull_dropsEvent() throws InterruptedException {
+    AsyncHistoricEventActionExecutor executor =
+        new AsyncHistoricEventActionExecutor(historicEventActionExecutor, registry, true, 1);
+    executor.start();
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    HistoricEventAction blockingAction = event -> {
+      blocked.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    executor.submit(blockingAction, new HistoryEvent());
+    assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+    // consumer is busy, the first event fills the queue and the second one is dropped
+    assertThat(executor.submit(blockingAction, new HistoryEvent())).isTrue();
+    assertThat(executor.submit(blockingAction, new HistoryEvent())).isFalse();
+    assertThat(registry.counter("workflow.history.async.dropped").count()).isEqualTo(1);
+
+    release.countDown();
+    executor.stop();
+  }
+
+  @Test
+  void stop_drainsQueuedEvents() throws InterruptedException {
+    AsyncHistoricEventActionExecutor executor =
+        new AsyncHistoricEventActionExecutor(historicEventActionExecutor, registry, true, 100);
+    executor.start();
+    HistoricEventAction action = mock(HistoricEventAction.class);
+    for (int i = 0; i < 50; i++) {
+      executor.submit(action, new HistoryEvent());
+    }
+
+    executor.stop();
+
+    verify(action, times(50)).execute(any(HistoryEvent.class));
+  }
+}
@@ -1,6 +1,10 @@
 package com.symphony.bdk.workflow.engine.handler;
 
+import com.symphony.bdk.workflow.engine.camunda.CamundaMetrics;
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
+import com.symphony.bdk.workflow.engine.handler.readmodel.InstanceSummaryProjection;
+import com.symphony.bdk.workflow.engine.handler.stats.WorkflowStatsAction;
+import com.symphony.bdk.workflow.engine.handler.stream.InstanceStateStreamAction;
 import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -23,12 +27,27 @@ public class HistoricEventActionTest {
   @Mock
   HistoricEventActionExecutor historicEventActionExecutor;
 
+  @Mock
+  AsyncHistoricEventActionExecutor asyncHistoricEventActionExecutor;
+
   @Mock
   AuditTrailLogAction auditTrailLogAction;
 
   @Mock
   WorkflowEventVariableAction workflowEventVariableAction;
 
+  @Mock
+  InstanceSummaryProjection instanceSummaryProjection;
+
+  @Mock
+  WorkflowStatsAction workflowStatsAction;
+
+  @Mock
+  CamundaMetrics camundaMetrics;
+
+  @Mock
+  InstanceStateStreamAction instanceStateStreamAction;
+
   @InjectMocks
   HistoricEventHandler historicEventHandler;
 
@@ -41,8 +60,8 @@ public class HistoricEventActionTest {
 
     historicEventHandler.handleEvents(Arrays.asList(historyEvent1, historyEvent2));
 
-    verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent1));
-    verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent2));
+    verify(asyncHistoricEventActionExecutor).submit(eq(auditTrailLogAction), eq(historyEvent1));
+    verify(asyncHistoricEventActionExecutor).submit(eq(auditTrailLogAction), eq(historyEvent2));
     verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent1));
     verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent2));
   }
@@ -55,7 +74,11 @@ public class HistoricEventActionTest {
 
     historicEventHandler.handleEvent(historyEvent);
 
-    verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent));
+    verify(asyncHistoricEventActionExecutor).submit(eq(auditTrailLogAction), eq(historyEvent));
     verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(instanceSummaryProjection), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(workflowStatsAction), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(camundaMetrics), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(instanceStateStreamAction), eq(historyEvent));
   }
 }
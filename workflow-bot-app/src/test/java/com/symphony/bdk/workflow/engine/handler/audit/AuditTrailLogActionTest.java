@@ -0,0 +1,54 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditTrailLogActionTest {
+
+  private final AuditTrailWriter writer = mock(AuditTrailWriter.class);
+  private final AuditTrailProperties properties = new AuditTrailProperties();
+
+  @Test
+  void execute_processEvent_written() {
+    when(writer.isEnabled()).thenReturn(true);
+    HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+    event.setEventType("start");
+    event.setProcessInstanceId("instance");
+    event.setProcessDefinitionKey("key");
+
+    new AuditTrailLogAction(writer, properties).execute(event);
+
+    ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+    verify(writer).write(captor.capture());
+    assertThat(captor.getValue().getType()).isEqualTo(AuditTrailLogAction.PROCESS);
+    assertThat(captor.getValue().toKeyValues()).isEqualTo("event=start_process, process=instance, process_key=key");
+  }
+
+  @Test
+  void execute_eventTypeSampledOut_notWritten() {
+    when(writer.isEnabled()).thenReturn(true);
+    properties.getSampling().put(AuditTrailLogAction.ACTIVITY, 0.0);
+
+    new AuditTrailLogAction(writer, properties).execute(new HistoricActivityInstanceEventEntity());
+
+    verify(writer, never()).write(any());
+  }
+
+  @Test
+  void execute_writerDisabled_notWritten() {
+    when(writer.isEnabled()).thenReturn(false);
+
+    new AuditTrailLogAction(writer, properties).execute(new HistoricProcessInstanceEventEntity());
+
+    verify(writer, never()).write(any());
+  }
+}
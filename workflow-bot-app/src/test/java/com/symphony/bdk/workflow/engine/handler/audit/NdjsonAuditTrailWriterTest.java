@@ -0,0 +1,89 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonAuditTrailWriterTest {
+
+  @TempDir
+  Path folder;
+
+  @Test
+  void write_ndjsonLines() throws IOException, InterruptedException {
+    Path file = folder.resolve("audit.ndjson");
+    NdjsonAuditTrailWriter writer = new NdjsonAuditTrailWriter(properties(file, DataSize.ofMegabytes(1)),
+        new SimpleMeterRegistry());
+    writer.start();
+
+    writer.write(AuditEvent.of("process", "event", "start_process", "process", "id\"1", "duration", 12L));
+    writer.write(AuditEvent.of("activity", "event", "end_activity", "activity_name", null));
+    writer.stop();
+
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertThat(lines).hasSize(2);
+    assertThat(lines.get(0)).startsWith("{\"timestamp\":\"")
+        .endsWith("\"type\":\"process\",\"event\":\"start_process\",\"process\":\"id\\\"1\",\"duration\":12}");
+    assertThat(lines.get(1)).endsWith("\"type\":\"activity\",\"event\":\"end_activity\",\"activity_name\":null}");
+  }
+
+  @Test
+  void write_maxFileSizeReached_fileRolled() throws IOException, InterruptedException {
+    Path file = folder.resolve("audit.ndjson");
+    NdjsonAuditTrailWriter writer = new NdjsonAuditTrailWriter(properties(file, DataSize.ofBytes(1)),
+        new SimpleMeterRegistry());
+    writer.start();
+
+    writer.write(AuditEvent.of("job", "job", "1"));
+    waitForFile(writer.historyFile(1));
+    writer.write(AuditEvent.of("job", "job", "2"));
+    waitForFile(writer.historyFile(2));
+    writer.stop();
+
+    assertThat(writer.historyFile(1)).isEqualTo(folder.resolve("audit.1.ndjson"));
+    assertThat(Files.readString(writer.historyFile(1))).contains("\"job\":\"2\"");
+    assertThat(Files.readString(writer.historyFile(2))).contains("\"job\":\"1\"");
+  }
+
+  @Test
+  void write_sustainedLoad_fileRolled() throws IOException, InterruptedException {
+    Path file = folder.resolve("audit.ndjson");
+    NdjsonAuditTrailWriter writer = new NdjsonAuditTrailWriter(properties(file, DataSize.ofBytes(150)),
+        new SimpleMeterRegistry());
+    // the buffer is never empty while these events are written
+    for (int i = 0; i < 16; i++) {
+      writer.write(AuditEvent.of("job", "job", String.valueOf(i)));
+    }
+    writer.start();
+    writer.stop();
+
+    List<String> lastLines = Files.readAllLines(writer.historyFile(1), StandardCharsets.UTF_8);
+    assertThat(lastLines).hasSizeLessThan(16);
+    assertThat(Files.size(writer.historyFile(1))).isLessThan(300);
+    assertThat(Files.readString(file)).contains("\"job\":\"15\"");
+  }
+
+  private static void waitForFile(Path path) throws InterruptedException {
+    for (int i = 0; i < 500 && !Files.exists(path); i++) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static AuditTrailProperties properties(Path file, DataSize maxFileSize) {
+    AuditTrailProperties properties = new AuditTrailProperties();
+    properties.getNdjson().setFile(file.toString());
+    properties.getNdjson().setMaxFileSize(maxFileSize);
+    properties.getNdjson().setMaxHistory(2);
+    properties.getNdjson().setBufferSize(16);
+    return properties;
+  }
+}
@@ -0,0 +1,252 @@
+package com.symphony.bdk.workflow.engine.handler.readmodel;
+
+import com.symphony.bdk.workflow.engine.camunda.history.HistoricInstancesDeletedEvent;
+import com.symphony.bdk.workflow.monitoring.readmodel.InstanceSummary;
+import com.symphony.bdk.workflow.monitoring.readmodel.InstanceSummaryRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InstanceSummaryProjectionTest {
+
+  private final InstanceSummaryRepository repository = mock(InstanceSummaryRepository.class);
+  private final RepositoryService repositoryService = mock(RepositoryService.class);
+  private final HistoryService historyService = mock(HistoryService.class);
+  private final ManagementService managementService = mock(ManagementService.class);
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final List<Runnable> rebuilds = new ArrayList<>();
+
+  @Test
+  void execute_instanceStarted_pendingSummarySaved() {
+    definition("2");
+
+    projection(true).execute(event(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+
+    InstanceSummary summary = savedSummary();
+    assertThat(summary.getInstanceId()).isEqualTo("instance");
+    assertThat(summary.getWorkflowId()).isEqualTo("workflow");
+    assertThat(summary.getDefinitionId()).isEqualTo("definition");
+    assertThat(summary.getVersion()).isEqualTo(2L);
+    assertThat(summary.getStatus()).isEqualTo("PENDING");
+    assertThat(summary.getStartDate()).isNotNull();
+    assertThat(summary.getEndDate()).isNull();
+  }
+
+  @Test
+  void execute_instanceEnded_summaryUpdated() {
+    definition("2");
+    InstanceSummary started = new InstanceSummary();
+    started.setStatus("PENDING");
+    when(repository.findById("instance")).thenReturn(Optional.of(started));
+
+    HistoricProcessInstanceEventEntity event = event(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "endEvent_1");
+    event.setEndTime(new Date(event.getStartTime().getTime() + 10));
+    event.setDurationInMillis(10L);
+    projection(true).execute(event);
+
+    InstanceSummary summary = savedSummary();
+    assertThat(summary).isSameAs(started);
+    assertThat(summary.getStatus()).isEqualTo("COMPLETED");
+    assertThat(summary.getEndDate()).isNotNull();
+    assertThat(summary.getDuration()).isEqualTo(10L);
+  }
+
+  @Test
+  void execute_instanceFailed_failedStatus() {
+    definition(null);
+    when(repository.findById("instance")).thenReturn(Optional.empty());
+
+    projection(true).execute(event(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "scriptTask"));
+
+    InstanceSummary summary = savedSummary();
+    assertThat(summary.getStatus()).isEqualTo("FAILED");
+    assertThat(summary.getVersion()).isNull();
+  }
+
+  @Test
+  void execute_saveFails_countedAndRebuildScheduled() {
+    definition("1");
+    when(repository.save(any())).thenThrow(new IllegalStateException("database down"));
+    when(repository.count()).thenReturn(1L);
+    historicInstances(1L);
+    InstanceSummaryProjection projection = projection(true);
+    projection.rebuildOnStartup();
+
+    projection.execute(event(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+    projection.execute(event(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+
+    assertThat(registry.counter("workflow.monitoring.read-model.failed").count()).isEqualTo(2);
+    assertThat(projection.isReady()).isFalse();
+    assertThat(rebuilds).hasSize(1);
+  }
+
+  @Test
+  void execute_disabledOrOtherEvent_ignored() {
+    projection(false).execute(event(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+    projection(true).execute(new HistoricVariableUpdateEventEntity());
+
+    verifyNoInteractions(repository, repositoryService);
+  }
+
+  @Test
+  void onHistoricInstancesDeleted_summariesDeleted() {
+    InstanceSummaryProjection projection = projection(true);
+
+    projection.onHistoricInstancesDeleted(HistoricInstancesDeletedEvent.ofInstances(List.of("1", "2")));
+    projection.onHistoricInstancesDeleted(HistoricInstancesDeletedEvent.ofDefinitions(List.of("definition")));
+
+    verify(repository).deleteByInstanceIds(List.of("1", "2"));
+    verify(repository).deleteByDefinitionIds(List.of("definition"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rebuild_readsHistoryInBatches() {
+    definition("1");
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("WDK.ACT_HI_PROCINST");
+    when(query.listPage(0, 2)).thenReturn(List.of(instance("1"), instance("2")), List.of(instance("3")));
+    InstanceSummaryProjection projection = projection(true);
+
+    long count = projection.rebuild();
+
+    assertThat(count).isEqualTo(3);
+    assertThat(projection.isReady()).isTrue();
+    verify(repository).deleteAllInBatch();
+    verify(query, times(2)).sql("select * from WDK.ACT_HI_PROCINST where ID_ > #{lastId} order by ID_ asc");
+    verify(query).parameter("lastId", "");
+    verify(query).parameter("lastId", "2");
+    ArgumentCaptor<List<InstanceSummary>> batches = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(2)).saveAll(batches.capture());
+    assertThat(batches.getAllValues().get(1)).extracting(InstanceSummary::getInstanceId).containsExactly("3");
+  }
+
+  @Test
+  void rebuildOnStartup_sameCount_skipped() {
+    when(repository.count()).thenReturn(1L);
+    historicInstances(1L);
+    InstanceSummaryProjection projection = projection(true);
+
+    projection.rebuildOnStartup();
+
+    assertThat(projection.isReady()).isTrue();
+    assertThat(rebuilds).isEmpty();
+    verify(repository, never()).saveAll(anyList());
+    verify(historyService, never()).createNativeHistoricProcessInstanceQuery();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rebuildOnStartup_missingInstances_rebuiltInBackground() {
+    definition("1");
+    when(repository.count()).thenReturn(1L);
+    historicInstances(2L);
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+    when(query.listPage(0, 2)).thenReturn(List.of(instance("1")));
+    InstanceSummaryProjection projection = projection(true);
+
+    projection.rebuildOnStartup();
+
+    assertThat(projection.isReady()).isFalse();
+    verify(repository, never()).deleteAllInBatch();
+    assertThat(rebuilds).hasSize(1);
+
+    rebuilds.get(0).run();
+
+    assertThat(projection.isReady()).isTrue();
+    verify(repository).deleteAllInBatch();
+    verify(repository).saveAll(anyList());
+  }
+
+  @Test
+  void rebuild_fails_notReady() {
+    NativeHistoricProcessInstanceQuery query = mock(NativeHistoricProcessInstanceQuery.class, RETURNS_SELF);
+    when(historyService.createNativeHistoricProcessInstanceQuery()).thenReturn(query);
+    when(managementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+    when(query.listPage(0, 2)).thenThrow(new IllegalStateException("database down"));
+    InstanceSummaryProjection projection = projection(true);
+
+    assertThatThrownBy(projection::rebuild).isInstanceOf(IllegalStateException.class);
+
+    assertThat(projection.isReady()).isFalse();
+  }
+
+  private InstanceSummaryProjection projection(boolean enabled) {
+    return new InstanceSummaryProjection(repository, repositoryService, historyService, managementService, registry,
+        enabled, false, 2, rebuilds::add);
+  }
+
+  private void historicInstances(long count) {
+    HistoricProcessInstanceQuery query = mock(HistoricProcessInstanceQuery.class);
+    when(query.count()).thenReturn(count);
+    when(historyService.createHistoricProcessInstanceQuery()).thenReturn(query);
+  }
+
+  private void definition(String versionTag) {
+    ProcessDefinition definition = mock(ProcessDefinition.class);
+    when(definition.getVersionTag()).thenReturn(versionTag);
+    when(repositoryService.getProcessDefinition("definition")).thenReturn(definition);
+  }
+
+  private InstanceSummary savedSummary() {
+    ArgumentCaptor<InstanceSummary> summary = ArgumentCaptor.forClass(InstanceSummary.class);
+    verify(repository).save(summary.capture());
+    return summary.getValue();
+  }
+
+  private static HistoricProcessInstanceEventEntity event(HistoryEventTypes type, String state, String endActivityId) {
+    HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+    event.setEventType(type.getEventName());
+    event.setProcessInstanceId("instance");
+    event.setProcessDefinitionKey("workflow");
+    event.setProcessDefinitionId("definition");
+    event.setStartTime(new Date());
+    event.setState(state);
+    event.setEndActivityId(endActivityId);
+    return event;
+  }
+
+  private static HistoricProcessInstance instance(String id) {
+    HistoricProcessInstanceEntity instance = new HistoricProcessInstanceEntity();
+    instance.setId(id);
+    instance.setProcessInstanceId(id);
+    instance.setProcessDefinitionKey("workflow");
+    instance.setProcessDefinitionId("definition");
+    instance.setStartTime(new Date());
+    instance.setState("ACTIVE");
+    return instance;
+  }
+}
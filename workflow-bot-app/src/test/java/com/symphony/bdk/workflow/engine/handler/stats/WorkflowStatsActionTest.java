@@ -0,0 +1,119 @@
+package com.symphony.bdk.workflow.engine.handler.stats;
+
+import com.symphony.bdk.workflow.monitoring.stats.WorkflowStatistics;
+
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowStatsActionTest {
+
+  @Mock
+  WorkflowStatistics statistics;
+
+  @InjectMocks
+  WorkflowStatsAction action;
+
+  @Test
+  void execute_instanceStarted() {
+    action.execute(instanceEvent(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+
+    verify(statistics).instanceStarted("workflow");
+  }
+
+  @Test
+  void execute_instanceCompleted() {
+    action.execute(instanceEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "endEvent_1"));
+
+    verify(statistics).instanceEnded("workflow", false, 10L);
+  }
+
+  @Test
+  void execute_instanceFailed() {
+    action.execute(instanceEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "activity"));
+
+    verify(statistics).instanceEnded("workflow", true, 10L);
+  }
+
+  @Test
+  void execute_inTransaction_recordedAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      action.execute(instanceEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "COMPLETED", "endEvent_1"));
+      verify(statistics, never()).instanceEnded("workflow", false, 10L);
+
+      TransactionSynchronizationUtils.triggerAfterCommit();
+      verify(statistics).instanceEnded("workflow", false, 10L);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void execute_inRolledBackTransaction_notRecorded() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      action.execute(instanceEvent(HistoryEventTypes.PROCESS_INSTANCE_START, "ACTIVE", null));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verifyNoInteractions(statistics);
+  }
+
+  @Test
+  void execute_instanceTerminated_ignored() {
+    action.execute(instanceEvent(HistoryEventTypes.PROCESS_INSTANCE_END, "EXTERNALLY_TERMINATED", null));
+
+    verifyNoInteractions(statistics);
+  }
+
+  @Test
+  void execute_activityEnded() {
+    action.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "serviceTask"));
+
+    verify(statistics).activityEnded("workflow", "activity", 5L);
+  }
+
+  @Test
+  void execute_gatewayOrActivityStarted_ignored() {
+    action.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "exclusiveGateway"));
+    action.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_END, "noneEndEvent"));
+    action.execute(activityEvent(HistoryEventTypes.ACTIVITY_INSTANCE_START, "serviceTask"));
+
+    verifyNoInteractions(statistics);
+  }
+
+  private static HistoricProcessInstanceEventEntity instanceEvent(HistoryEventTypes type, String state,
+      String endActivityId) {
+    HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+    event.setEventType(type.getEventName());
+    event.setProcessDefinitionKey("workflow");
+    event.setState(state);
+    event.setEndActivityId(endActivityId);
+    event.setDurationInMillis(10L);
+    return event;
+  }
+
+  private static HistoricActivityInstanceEventEntity activityEvent(HistoryEventTypes type, String activityType) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setEventType(type.getEventName());
+    event.setProcessDefinitionKey("workflow");
+    event.setActivityId("activity");
+    event.setActivityType(activityType);
+    event.setDurationInMillis(5L);
+    return event;
+  }
+}
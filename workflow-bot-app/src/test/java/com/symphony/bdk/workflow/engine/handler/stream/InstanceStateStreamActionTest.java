@@ -0,0 +1,176 @@
+package com.symphony.bdk.workflow.engine.handler.stream;
+
+import com.symphony.bdk.workflow.api.v1.dto.NodeStateView;
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
+import com.symphony.bdk.workflow.api.v1.dto.VariableView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
+import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowNode;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.monitoring.repository.domain.VariablesDomain;
+import com.symphony.bdk.workflow.monitoring.stream.InstanceStateStream;
+import com.symphony.bdk.workflow.swadl.v1.activity.message.SendMessage;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.history.HistoricDetail;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceStateStreamActionTest {
+
+  @Mock
+  InstanceStateStream stream;
+
+  @Mock
+  WorkflowDirectedGraphService workflowDirectedGraphService;
+
+  @Mock
+  RepositoryService repositoryService;
+
+  @Mock
+  ObjectConverter objectConverter;
+
+  @InjectMocks
+  InstanceStateStreamAction action;
+
+  @Test
+  void execute_notWatched_ignored() {
+    when(stream.isWatched("instance")).thenReturn(false);
+
+    action.execute(activityEvent("activity"));
+
+    verifyNoInteractions(workflowDirectedGraphService, repositoryService, objectConverter);
+    verifyNoMoreInteractions(stream);
+  }
+
+  @Test
+  void execute_activityEvent_nodePublished() {
+    when(stream.isWatched("instance")).thenReturn(true);
+    mockVersionTag(null);
+    when(workflowDirectedGraphService.getDirectedGraph("workflow")).thenReturn(directedGraph());
+
+    action.execute(activityEvent("activity"));
+    // not part of the SWADL
+    action.execute(activityEvent("gateway"));
+
+    ArgumentCaptor<NodeStateView> captor = ArgumentCaptor.forClass(NodeStateView.class);
+    verify(stream).publish(eq("instance"), eq("node"), captor.capture());
+    assertThat(captor.getValue().getNodeId()).isEqualTo("activity");
+    assertThat(captor.getValue().getType()).isEqualTo("SEND_MESSAGE");
+    assertThat(captor.getValue().getGroup()).isEqualTo("ACTIVITY");
+    assertThat(captor.getValue().getDuration()).isEqualTo(Duration.ofMillis(10));
+  }
+
+  @Test
+  void execute_versionedInstance_nodeOfInstanceVersionPublished() {
+    when(stream.isWatched("instance")).thenReturn(true);
+    mockVersionTag("2");
+    when(workflowDirectedGraphService.getDirectedGraph("workflow", 2L)).thenReturn(directedGraph());
+
+    action.execute(activityEvent("activity"));
+
+    ArgumentCaptor<NodeStateView> captor = ArgumentCaptor.forClass(NodeStateView.class);
+    verify(stream).publish(eq("instance"), eq("node"), captor.capture());
+    assertThat(captor.getValue().getNodeId()).isEqualTo("activity");
+    verifyNoMoreInteractions(workflowDirectedGraphService);
+  }
+
+  @Test
+  void execute_globalVariablesUpdate_variablesPublished() {
+    HistoricDetailVariableInstanceUpdateEntity event = new HistoricDetailVariableInstanceUpdateEntity();
+    event.setProcessInstanceId("instance");
+    event.setVariableName(ActivityExecutorContext.VARIABLES);
+    VariablesDomain variables = new VariablesDomain();
+    variables.setOutputs(Map.of("key", "value"));
+    variables.setRevision(2);
+    when(stream.isWatched("instance")).thenReturn(true);
+    when(objectConverter.convert(event, HistoricDetail.class, VariablesDomain.class)).thenReturn(variables);
+
+    action.execute(event);
+
+    ArgumentCaptor<VariableView> captor = ArgumentCaptor.forClass(VariableView.class);
+    verify(stream).publish(eq("instance"), eq("variables"), captor.capture());
+    assertThat(captor.getValue().getOutputs()).containsEntry("key", "value");
+    assertThat(captor.getValue().getRevision()).isEqualTo(2);
+  }
+
+  @Test
+  void execute_otherVariableUpdate_ignored() {
+    HistoricDetailVariableInstanceUpdateEntity event = new HistoricDetailVariableInstanceUpdateEntity();
+    event.setProcessInstanceId("instance");
+    event.setVariableName("activity");
+    when(stream.isWatched("instance")).thenReturn(true);
+
+    action.execute(event);
+
+    verifyNoInteractions(objectConverter);
+    verifyNoMoreInteractions(stream);
+  }
+
+  @Test
+  void execute_processEnd_endPublished() {
+    HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+    event.setEventType(HistoryEventTypes.PROCESS_INSTANCE_END.getEventName());
+    event.setProcessInstanceId("instance");
+    event.setProcessDefinitionKey("workflow");
+    event.setState("COMPLETED");
+    event.setEndActivityId("endEvent_1");
+    when(stream.isWatched("instance")).thenReturn(true);
+
+    action.execute(event);
+
+    ArgumentCaptor<WorkflowInstView> captor = ArgumentCaptor.forClass(WorkflowInstView.class);
+    verify(stream).publish(eq("instance"), eq(InstanceStateStream.END_EVENT), captor.capture());
+    assertThat(captor.getValue().getStatus()).isEqualTo(StatusEnum.COMPLETED);
+    assertThat(captor.getValue().getId()).isEqualTo("workflow");
+  }
+
+  private void mockVersionTag(String versionTag) {
+    ProcessDefinition definition = mock(ProcessDefinition.class);
+    when(definition.getVersionTag()).thenReturn(versionTag);
+    when(repositoryService.getProcessDefinition("definition")).thenReturn(definition);
+  }
+
+  private static WorkflowDirectedGraph directedGraph() {
+    WorkflowNode node = new WorkflowNode();
+    node.id("activity");
+    node.wrappedType(SendMessage.class);
+    WorkflowDirectedGraph directedGraph = new WorkflowDirectedGraph("workflow", null);
+    directedGraph.registerToDictionary("activity", node);
+    return directedGraph;
+  }
+
+  private static HistoricActivityInstanceEventEntity activityEvent(String activityId) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setEventType(HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName());
+    event.setProcessInstanceId("instance");
+    event.setProcessDefinitionKey("workflow");
+    event.setProcessDefinitionId("definition");
+    event.setActivityId(activityId);
+    event.setDurationInMillis(10L);
+    return event;
+  }
+}
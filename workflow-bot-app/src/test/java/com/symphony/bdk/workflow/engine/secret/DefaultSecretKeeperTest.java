@@ -2,20 +2,24 @@ package com.symphony.bdk.workflow.engine.secret;
 
 import com.symphony.bdk.workflow.exception.DuplicateException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,9 +29,14 @@ class DefaultSecretKeeperTest {
   SecretRepository repository;
   @Mock
   SecretCryptVault vault;
-  @InjectMocks
+  SimpleMeterRegistry registry = new SimpleMeterRegistry();
   DefaultSecretKeeper secretKeeper;
 
+  @BeforeEach
+  void setUp() {
+    secretKeeper = new DefaultSecretKeeper(repository, vault, registry, Duration.ofMinutes(1), 100);
+  }
+
   @Test
   void saveSuccessfully() {
     when(repository.findByRef(anyString())).thenReturn(Optional.empty());
@@ -60,4 +69,54 @@ class DefaultSecretKeeperTest {
     secretKeeper.remove("key");
     verify(repository).deleteByRef(anyString());
   }
+
+  @Test
+  @DisplayName("Secrets are decrypted once and then served from the cache")
+  void getCached() {
+    byte[] decrypted = "value".getBytes(StandardCharsets.UTF_8);
+    when(repository.findByRef("key")).thenReturn(Optional.of(encrypted("key")));
+    when(vault.decrypt(any())).thenReturn(decrypted);
+
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("value");
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("value");
+
+    verify(vault).decrypt(any());
+    Assertions.assertThat(registry.get("workflow.secret.decrypt").timer().count()).isEqualTo(1);
+    Assertions.assertThat(
+        registry.get("cache.gets").tag("cache", "secret").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Removing a secret evicts and wipes its cached value")
+  void removeInvalidatesCache() {
+    byte[] decrypted = "value".getBytes(StandardCharsets.UTF_8);
+    when(repository.findByRef("key")).thenReturn(Optional.of(encrypted("key")), Optional.empty());
+    when(vault.decrypt(any())).thenReturn(decrypted);
+
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("value");
+    secretKeeper.remove("key");
+
+    Assertions.assertThat(decrypted).containsOnly((byte) 0);
+    Assertions.assertThat(secretKeeper.get("key")).isNull();
+    verify(repository, times(2)).findByRef("key");
+  }
+
+  @Test
+  @DisplayName("Saving a secret evicts a previously cached value")
+  void saveInvalidatesCache() {
+    when(repository.findByRef("key")).thenReturn(Optional.of(encrypted("key")), Optional.empty(),
+        Optional.of(encrypted("key")));
+    when(vault.decrypt(any())).thenReturn("old".getBytes(StandardCharsets.UTF_8),
+        "new".getBytes(StandardCharsets.UTF_8));
+    when(vault.encrypt(any())).thenReturn("".getBytes(StandardCharsets.UTF_8));
+
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("old");
+    secretKeeper.save("key", "new".getBytes(StandardCharsets.UTF_8));
+
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("new");
+  }
+
+  private static SecretDomain encrypted(String key) {
+    return new SecretDomain(key, Base64.getEncoder().encodeToString("encrypted".getBytes(StandardCharsets.UTF_8)));
+  }
 }
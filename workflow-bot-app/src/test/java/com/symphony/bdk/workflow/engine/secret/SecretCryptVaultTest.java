@@ -3,12 +3,14 @@ package com.symphony.bdk.workflow.engine.secret;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.security.spec.KeySpec;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SecretCryptVaultTest {
 
@@ -30,4 +32,66 @@ class SecretCryptVaultTest {
     assertThat(toEncrypt).isEqualTo(decrypted);
   }
 
+  @Test
+  void testCipherReusedAfterFailure() throws Exception {
+    SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+    KeySpec spec = new PBEKeySpec("password".toCharArray(), "salt".getBytes(StandardCharsets.UTF_8), 65536, 256);
+    SecretCryptVault vault =
+        new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, factory.generateSecret(spec).getEncoded());
+
+    byte[] first = vault.encrypt("first".getBytes(StandardCharsets.UTF_8));
+    byte[] second = vault.encrypt("second".getBytes(StandardCharsets.UTF_8));
+    byte[] tampered = first.clone();
+    tampered[tampered.length - 1] ^= 1;
+
+    assertThatThrownBy(() -> vault.decrypt(tampered)).isInstanceOf(CryptOperationException.class);
+    assertThat(new String(vault.decrypt(first), StandardCharsets.UTF_8)).isEqualTo("first");
+    assertThat(new String(vault.decrypt(second), StandardCharsets.UTF_8)).isEqualTo("second");
+  }
+
+  @Test
+  void testDerivedVersionStableWhenKeysRemoved() {
+    byte[] previousKey = randomKey();
+    byte[] key = otherVersionKey(previousKey);
+    SecretCryptVault rotating = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(previousKey)
+        .with256BitAesGcmNoPaddingAnd64BitSaltKey(key)
+        .withDefaultKeyVersion(SecretCryptVault.keyVersion(key));
+    byte[] encrypted = rotating.encrypt("secret".getBytes(StandardCharsets.UTF_8));
+
+    // the previous key is removed once secrets are rotated
+    SecretCryptVault rotated = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(key);
+
+    assertThat(SecretCryptVault.version(encrypted)).isEqualTo(SecretCryptVault.keyVersion(key))
+        .isBetween(1, 255);
+    assertThat(new String(rotated.decrypt(encrypted), StandardCharsets.UTF_8)).isEqualTo("secret");
+  }
+
+  @Test
+  void testLegacyVersionDecryptedWithAnyKey() {
+    byte[] legacyKey = randomKey();
+    byte[] legacy = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, legacyKey)
+        .encrypt("secret".getBytes(StandardCharsets.UTF_8));
+    SecretCryptVault vault = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(legacyKey)
+        .with256BitAesGcmNoPaddingAnd64BitSaltKey(otherVersionKey(legacyKey));
+
+    assertThat(vault.isKnownVersion(SecretCryptVault.LEGACY_VERSION)).isTrue();
+    assertThat(new String(vault.decrypt(legacy), StandardCharsets.UTF_8)).isEqualTo("secret");
+    assertThatThrownBy(() -> new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(randomKey())
+        .decrypt(legacy)).isInstanceOf(CryptOperationException.class);
+  }
+
+  private static byte[] otherVersionKey(byte[] key) {
+    // versions are only 8 bits long, two random keys might share one
+    byte[] otherKey = randomKey();
+    while (SecretCryptVault.keyVersion(otherKey) == SecretCryptVault.keyVersion(key)) {
+      otherKey = randomKey();
+    }
+    return otherKey;
+  }
+
+  private static byte[] randomKey() {
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    return key;
+  }
 }
@@ -0,0 +1,138 @@
+package com.symphony.bdk.workflow.engine.secret;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecretKeyRotationTest {
+  @Mock
+  SecretRepository repository;
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  SecretCryptVault oldVault;
+  SecretCryptVault vault;
+  SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  SecretKeyRotation rotation;
+
+  @BeforeEach
+  void setUp() {
+    byte[] oldKey = randomKey();
+    oldVault = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, oldKey);
+    vault = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, oldKey)
+        .with256BitAesGcmNoPaddingAnd64BitSaltKey(1, randomKey());
+    rotation = new SecretKeyRotation(repository, vault, transactionManager, registry, true, 2, 1, 2);
+  }
+
+  @Test
+  void rotate() {
+    List<SecretDomain> secrets = new ArrayList<>();
+    secrets.add(secret("a", oldVault.encrypt(bytes("secret-a"))));
+    secrets.add(secret("b", vault.encrypt(bytes("secret-b"))));
+    secrets.add(secret("c", oldVault.encrypt(bytes("secret-c"))));
+    when(repository.count()).thenReturn(3L);
+    when(repository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class))).thenReturn(secrets.subList(0, 2));
+    when(repository.findByIdGreaterThanOrderByIdAsc(eq("b"), any(Pageable.class))).thenReturn(secrets.subList(2, 3));
+    when(repository.updateSecret(eq("a"), eq(secrets.get(0).getSecret()), anyString())).thenReturn(1);
+    // c has been modified since it was read
+    when(repository.updateSecret(eq("c"), eq(secrets.get(2).getSecret()), anyString())).thenReturn(0);
+
+    SecretKeyRotation.Progress progress = rotation.rotate();
+
+    assertThat(progress.getTotal()).isEqualTo(3);
+    assertThat(progress.getRotated()).isEqualTo(1);
+    assertThat(progress.getUpToDate()).isEqualTo(1);
+    assertThat(progress.getConflicts()).isEqualTo(1);
+    assertThat(progress.getProcessed()).isEqualTo(3);
+    assertThat(registry.get("workflow.secret.rotation").tag("result", "rotated").gauge().value()).isEqualTo(1);
+    verify(repository, never()).updateSecret(eq("b"), anyString(), anyString());
+  }
+
+  @Test
+  void rotate_reEncryptsWithDefaultVersion() {
+    SecretDomain secret = secret("a", oldVault.encrypt(bytes("secret-a")));
+    when(repository.count()).thenReturn(1L);
+    when(repository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class))).thenReturn(List.of(secret));
+    List<String> updated = new ArrayList<>();
+    when(repository.updateSecret(eq("a"), eq(secret.getSecret()), anyString())).thenAnswer(invocation -> {
+      updated.add(invocation.getArgument(2));
+      return 1;
+    });
+
+    rotation.rotate();
+
+    byte[] rotated = Base64.getDecoder().decode(updated.get(0));
+    assertThat(SecretCryptVault.version(rotated)).isEqualTo(1);
+    assertThat(new String(vault.decrypt(rotated), StandardCharsets.UTF_8)).isEqualTo("secret-a");
+  }
+
+  @Test
+  void rotate_unknownKeyVersion_reported() {
+    SecretCryptVault unknownVault = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(2, randomKey());
+    when(repository.count()).thenReturn(1L);
+    when(repository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class)))
+        .thenReturn(List.of(secret("a", unknownVault.encrypt(bytes("secret-a")))));
+
+    SecretKeyRotation.Progress progress = rotation.rotate();
+
+    assertThat(progress.getUnknownKeys()).isEqualTo(1);
+    assertThat(progress.getUpToDate()).isZero();
+    assertThat(registry.get("workflow.secret.rotation").tag("result", "unknown_key").gauge().value()).isEqualTo(1);
+    verify(repository, never()).updateSecret(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void rotate_changedKey_failed() {
+    SecretCryptVault changedVault = new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, randomKey());
+    when(repository.count()).thenReturn(1L);
+    when(repository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class)))
+        .thenReturn(List.of(secret("a", changedVault.encrypt(bytes("secret-a")))));
+
+    SecretKeyRotation.Progress progress = rotation.rotate();
+
+    assertThat(progress.getFailed()).isEqualTo(1);
+    verify(repository, never()).updateSecret(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void rotateOnStartup_disabled() {
+    new SecretKeyRotation(repository, vault, transactionManager, registry, false, 2, 1, 2).rotateOnStartup();
+    verify(repository, never()).count();
+  }
+
+  private static SecretDomain secret(String id, byte[] encrypted) {
+    SecretDomain secret = new SecretDomain(id, Base64.getEncoder().encodeToString(encrypted));
+    secret.setId(id);
+    return secret;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] randomKey() {
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    return key;
+  }
+}
@@ -0,0 +1,206 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultSharedDataStoreTest {
+  @Mock
+  SharedDataEntryRepository repository;
+  @Mock
+  SharedDataEntryUpdater updater;
+  SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  DefaultSharedDataStore store;
+
+  // in memory stand-in for the database, keyed by data key
+  final Map<String, Object> values = new HashMap<>();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    store = new DefaultSharedDataStore(repository, updater, registry, Duration.ofMinutes(1), 100, false);
+    lenient().when(updater.update(eq("ns"), anyString(), any())).thenAnswer(invocation -> {
+      String key = invocation.getArgument(1);
+      SharedDataEntryUpdater.Update update =
+          ((Function<Object, SharedDataEntryUpdater.Update>) invocation.getArgument(2)).apply(values.get(key));
+      if (update.isChanged()) {
+        values.put(key, update.getValue());
+      }
+      return update.isMatched();
+    });
+  }
+
+  @Test
+  void getNamespaceData() {
+    SharedDataEntry entry = new SharedDataEntry("ns", "key");
+    entry.setData(Map.of("a", 1));
+    when(repository.findByNamespace("ns")).thenReturn(List.of(entry));
+
+    assertThat(store.getNamespaceData("ns")).containsEntry("key", Map.of("a", 1));
+  }
+
+  @Test
+  void getNamespaceData_cached() {
+    when(repository.findByNamespace("ns")).thenReturn(List.of(entry("key", "value")));
+
+    store.getNamespaceData("ns");
+    Map<String, Object> data = store.getNamespaceData("ns");
+    data.put("key", "modified by caller");
+
+    assertThat(store.getNamespaceData("ns")).containsEntry("key", "value");
+    verify(repository).findByNamespace("ns");
+    assertThat(registry.get("cache.gets").tag("cache", "shared-data").tag("result", "hit").functionCounter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void getNamespaceData_invalidatedOnWrite() {
+    when(repository.findByNamespace("ns")).thenReturn(List.of(entry("key", "value")));
+
+    store.getNamespaceData("ns");
+    store.putNamespaceData("ns", "other", "value");
+    store.getNamespaceData("ns");
+
+    verify(repository, times(2)).findByNamespace("ns");
+  }
+
+  @Test
+  void getNamespaceData_snapshotPerActivity() {
+    DefaultSharedDataStore snapshotStore =
+        spy(new DefaultSharedDataStore(repository, updater, registry, Duration.ZERO, 100, true));
+    when(repository.findByNamespace("ns")).thenReturn(List.of(entry("key", "value")));
+    doReturn("activity-1").when(snapshotStore).currentActivityInstanceId();
+
+    Map<String, Object> first = snapshotStore.getNamespaceData("ns");
+    assertThat(snapshotStore.getNamespaceData("ns")).isSameAs(first);
+    assertThatThrownBy(() -> first.put("key", "other")).isInstanceOf(UnsupportedOperationException.class);
+
+    doReturn("activity-2").when(snapshotStore).currentActivityInstanceId();
+    assertThat(snapshotStore.getNamespaceData("ns")).isNotSameAs(first).isEqualTo(first);
+    verify(repository, times(2)).findByNamespace("ns");
+  }
+
+  @Test
+  void getNamespaceData_snapshotInvalidatedOnWrite() {
+    DefaultSharedDataStore snapshotStore =
+        spy(new DefaultSharedDataStore(repository, updater, registry, Duration.ofMinutes(1), 100, true));
+    when(repository.findByNamespace("ns")).thenReturn(List.of(entry("key", "value")));
+    doReturn("activity-1").when(snapshotStore).currentActivityInstanceId();
+
+    Map<String, Object> first = snapshotStore.getNamespaceData("ns");
+    snapshotStore.putNamespaceData("ns", "other", "value");
+
+    assertThat(snapshotStore.getNamespaceData("ns")).isNotSameAs(first);
+    verify(repository, times(2)).findByNamespace("ns");
+  }
+
+  @Test
+  void invalidateAll() {
+    when(repository.findByNamespace("ns")).thenReturn(List.of(entry("key", "value")));
+
+    store.getNamespaceData("ns");
+    store.invalidateAll();
+    store.getNamespaceData("ns");
+
+    verify(repository, times(2)).findByNamespace("ns");
+  }
+
+  @Test
+  void putNamespaceData() {
+    store.putNamespaceData("ns", "key", "value");
+    assertThat(values).containsEntry("key", "value");
+  }
+
+  @Test
+  void increment() {
+    assertThat(store.increment("ns", "counter", 2)).isEqualTo(2);
+    assertThat(store.increment("ns", "counter", 3)).isEqualTo(5);
+  }
+
+  @Test
+  void increment_notANumber() {
+    values.put("key", "value");
+    assertThatThrownBy(() -> store.increment("ns", "key", 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void compareAndSet() {
+    assertThat(store.compareAndSet("ns", "key", null, Map.of("a", 1, "b", 2))).isTrue();
+    assertThat(store.compareAndSet("ns", "key", Map.of("b", 2, "a", 1), "next")).isTrue();
+    assertThat(store.compareAndSet("ns", "key", "other", "ignored")).isFalse();
+    assertThat(values).containsEntry("key", "next");
+  }
+
+  @Test
+  void compareAndSet_missingKeyToNull_matchedNotWritten() {
+    assertThat(store.compareAndSet("ns", "key", null, null)).isTrue();
+    assertThat(values).doesNotContainKey("key");
+  }
+
+  @Test
+  void appendToList() {
+    assertThat(store.appendToList("ns", "list", "a")).containsExactly("a");
+    assertThat(store.appendToList("ns", "list", "b")).containsExactly("a", "b");
+  }
+
+  @Test
+  void appendToList_notAList() {
+    values.put("key", 1);
+    assertThatThrownBy(() -> store.appendToList("ns", "key", "a")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void update_retriedOnConflict() {
+    when(updater.update(eq("other"), eq("key"), any()))
+        .thenThrow(new ObjectOptimisticLockingFailureException(SharedDataEntry.class, "id"))
+        .thenThrow(new DataIntegrityViolationException("duplicate"))
+        .thenReturn(true);
+    when(repository.findByNamespaceAndDataKey("other", "key"))
+        .thenReturn(Optional.of(new SharedDataEntry("other", "key")));
+
+    store.putNamespaceData("other", "key", "value");
+
+    verify(updater, times(3)).update(eq("other"), eq("key"), any());
+  }
+
+  @Test
+  void update_integrityViolationNotRetried() {
+    when(updater.update(eq("other"), eq("key"), any())).thenThrow(new DataIntegrityViolationException("too long"));
+    when(repository.findByNamespaceAndDataKey("other", "key")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> store.putNamespaceData("other", "key", "value"))
+        .isInstanceOf(DataIntegrityViolationException.class);
+    verify(updater).update(eq("other"), eq("key"), any());
+  }
+
+  private static SharedDataEntry entry(String key, Object data) {
+    SharedDataEntry entry = new SharedDataEntry("ns", key);
+    entry.setData(data);
+    return entry;
+  }
+}
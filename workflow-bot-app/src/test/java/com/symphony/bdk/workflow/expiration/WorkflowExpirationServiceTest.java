@@ -3,7 +3,7 @@ package com.symphony.bdk.workflow.expiration;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.management.repository.VersionedWorkflowRepository;
 import com.symphony.bdk.workflow.management.repository.WorkflowExpirationJobRepository;
-import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 import com.symphony.bdk.workflow.management.repository.domain.WorkflowExpirationJob;
 
 import org.junit.jupiter.api.Test;
@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,12 +47,12 @@ public class WorkflowExpirationServiceTest {
     final String deploymentId = "deploymentId";
     final Instant now = Instant.now();
 
-    final VersionedWorkflow versionedWorkflow = new VersionedWorkflow();
-    versionedWorkflow.setWorkflowId(workflowId);
-    versionedWorkflow.setId(id);
-    versionedWorkflow.setDeploymentId(deploymentId);
+    final VersionedWorkflowSummary versionedWorkflow = mock(VersionedWorkflowSummary.class);
+    when(versionedWorkflow.getWorkflowId()).thenReturn(workflowId);
+    when(versionedWorkflow.getId()).thenReturn(id);
+    when(versionedWorkflow.getDeploymentId()).thenReturn(deploymentId);
 
-    when(versionedWorkflowRepository.findByWorkflowId(eq(workflowId))).thenReturn(
+    when(versionedWorkflowRepository.findSummariesByWorkflowId(eq(workflowId))).thenReturn(
         Collections.singletonList(versionedWorkflow));
 
     ArgumentCaptor<List> expirationJobsCaptor = ArgumentCaptor.forClass(List.class);
@@ -79,7 +80,7 @@ public class WorkflowExpirationServiceTest {
   void scheduleWorkflowExpiration_workflowNotFound() {
     final String workflowId = "workflowId";
 
-    when(versionedWorkflowRepository.findByWorkflowId(eq(workflowId))).thenReturn(Collections.emptyList());
+    when(versionedWorkflowRepository.findSummariesByWorkflowId(eq(workflowId))).thenReturn(Collections.emptyList());
 
     assertThatExceptionOfType(NotFoundException.class).isThrownBy(
             () -> workflowExpirationService.scheduleWorkflowExpiration(workflowId, Instant.now()))
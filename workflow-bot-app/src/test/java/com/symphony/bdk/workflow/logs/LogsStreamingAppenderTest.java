@@ -10,14 +10,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +34,8 @@ class LogsStreamingAppenderTest {
 
   @Test
   void append_eventBroadcast_withStackTrace() {
+    when(service.hasSubscribers()).thenReturn(true);
+    when(service.isStreamed(eq(Level.DEBUG), eq("www"), anyMap())).thenReturn(true);
     ILoggingEvent event = mock(ILoggingEvent.class);
     when(event.getTimeStamp()).thenReturn(Instant.now().toEpochMilli());
     when(event.getLoggerName()).thenReturn("www");
@@ -41,22 +48,48 @@ class LogsStreamingAppenderTest {
     ThrowableProxy throwableProxy = new ThrowableProxy(throwable);
     when(event.getThrowableProxy()).thenReturn(throwableProxy);
 
-    doNothing().when(service).broadcast(anyLong(), anyString(), anyString(), anyString());
+    doNothing().when(service).broadcast(anyLong(), any(), anyString(), anyMap(), anyString());
     appender.append(event);
-    verify(service).broadcast(anyLong(), anyString(), eq("www"),
+    verify(service).broadcast(anyLong(), eq(Level.DEBUG), eq("www"), anyMap(),
         eq("log message\tjava.lang.Throwable: null\t\tat class.method(filename:1)\t"));
   }
 
   @Test
   void append_eventBroadcast_noStackTrace() {
+    when(service.hasSubscribers()).thenReturn(true);
+    when(service.isStreamed(eq(Level.DEBUG), eq("www"), anyMap())).thenReturn(true);
     ILoggingEvent event = mock(ILoggingEvent.class);
     when(event.getTimeStamp()).thenReturn(Instant.now().toEpochMilli());
     when(event.getLoggerName()).thenReturn("www");
     when(event.getLevel()).thenReturn(Level.DEBUG);
     when(event.getFormattedMessage()).thenReturn("log message");
-    doNothing().when(service).broadcast(anyLong(), anyString(), anyString(), anyString());
+    doNothing().when(service).broadcast(anyLong(), any(), anyString(), anyMap(), anyString());
     appender.append(event);
-    verify(service).broadcast(anyLong(), anyString(), eq("www"), eq("log message"));
+    verify(service).broadcast(anyLong(), eq(Level.DEBUG), eq("www"), anyMap(), eq("log message"));
+  }
+
+  @Test
+  void append_noSubscriber_notFormatted() {
+    ILoggingEvent event = mock(ILoggingEvent.class);
+
+    appender.append(event);
+
+    verifyNoInteractions(event);
+    verify(service, never()).broadcast(anyLong(), any(), anyString(), anyMap(), anyString());
+  }
+
+  @Test
+  void append_filteredOut_notFormatted() {
+    when(service.hasSubscribers()).thenReturn(true);
+    ILoggingEvent event = mock(ILoggingEvent.class);
+    when(event.getLevel()).thenReturn(Level.DEBUG);
+    when(event.getLoggerName()).thenReturn("www");
+    when(event.getMDCPropertyMap()).thenReturn(Map.of());
+
+    appender.append(event);
+
+    verify(event, never()).getFormattedMessage();
+    verify(service, never()).broadcast(anyLong(), any(), anyString(), anyMap(), anyString());
   }
 
   @Test
@@ -1,30 +1,47 @@
 package com.symphony.bdk.workflow.logs;
 
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LogsStreamingServiceTest {
   @Mock SseEmitter sseEmitter;
-  LogsStreamingService service = new LogsStreamingService();
+  SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  List<Runnable> senderTasks = new ArrayList<>();
+  LogsStreamingService service = new LogsStreamingService(registry, 4, 2, senderTasks::add);
 
   @Test
   void broadcast_withSubscribedEmitter_successful() throws IOException {
     doNothing().when(sseEmitter).send(any(SseEmitter.SseEventBuilder.class));
     service.subscribe(sseEmitter);
-    service.broadcast(Instant.now().toEpochMilli(), "DEBUG", "www", "log message");
+    service.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "www", Map.of(), "log message");
+    dispatchAndSend();
     verify(sseEmitter).send(any(SseEmitter.SseEventBuilder.class));
   }
 
@@ -33,8 +50,103 @@ class LogsStreamingServiceTest {
     doNothing().when(sseEmitter).completeWithError(any(AsyncRequestTimeoutException.class));
     doThrow(new AsyncRequestTimeoutException()).when(sseEmitter).send(any(SseEmitter.SseEventBuilder.class));
     service.subscribe(sseEmitter);
-    service.broadcast(Instant.now().toEpochMilli(), "DEBUG", "www", "log message");
+    service.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "www", Map.of(), "log message");
+    dispatchAndSend();
     verify(sseEmitter).send(any(SseEmitter.SseEventBuilder.class));
     verify(sseEmitter).completeWithError(any(AsyncRequestTimeoutException.class));
+    assertThat(service.hasSubscribers()).isFalse();
+  }
+
+  @Test
+  void broadcast_noSubscriber_notSent() {
+    assertThat(service.hasSubscribers()).isFalse();
+    service.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "www", Map.of(), "log message");
+
+    assertThat(service.dispatchPending()).isTrue();
+    assertThat(senderTasks).isEmpty();
+  }
+
+  @Test
+  void broadcast_queueFull_dropped() {
+    for (int i = 0; i < 5; i++) {
+      service.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "www", Map.of(), "log message " + i);
+    }
+
+    assertThat(registry.counter("workflow.logs.stream.dropped", "queue", "shared").count()).isEqualTo(1);
+  }
+
+  @Test
+  void broadcast_slowSubscriber_oldestDropped() throws IOException {
+    service.subscribe(sseEmitter);
+    for (int i = 0; i < 4; i++) {
+      service.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "www", Map.of(), "log message " + i);
+    }
+
+    dispatchAndSend();
+
+    ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+    verify(sseEmitter, times(2)).send(captor.capture());
+    assertThat(captor.getAllValues()).map(LogsStreamingServiceTest::text)
+        .containsExactly("[DEBUG] www - log message 2", "[DEBUG] www - log message 3");
+    assertThat(registry.counter("workflow.logs.stream.dropped", "queue", "subscriber").count()).isEqualTo(2);
+  }
+
+  @Test
+  void broadcast_filteredSubscriber_onlyMatchingSent() throws IOException {
+    SseEmitter instanceEmitter = mock(SseEmitter.class);
+    service.subscribe(sseEmitter, LogsFilter.of(null, null, "warn", "com.symphony"));
+    service.subscribe(instanceEmitter, LogsFilter.of("workflow", "instance", null, null));
+    Map<String, String> mdc = Map.of(CamundaExecutor.MDC_WORKFLOW_ID, "workflow",
+        CamundaExecutor.MDC_PROCESS_ID, "instance");
+
+    assertThat(service.isStreamed(Level.INFO, "com.symphony.Bot", Map.of())).isFalse();
+    assertThat(service.isStreamed(Level.INFO, "com.symphony.Bot", mdc)).isTrue();
+    service.broadcast(Instant.now().toEpochMilli(), Level.ERROR, "com.symphony.Bot", Map.of(), "error");
+    service.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "org.camunda", mdc, "debug");
+    dispatchAndSend();
+
+    ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+    verify(sseEmitter).send(captor.capture());
+    assertThat(text(captor.getValue())).isEqualTo("[ERROR] com.symphony.Bot - error");
+    verify(instanceEmitter).send(captor.capture());
+    assertThat(text(captor.getValue())).isEqualTo("[DEBUG] org.camunda - debug");
+  }
+
+  @Test
+  void start_idleDispatcher_parkedUntilBroadcast() throws InterruptedException {
+    List<Runnable> tasks = new CopyOnWriteArrayList<>();
+    LogsStreamingService started = new LogsStreamingService(registry, 4, 2, tasks::add);
+    started.subscribe(sseEmitter);
+    started.start();
+    try {
+      // parked without timeout rather than polling
+      await().until(() -> Thread.getAllStackTraces().keySet().stream()
+          .filter(thread -> thread.getName().equals("logs-stream-dispatcher"))
+          .allMatch(thread -> thread.getState() == Thread.State.WAITING));
+
+      started.broadcast(Instant.now().toEpochMilli(), Level.DEBUG, "www", Map.of(), "log message");
+
+      await().until(() -> !tasks.isEmpty());
+    } finally {
+      started.stop();
+    }
+  }
+
+  private void dispatchAndSend() {
+    service.dispatchPending();
+    // sending reschedules itself when logs are queued meanwhile
+    while (!senderTasks.isEmpty()) {
+      senderTasks.remove(0).run();
+    }
+  }
+
+  private static String text(SseEmitter.SseEventBuilder event) {
+    return event.build().stream()
+        .map(ResponseBodyEmitter.DataWithMediaType::getData)
+        .filter(String.class::isInstance)
+        .map(String.class::cast)
+        .filter(data -> data.startsWith("["))
+        .findFirst()
+        .orElse("");
   }
 }
@@ -4,18 +4,22 @@ import com.symphony.bdk.workflow.api.v1.dto.SwadlView;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowTranslationCache;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.management.repository.VersionedWorkflowRepository;
 import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Properties;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -47,7 +51,6 @@ public class WorkflowManagementServiceTest {
   @Mock
   WorkflowEngine<CamundaTranslatedWorkflowContext> camundaEngine;
 
-  @InjectMocks
   WorkflowManagementService workflowManagementService;
 
   static final String swadl = "id: test\n"
@@ -67,6 +70,12 @@ public class WorkflowManagementServiceTest {
     swadlView = SwadlView.builder().swadl(swadl).description("desc").createdBy(1234L).build();
   }
 
+  @BeforeEach
+  void setUp() {
+    workflowManagementService = new WorkflowManagementService(camundaEngine, versionRepository, conveter,
+        new WorkflowTranslationCache(camundaEngine, mock(CamundaBpmnBuilder.class), new SimpleMeterRegistry(), 100));
+  }
+
   @Test
   void testDeploy_existingActiveVersion_updateOldInsertNew() {
     when(conveter.convert(anyString(), eq(Workflow.class))).thenReturn(workflow);
@@ -126,9 +135,8 @@ public class WorkflowManagementServiceTest {
   @Test
   void testDeploy_existNoPublishedVersion_exceptionThrown() {
     when(conveter.convert(anyString(), eq(Workflow.class))).thenReturn(workflow);
-    VersionedWorkflow noPublishedVersion = new VersionedWorkflow();
-    noPublishedVersion.setPublished(false);
-    noPublishedVersion.setVersion(1234L);
+    VersionedWorkflowSummary noPublishedVersion = mock(VersionedWorkflowSummary.class);
+    when(noPublishedVersion.getVersion()).thenReturn(1234L);
     when(versionRepository.findByWorkflowIdAndPublishedFalse(anyString())).thenReturn(Optional.of(noPublishedVersion));
 
     assertThatThrownBy(() -> workflowManagementService.deploy(swadlView)).isInstanceOf(IllegalArgumentException.class)
@@ -202,13 +210,13 @@ public class WorkflowManagementServiceTest {
 
   @Test
   void testDelete_existingVersion_succeed() {
-    VersionedWorkflow workflow = new VersionedWorkflow();
-    workflow.setActive(true);
-    workflow.setWorkflowId("id");
-    workflow.setDeploymentId("deploymentId");
+    VersionedWorkflowSummary workflow = mock(VersionedWorkflowSummary.class);
+    when(workflow.getActive()).thenReturn(true);
+    when(workflow.getDeploymentId()).thenReturn("deploymentId");
     doNothing().when(camundaEngine).undeployByDeploymentId(anyString());
     doNothing().when(versionRepository).deleteByWorkflowIdAndVersion(anyString(), anyLong());
-    when(versionRepository.findByWorkflowIdAndVersion(anyString(), anyLong())).thenReturn(Optional.of(workflow));
+    when(versionRepository.findSummaryByWorkflowIdAndVersion(anyString(), anyLong()))
+        .thenReturn(Optional.of(workflow));
 
     workflowManagementService.delete("id", 1674651222294886L);
 
@@ -241,14 +249,16 @@ public class WorkflowManagementServiceTest {
         Optional.of(versionedWorkflow));
     when(versionRepository.findByWorkflowIdAndActiveTrue(anyString())).thenReturn(Optional.of(activeWorkflow));
     when(conveter.convert(anyString(), eq(1674651222294886L), eq(Workflow.class))).thenReturn(workflow);
+    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
+    when(camundaEngine.translate(any(Workflow.class))).thenReturn(context);
     String deploymentId = "ABC";
-    when(camundaEngine.deploy(any(Workflow.class))).thenReturn(deploymentId);
+    when(camundaEngine.deploy(context)).thenReturn(deploymentId);
     when(versionRepository.save(any())).thenReturn(versionedWorkflow);
     when(versionRepository.saveAndFlush(any())).thenReturn(activeWorkflow);
 
     workflowManagementService.setActiveVersion(workflowId, 1674651222294886L);
 
-    verify(camundaEngine).deploy(any(Workflow.class));
+    verify(camundaEngine).deploy(context);
     verify(versionRepository).save(any());
     assertThat(activeWorkflow.getActive()).isFalse();
     assertThat(versionedWorkflow.getActive()).isTrue();
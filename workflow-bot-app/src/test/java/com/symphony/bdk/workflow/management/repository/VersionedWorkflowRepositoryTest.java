@@ -1,22 +1,29 @@
 package com.symphony.bdk.workflow.management.repository;
 
 import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+@Slf4j
 @DataJpaTest(properties = {"wdk.properties.management-token=token"})
 public class VersionedWorkflowRepositoryTest {
   @Autowired
   VersionedWorkflowRepository versionedWorkflowRepository;
+  @Autowired
+  TestEntityManager entityManager;
   VersionedWorkflow versionedWorkflow1;
   VersionedWorkflow versionedWorkflow2;
   VersionedWorkflow versionedWorkflow3;
@@ -104,7 +111,7 @@ public class VersionedWorkflowRepositoryTest {
 
   @Test
   void findFirstByWorkflowIdOrderByVersionDesc() {
-    Optional<VersionedWorkflow> workflow = versionedWorkflowRepository.findByWorkflowIdAndPublishedFalse("id1");
+    Optional<VersionedWorkflowSummary> workflow = versionedWorkflowRepository.findByWorkflowIdAndPublishedFalse("id1");
     assertThat(workflow).isPresent();
     assertThat(workflow.get().getWorkflowId()).isEqualTo("id1");
     assertThat(workflow.get().getVersion()).isEqualTo(V3);
@@ -112,10 +119,61 @@ public class VersionedWorkflowRepositoryTest {
 
   @Test
   void findByActiveTrue() {
-    List<VersionedWorkflow> workflows = versionedWorkflowRepository.findByActiveTrue();
+    List<VersionedWorkflowSummary> workflows = versionedWorkflowRepository.findByActiveTrue();
     assertThat(workflows).hasSize(2);
   }
 
+  @Test
+  void findSummariesByWorkflowId() {
+    List<VersionedWorkflowSummary> workflows = versionedWorkflowRepository.findSummariesByWorkflowId("id1");
+    assertThat(workflows).hasSize(3)
+        .extracting(VersionedWorkflowSummary::getVersion)
+        .containsExactlyInAnyOrder(V1, V2, V3);
+  }
+
+  @Test
+  void findSummaryByWorkflowIdAndVersion() {
+    Optional<VersionedWorkflowSummary> workflow =
+        versionedWorkflowRepository.findSummaryByWorkflowIdAndVersion("id1", V2);
+    assertThat(workflow).isPresent();
+    assertThat(workflow.get().getActive()).isTrue();
+    assertThat(workflow.get().getPublished()).isTrue();
+  }
+
+  @Test
+  void listLatencyWith1000Versions() {
+    String swadl = "id: benchmark\nactivities:\n"
+        + "  - send-message:\n      id: msg\n      content: hello\n".repeat(500);
+    for (int i = 0; i < 1000; i++) {
+      VersionedWorkflow workflow = new VersionedWorkflow();
+      workflow.setWorkflowId("benchmark-" + (i % 100));
+      workflow.setVersion((long) i);
+      workflow.setPublished(true);
+      workflow.setActive(i < 100 ? true : null);
+      workflow.setSwadl(swadl);
+      versionedWorkflowRepository.save(workflow);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    long start = System.nanoTime();
+    List<VersionedWorkflow> entities = versionedWorkflowRepository.findAll();
+    long entitiesMs = (System.nanoTime() - start) / 1_000_000;
+    entityManager.clear();
+
+    start = System.nanoTime();
+    List<VersionedWorkflowSummary> summaries = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      summaries.addAll(versionedWorkflowRepository.findSummariesByWorkflowId("benchmark-" + i));
+    }
+    long summariesMs = (System.nanoTime() - start) / 1_000_000;
+
+    log.info("Listing 1000 versioned workflows: {} ms with SWADL, {} ms with projections", entitiesMs, summariesMs);
+    assertThat(entities).hasSize(1004);
+    assertThat(summaries).hasSize(1000);
+    assertThat(versionedWorkflowRepository.findByActiveTrue()).hasSize(102);
+  }
+
   @Test
   void findByWorkflowIdOrderByVersionDesc() {
     Optional<VersionedWorkflow> workflows = versionedWorkflowRepository.findTopByWorkflowIdOrderByVersionDesc("id1");
@@ -0,0 +1,107 @@
+package com.symphony.bdk.workflow.monitoring.readmodel;
+
+import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
+import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.camunda.monitoring.repository.WorkflowInstCmdaApiQueryRepository;
+import com.symphony.bdk.workflow.engine.handler.readmodel.InstanceSummaryProjection;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceSummaryQueryRepositoryTest {
+
+  @Mock
+  InstanceSummaryRepository repository;
+
+  @Mock
+  ObjectConverter objectConverter;
+
+  @Mock
+  InstanceSummaryProjection projection;
+
+  @Mock
+  WorkflowInstCmdaApiQueryRepository camundaRepository;
+
+  @InjectMocks
+  InstanceSummaryQueryRepository queryRepository;
+
+  @BeforeEach
+  void setUp() {
+    when(projection.isReady()).thenReturn(true);
+  }
+
+  @Test
+  void findPage_afterKey_readsNextSummaries() {
+    List<InstanceSummary> summaries = List.of(new InstanceSummary());
+    List<WorkflowInstanceDomain> domains = List.of(WorkflowInstanceDomain.builder().instanceId("2").build());
+    Instant startDate = Instant.now();
+    when(repository.findPage("workflow", "FAILED", 3L, startDate, "1", PageRequest.of(0, 10))).thenReturn(summaries);
+    when(objectConverter.convertCollection(summaries, WorkflowInstanceDomain.class)).thenReturn(domains);
+
+    List<WorkflowInstanceDomain> page = queryRepository.findPage("workflow", StatusEnum.FAILED, "3",
+        new WorkflowInstanceKey(startDate, "1"), 10);
+
+    assertThat(page).isEqualTo(domains);
+  }
+
+  @Test
+  void findPage_firstPage_startsAtEpoch() {
+    when(repository.findPage("workflow", null, null, Instant.EPOCH, "", PageRequest.of(0, 10)))
+        .thenReturn(List.of());
+    when(objectConverter.convertCollection(List.of(), WorkflowInstanceDomain.class)).thenReturn(List.of());
+
+    assertThat(queryRepository.findPage("workflow", null, null, null, 10)).isEmpty();
+  }
+
+  @Test
+  void findAllByIdAndVersion_notANumber_empty() {
+    assertThat(queryRepository.findAllByIdAndVersion("workflow", "v1")).isEmpty();
+    assertThat(queryRepository.findPage("workflow", null, "v1", null, 10)).isEmpty();
+
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void findByIdAndInstanceId_otherWorkflow_empty() {
+    when(repository.findByWorkflowIdAndInstanceId("workflow", "instance")).thenReturn(Optional.empty());
+
+    assertThat(queryRepository.findByIdAndInstanceId("workflow", "instance")).isEmpty();
+  }
+
+  @Test
+  void findByIdAndInstanceId_converted() {
+    InstanceSummary summary = new InstanceSummary();
+    WorkflowInstanceDomain domain = WorkflowInstanceDomain.builder().instanceId("instance").build();
+    when(repository.findByWorkflowIdAndInstanceId("workflow", "instance")).thenReturn(Optional.of(summary));
+    when(objectConverter.convert(any(InstanceSummary.class), any())).thenReturn(domain);
+
+    assertThat(queryRepository.findByIdAndInstanceId("workflow", "instance")).contains(domain);
+  }
+
+  @Test
+  void findPage_notReady_readFromCamunda() {
+    List<WorkflowInstanceDomain> domains = List.of(WorkflowInstanceDomain.builder().instanceId("1").build());
+    when(projection.isReady()).thenReturn(false);
+    when(camundaRepository.findPage("workflow", StatusEnum.PENDING, null, null, 10)).thenReturn(domains);
+
+    assertThat(queryRepository.findPage("workflow", StatusEnum.PENDING, null, null, 10)).isEqualTo(domains);
+    verifyNoInteractions(repository);
+  }
+}
@@ -4,9 +4,11 @@ import com.symphony.bdk.workflow.api.v1.dto.NodeStateView;
 import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
 import com.symphony.bdk.workflow.api.v1.dto.VariableView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstLifeCycleFilter;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstPageView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowInstView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
@@ -15,6 +17,7 @@ import com.symphony.bdk.workflow.engine.WorkflowNodeTypeHelper;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.management.repository.VersionedWorkflowRepository;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 import com.symphony.bdk.workflow.monitoring.repository.ActivityQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.VariableQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.WorkflowInstQueryRepository;
@@ -22,6 +25,9 @@ import com.symphony.bdk.workflow.monitoring.repository.WorkflowQueryRepository;
 import com.symphony.bdk.workflow.monitoring.repository.domain.ActivityInstanceDomain;
 import com.symphony.bdk.workflow.monitoring.repository.domain.VariablesDomain;
 import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceDomain;
+import com.symphony.bdk.workflow.monitoring.repository.domain.WorkflowInstanceKey;
+import com.symphony.bdk.workflow.monitoring.stats.WorkflowStatistics;
+import com.symphony.bdk.workflow.monitoring.stream.InstanceStateStream;
 import com.symphony.bdk.workflow.swadl.v1.activity.message.SendMessage;
 import com.symphony.bdk.workflow.swadl.v1.event.MessageReceivedEvent;
 
@@ -35,9 +41,11 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -48,8 +56,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,13 +76,18 @@ class MonitoringServiceTest {
   VariableQueryRepository variableQueryRepository;
   @Mock
   ObjectConverter objectConverter;
+  @Mock
+  WorkflowStatistics workflowStatistics;
+  @Mock
+  InstanceStateStream instanceStateStream;
   @InjectMocks
   MonitoringService service;
 
   @Test
   void listAllWorkflows() {
     service = new MonitoringService(workflowDirectedGraphService, workflowQueryRepository, workflowInstQueryRepository,
-        activityQueryRepository, variableQueryRepository, objectConverter, Optional.empty());
+        activityQueryRepository, variableQueryRepository, objectConverter, workflowStatistics,
+        instanceStateStream, Optional.empty());
     when(workflowQueryRepository.findAll()).thenReturn(Collections.emptyList());
     when(objectConverter.convertCollection(anyList(), eq(WorkflowView.class))).thenReturn(Collections.emptyList());
     // when
@@ -85,9 +100,11 @@ class MonitoringServiceTest {
   void listAllWorkflowsWithAuthor() {
     VersionedWorkflowRepository versionedWorkflowRepository = mock(VersionedWorkflowRepository.class);
     service = new MonitoringService(workflowDirectedGraphService, workflowQueryRepository, workflowInstQueryRepository,
-        activityQueryRepository, variableQueryRepository, objectConverter, Optional.of(versionedWorkflowRepository));
+        activityQueryRepository, variableQueryRepository, objectConverter, workflowStatistics,
+        instanceStateStream, Optional.of(versionedWorkflowRepository));
     when(versionedWorkflowRepository.findByActiveTrue()).thenReturn(Collections.emptyList());
-    when(objectConverter.convertCollection(anyList(), eq(WorkflowView.class))).thenReturn(Collections.emptyList());
+    when(objectConverter.convertCollection(anyList(), eq(VersionedWorkflowSummary.class), eq(WorkflowView.class)))
+        .thenReturn(Collections.emptyList());
     // when
     List<WorkflowView> workflowViews = service.listAllWorkflows();
     //then
@@ -152,6 +169,65 @@ class MonitoringServiceTest {
             "Workflow instance status bad_status is not known. Allowed values [Completed, Pending, Failed]"));
   }
 
+  @Test
+  void listWorkflowInstancesPage_fullPage_returnsCursor() {
+    service.setMaxPageSize(2);
+    Instant start = Instant.ofEpochMilli(1000);
+    WorkflowInstanceDomain first = WorkflowInstanceDomain.builder().instanceId("inst-1").startDate(start).build();
+    WorkflowInstanceDomain last = WorkflowInstanceDomain.builder().instanceId("inst-2").startDate(start).build();
+    WorkflowInstanceKey after = new WorkflowInstanceKey(Instant.ofEpochMilli(500), "inst-0");
+    when(workflowInstQueryRepository.findPage("id", StatusEnum.PENDING, "1", after, 2))
+        .thenReturn(List.of(first, last));
+    when(objectConverter.convertCollection(anyList(), eq(WorkflowInstView.class))).thenReturn(Collections.emptyList());
+
+    // limit is capped by the maximum page size
+    WorkflowInstPageView page = service.listWorkflowInstances("id", "pending", 1L, after.toCursor(), 10);
+
+    assertThat(WorkflowInstanceKey.fromCursor(page.getNextCursor()))
+        .isEqualTo(new WorkflowInstanceKey(start, "inst-2"));
+  }
+
+  @Test
+  void listWorkflowInstancesPage_lastPage_noCursor() {
+    when(workflowInstQueryRepository.findPage("id", null, null, null, 10)).thenReturn(Collections.emptyList());
+    when(objectConverter.convertCollection(anyList(), eq(WorkflowInstView.class))).thenReturn(Collections.emptyList());
+
+    WorkflowInstPageView page = service.listWorkflowInstances("id", null, null, null, 10);
+
+    assertThat(page.getInstances()).isEmpty();
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  @Test
+  void listWorkflowInstancesPage_invalidCursorOrLimit() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> service.listWorkflowInstances("id", null, null, "not a cursor", null));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> service.listWorkflowInstances("id", null, null, null, 0));
+  }
+
+  @Test
+  void streamWorkflowInstances_readsPagesUntilLastOne() {
+    service.setMaxPageSize(1);
+    WorkflowInstanceDomain instance = WorkflowInstanceDomain.builder()
+        .instanceId("inst-1")
+        .startDate(Instant.ofEpochMilli(1000))
+        .build();
+    WorkflowInstView view = WorkflowInstView.builder().instanceId("inst-1").build();
+    when(workflowInstQueryRepository.findPage(eq("id"), isNull(), isNull(), isNull(), eq(1)))
+        .thenReturn(List.of(instance));
+    when(workflowInstQueryRepository.findPage(eq("id"), isNull(), isNull(), any(WorkflowInstanceKey.class), eq(1)))
+        .thenReturn(Collections.emptyList());
+    when(objectConverter.convertCollection(List.of(instance), WorkflowInstView.class)).thenReturn(List.of(view));
+    when(objectConverter.convertCollection(Collections.emptyList(), WorkflowInstView.class))
+        .thenReturn(Collections.emptyList());
+
+    List<WorkflowInstView> streamed = new ArrayList<>();
+    service.streamWorkflowInstances("id", null, null, streamed::addAll);
+
+    assertThat(streamed).containsExactly(view);
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {"", "errors"})
   void listWorkflowInstanceActivities(String errors) {
@@ -179,15 +255,14 @@ class MonitoringServiceTest {
 
     WorkflowInstanceDomain workflowInstanceDomain = WorkflowInstanceDomain.builder().instanceId("instance").build();
     WorkflowInstView workflowInstView = WorkflowInstView.builder().id("workflow").instanceId("instance").build();
-    when(workflowInstQueryRepository.findAllById("workflow")).thenReturn(
-        Collections.singletonList(workflowInstanceDomain));
+    when(workflowInstQueryRepository.findByIdAndInstanceId("workflow", "instance")).thenReturn(
+        Optional.of(workflowInstanceDomain));
     when(activityQueryRepository.findAllByWorkflowInstanceId(anyString(), anyString(),
         any(WorkflowInstLifeCycleFilter.class))).thenReturn(Collections.singletonList(ActivityInstanceDomain.builder()
         .build())); // returns at least one item, otherwise an IllegalArgumentException will be thrown
     when(objectConverter.convertCollection(anyList(), eq(NodeStateView.class))).thenReturn(
         List.of(view1, view2));
-    when(objectConverter.convertCollection(anyList(), eq(WorkflowInstView.class))).thenReturn(
-        List.of(workflowInstView));
+    when(objectConverter.convert(workflowInstanceDomain, WorkflowInstView.class)).thenReturn(workflowInstView);
 
     // mock graph
     WorkflowNode activity1 = new WorkflowNode();
@@ -254,8 +329,7 @@ class MonitoringServiceTest {
   @Test
   void listWorkflowInstanceActivities_badInstanceId_illegalArgumentException() {
     // given
-    when(workflowInstQueryRepository.findAllById("workflow")).thenReturn(Collections.emptyList());
-    when(objectConverter.convertCollection(anyList(), eq(WorkflowInstView.class))).thenReturn(Collections.emptyList());
+    when(workflowInstQueryRepository.findByIdAndInstanceId("workflow", "instance")).thenReturn(Optional.empty());
 
     // when
     WorkflowInstLifeCycleFilter lifeCycleFilter = new WorkflowInstLifeCycleFilter(null, null, null, null);
@@ -313,6 +387,51 @@ class MonitoringServiceTest {
     assertThat(definitionView.getFlowNodes().get(0).getGroup()).isEqualTo("ACTIVITY");
   }
 
+  @Test
+  void getWorkflowDefinition_renderedOncePerGraph() {
+    WorkflowDirectedGraph directedGraph = singleActivityGraph();
+    when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(directedGraph);
+
+    WorkflowNodesView definitionView = service.getWorkflowDefinition("workflow");
+
+    assertThat(service.getWorkflowDefinition("workflow")).isSameAs(definitionView);
+
+    // a deployment caches a new graph
+    when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(singleActivityGraph());
+
+    assertThat(service.getWorkflowDefinition("workflow")).isNotSameAs(definitionView).isEqualTo(definitionView);
+  }
+
+  @Test
+  void getWorkflowDefinitionView_etagOfContent() {
+    when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(singleActivityGraph());
+    WorkflowDefinitionView definitionView = service.getWorkflowDefinitionView("workflow", null);
+
+    // same content in a new graph, such as on another node
+    when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(singleActivityGraph());
+    WorkflowDefinitionView sameView = service.getWorkflowDefinitionView("workflow", null);
+
+    WorkflowDirectedGraph otherGraph = singleActivityGraph();
+    otherGraph.getVariables().put("variable", "value");
+    when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(otherGraph);
+    WorkflowDefinitionView otherView = service.getWorkflowDefinitionView("workflow", null);
+
+    assertThat(definitionView.getEtag()).hasSize(64).isEqualTo(sameView.getEtag()).isNotEqualTo(otherView.getEtag());
+  }
+
+  private static WorkflowDirectedGraph singleActivityGraph() {
+    WorkflowNode activity = new WorkflowNode();
+    SendMessage sendMessage = new SendMessage();
+    sendMessage.setId("activity");
+    activity.activity(sendMessage);
+    activity.id("activity");
+    activity.wrappedType(SendMessage.class);
+
+    WorkflowDirectedGraph directedGraph = new WorkflowDirectedGraph("workflow", null);
+    directedGraph.registerToDictionary("activity", activity);
+    return directedGraph;
+  }
+
   @Test
   void listWorkflowInstanceGlobalVars() {
     // mock graph
@@ -323,10 +442,9 @@ class MonitoringServiceTest {
 
     WorkflowInstanceDomain workflowInstanceDomain = WorkflowInstanceDomain.builder().instanceId("instance").build();
     WorkflowInstView workflowInstView = WorkflowInstView.builder().id("workflow").instanceId("instance").build();
-    when(workflowInstQueryRepository.findAllById("workflow")).thenReturn(
-        Collections.singletonList(workflowInstanceDomain));
-    when(objectConverter.convertCollection(anyList(), eq(WorkflowInstView.class))).thenReturn(
-        List.of(workflowInstView));
+    when(workflowInstQueryRepository.findByIdAndInstanceId("workflow", "instance")).thenReturn(
+        Optional.of(workflowInstanceDomain));
+    when(objectConverter.convert(workflowInstanceDomain, WorkflowInstView.class)).thenReturn(workflowInstView);
     when(variableQueryRepository.findGlobalVarsHistoryByWorkflowInstId(anyString(), any(), any())).thenReturn(
         List.of(domain));
 
@@ -339,4 +457,51 @@ class MonitoringServiceTest {
     assertThat(variableViews.get(0).getRevision()).isEqualTo(1);
     assertThat(variableViews.get(0).getOutputs()).hasSize(1);
   }
+
+  @Test
+  void getWorkflowStats() {
+    WorkflowStatsView stats = WorkflowStatsView.builder().workflowId("workflow").windows(List.of()).build();
+    when(workflowStatistics.getStats("workflow")).thenReturn(stats);
+
+    assertThat(service.getWorkflowStats("workflow")).isEqualTo(stats);
+  }
+
+  @Test
+  void streamWorkflowInstanceNodes_endedInstance() {
+    WorkflowInstanceDomain workflowInstanceDomain = WorkflowInstanceDomain.builder().instanceId("instance").build();
+    WorkflowInstView workflowInstView =
+        WorkflowInstView.builder().id("workflow").instanceId("instance").endDate(Instant.now()).build();
+    SseEmitter emitter = new SseEmitter();
+    when(workflowInstQueryRepository.findByIdAndInstanceId("workflow", "instance")).thenReturn(
+        Optional.of(workflowInstanceDomain));
+    when(objectConverter.convert(workflowInstanceDomain, WorkflowInstView.class)).thenReturn(workflowInstView);
+    when(instanceStateStream.subscribe("instance", 3L, true)).thenReturn(emitter);
+
+    assertThat(service.streamWorkflowInstanceNodes("workflow", "instance", 3L)).isSameAs(emitter);
+  }
+
+  @Test
+  void streamWorkflowInstanceNodes_endedWhileSubscribing_ended() {
+    WorkflowInstanceDomain workflowInstanceDomain = WorkflowInstanceDomain.builder().instanceId("instance").build();
+    WorkflowInstView runningView = WorkflowInstView.builder().id("workflow").instanceId("instance").build();
+    WorkflowInstView endedView =
+        WorkflowInstView.builder().id("workflow").instanceId("instance").endDate(Instant.now()).build();
+    SseEmitter emitter = new SseEmitter();
+    when(workflowInstQueryRepository.findByIdAndInstanceId("workflow", "instance")).thenReturn(
+        Optional.of(workflowInstanceDomain));
+    when(objectConverter.convert(workflowInstanceDomain, WorkflowInstView.class)).thenReturn(runningView, endedView);
+    when(instanceStateStream.subscribe("instance", null, false)).thenReturn(emitter);
+
+    assertThat(service.streamWorkflowInstanceNodes("workflow", "instance", null)).isSameAs(emitter);
+    verify(instanceStateStream).ended("instance", endedView);
+  }
+
+  @Test
+  void streamWorkflowInstanceNodes_notAnInstanceOfWorkflow() {
+    when(workflowInstQueryRepository.findByIdAndInstanceId("workflow", "instance")).thenReturn(Optional.empty());
+
+    assertThatExceptionOfType(NotFoundException.class).isThrownBy(
+        () -> service.streamWorkflowInstanceNodes("workflow", "instance", null));
+    verifyNoInteractions(instanceStateStream);
+  }
 }
@@ -1,21 +1,23 @@
 package com.symphony.bdk.workflow.monitoring.service.converter;
 
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
-import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflow;
+import com.symphony.bdk.workflow.management.repository.domain.VersionedWorkflowSummary;
 
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class VersionedWorkflowViewConverterTest {
 
   @Test
   void apply() {
     // given
-    VersionedWorkflow domain = new VersionedWorkflow();
-    domain.setWorkflowId("workflow");
-    domain.setVersion(1234L);
-    domain.setCreatedBy(1234L);
+    VersionedWorkflowSummary domain = mock(VersionedWorkflowSummary.class);
+    when(domain.getWorkflowId()).thenReturn("workflow");
+    when(domain.getVersion()).thenReturn(1234L);
+    when(domain.getCreatedBy()).thenReturn(1234L);
 
     //when
     VersionedWorkflowViewConverter converter = new VersionedWorkflowViewConverter();
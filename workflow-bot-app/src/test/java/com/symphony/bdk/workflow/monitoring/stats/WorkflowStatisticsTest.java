@@ -0,0 +1,89 @@
+package com.symphony.bdk.workflow.monitoring.stats;
+
+import com.symphony.bdk.workflow.api.v1.dto.WindowStatsView;
+import com.symphony.bdk.workflow.api.v1.dto.WorkflowStatsView;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkflowStatisticsTest {
+
+  private final Clock clock = mock(Clock.class);
+  private WorkflowStatistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    when(clock.millis()).thenReturn(0L);
+    statistics = new WorkflowStatistics(List.of(Duration.ofMinutes(1), Duration.ofHours(1)), 6, clock);
+  }
+
+  @Test
+  void getStats_noEvent_emptyWindows() {
+    WorkflowStatsView stats = statistics.getStats("workflow");
+
+    assertThat(stats.getWorkflowId()).isEqualTo("workflow");
+    assertThat(stats.getWindows()).extracting(WindowStatsView::getWindow)
+        .containsExactly(Duration.ofMinutes(1), Duration.ofHours(1));
+    assertThat(stats.getWindows().get(0).getStarted()).isZero();
+    assertThat(stats.getWindows().get(0).getDuration().getCount()).isZero();
+    assertThat(stats.getWindows().get(0).getDuration().getP50()).isNull();
+  }
+
+  @Test
+  void getStats_countsAndPercentiles() {
+    for (int i = 1; i <= 100; i++) {
+      statistics.instanceStarted("workflow");
+      statistics.instanceEnded("workflow", i % 10 == 0, i * 10L);
+      statistics.activityEnded("workflow", "activity", i);
+    }
+    statistics.instanceStarted("other");
+
+    WindowStatsView window = statistics.getStats("workflow").getWindows().get(0);
+
+    assertThat(window.getStarted()).isEqualTo(100);
+    assertThat(window.getCompleted()).isEqualTo(90);
+    assertThat(window.getFailed()).isEqualTo(10);
+    assertThat(window.getInstanceRate()).isEqualTo(100 / 60d);
+    assertThat(window.getDuration().getCount()).isEqualTo(100);
+    assertThat(window.getDuration().getP50().toMillis()).isBetween(495L, 505L);
+    assertThat(window.getDuration().getP99().toMillis()).isBetween(985L, 995L);
+    assertThat(window.getActivities()).containsOnlyKeys("activity");
+    assertThat(window.getActivities().get("activity").getP95().toMillis()).isEqualTo(95L);
+  }
+
+  @Test
+  void getStats_windowSlides() {
+    statistics.instanceStarted("workflow");
+    when(clock.millis()).thenReturn(Duration.ofSeconds(30).toMillis());
+    statistics.instanceStarted("workflow");
+
+    // the first slice of the 1 minute window is out of it, it is still in the 1 hour window
+    when(clock.millis()).thenReturn(Duration.ofSeconds(65).toMillis());
+    WorkflowStatsView stats = statistics.getStats("workflow");
+
+    assertThat(stats.getWindows().get(0).getStarted()).isEqualTo(1);
+    assertThat(stats.getWindows().get(1).getStarted()).isEqualTo(2);
+  }
+
+  @Test
+  void record_reusedSlice_reset() {
+    statistics.instanceEnded("workflow", false, 100);
+    // same slice of the ring one window later
+    when(clock.millis()).thenReturn(Duration.ofMinutes(1).toMillis());
+    statistics.instanceEnded("workflow", true, 200);
+
+    WindowStatsView window = statistics.getStats("workflow").getWindows().get(0);
+
+    assertThat(window.getCompleted()).isZero();
+    assertThat(window.getFailed()).isEqualTo(1);
+    assertThat(window.getDuration().getCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,224 @@
+package com.symphony.bdk.workflow.monitoring.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class InstanceStateStreamTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final List<Runnable> senderTasks = new ArrayList<>();
+  private final InstanceStateStream stream =
+      new InstanceStateStream(registry, 16, 4, Duration.ofMinutes(1), senderTasks::add);
+
+  @Test
+  void publish_notWatched_ignored() {
+    stream.publish("instance", "node", Map.of());
+
+    assertThat(stream.isWatched("instance")).isFalse();
+    assertThat(sendPending()).isFalse();
+  }
+
+  @Test
+  void subscribe_newEventsSent() throws IOException {
+    stream.publish("instance", "node", Map.of());
+    SseEmitter emitter = mock(SseEmitter.class);
+
+    stream.subscribe(emitter, "instance", null, false);
+    stream.publish("instance", "node", Map.of());
+    stream.publish("instance", "variables", Map.of());
+
+    assertThat(stream.isWatched("instance")).isTrue();
+    assertThat(sendPending()).isTrue();
+    assertThat(sentEvents(emitter)).containsExactly("1:node", "2:variables");
+    verify(emitter, never()).complete();
+  }
+
+  @Test
+  void subscribe_fromRevision_missedEventsReplayed() throws IOException {
+    stream.subscribe(mock(SseEmitter.class), "instance", null, false);
+    stream.publish("instance", "node", Map.of());
+    stream.publish("instance", "node", Map.of());
+    stream.publish("instance", "variables", Map.of());
+    SseEmitter emitter = mock(SseEmitter.class);
+
+    stream.subscribe(emitter, "instance", 1L, false);
+    sendPending();
+
+    assertThat(sentEvents(emitter)).containsExactly("2:node", "3:variables");
+  }
+
+  @Test
+  void subscribe_revisionNoLongerReplayed_reset() throws IOException {
+    stream.subscribe(mock(SseEmitter.class), "instance", null, false);
+    for (int i = 0; i < 6; i++) {
+      stream.publish("instance", "node", Map.of());
+    }
+    SseEmitter emitter = mock(SseEmitter.class);
+
+    stream.subscribe(emitter, "instance", 1L, false);
+    stream.publish("instance", "node", Map.of());
+    sendPending();
+
+    assertThat(sentEvents(emitter)).containsExactly("6:reset", "7:node");
+  }
+
+  @Test
+  void publish_endEvent_completes() throws IOException {
+    SseEmitter emitter = mock(SseEmitter.class);
+    stream.subscribe(emitter, "instance", null, false);
+
+    stream.publish("instance", InstanceStateStream.END_EVENT, Map.of());
+    sendPending();
+
+    assertThat(sentEvents(emitter)).containsExactly("1:end");
+    verify(emitter).complete();
+
+    // resuming after the end only gets the end event again
+    SseEmitter resumed = mock(SseEmitter.class);
+    stream.subscribe(resumed, "instance", 1L, true);
+    sendPending();
+
+    assertThat(sentEvents(resumed)).containsExactly("1:end");
+    verify(resumed).complete();
+  }
+
+  @Test
+  void ended_endNotPublished_completesOnce() throws IOException {
+    SseEmitter emitter = mock(SseEmitter.class);
+    stream.subscribe(emitter, "instance", null, false);
+
+    stream.ended("instance", Map.of());
+    // the end event of the history is published late
+    stream.publish("instance", InstanceStateStream.END_EVENT, Map.of());
+    sendPending();
+
+    assertThat(sentEvents(emitter)).containsExactly("1:end");
+    verify(emitter).complete();
+  }
+
+  @Test
+  void ended_notWatched_ignored() {
+    stream.ended("instance", Map.of());
+
+    assertThat(stream.isWatched("instance")).isFalse();
+    assertThat(sendPending()).isFalse();
+  }
+
+  @Test
+  void subscribe_endedAndNotWatched_completed() throws IOException {
+    SseEmitter emitter = mock(SseEmitter.class);
+
+    stream.subscribe(emitter, "instance", null, true);
+
+    assertThat(stream.isWatched("instance")).isFalse();
+    verify(emitter).complete();
+    verify(emitter, never()).send(any(SseEmitter.SseEventBuilder.class));
+  }
+
+  @Test
+  void publish_bufferFull_disconnectedAfterBufferedEvents() throws IOException {
+    InstanceStateStream smallStream =
+        new InstanceStateStream(registry, 2, 4, Duration.ofMinutes(1), senderTasks::add);
+    SseEmitter emitter = mock(SseEmitter.class);
+    smallStream.subscribe(emitter, "instance", null, false);
+
+    for (int i = 0; i < 4; i++) {
+      smallStream.publish("instance", "node", Map.of());
+    }
+    sendPending();
+
+    assertThat(sentEvents(emitter)).containsExactly("1:node", "2:node");
+    verify(emitter).complete();
+    assertThat(registry.counter("workflow.monitoring.stream.overflow").count()).isEqualTo(1);
+  }
+
+  @Test
+  void publish_slowSubscriber_othersSent() throws IOException {
+    SseEmitter slow = mock(SseEmitter.class);
+    SseEmitter fast = mock(SseEmitter.class);
+    stream.subscribe(slow, "instance", null, false);
+    stream.subscribe(fast, "instance", null, false);
+
+    stream.publish("instance", "node", Map.of());
+
+    // one sender task per subscriber, the fast one is sent while the slow one is still pending
+    assertThat(senderTasks).hasSize(2);
+    senderTasks.remove(1).run();
+    assertThat(sentEvents(fast)).containsExactly("1:node");
+    assertThat(sentEvents(slow)).isEmpty();
+
+    // a pending subscriber is not scheduled twice
+    stream.publish("instance", "node", Map.of());
+    assertThat(senderTasks).hasSize(2);
+    sendPending();
+    assertThat(sentEvents(slow)).containsExactly("1:node", "2:node");
+  }
+
+  @Test
+  void sendPending_sendFails_completedWithError() throws IOException {
+    SseEmitter emitter = mock(SseEmitter.class);
+    IOException failure = new IOException("closed");
+    doThrow(failure).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+    stream.subscribe(emitter, "instance", null, false);
+
+    stream.publish("instance", "node", Map.of());
+    sendPending();
+    stream.publish("instance", "node", Map.of());
+
+    assertThat(sendPending()).isFalse();
+    verify(emitter).completeWithError(failure);
+  }
+
+  /**
+   * Runs the sender tasks until none is left.
+   *
+   * @return true if any sender task ran
+   */
+  private boolean sendPending() {
+    boolean sent = !senderTasks.isEmpty();
+    while (!senderTasks.isEmpty()) {
+      senderTasks.remove(0).run();
+    }
+    return sent;
+  }
+
+  /**
+   * @return sent events as revision:name
+   */
+  private static List<String> sentEvents(SseEmitter emitter) throws IOException {
+    ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+    verify(emitter, atLeast(0)).send(captor.capture());
+    return captor.getAllValues().stream()
+        .map(event -> event.build().stream()
+            .map(ResponseBodyEmitter.DataWithMediaType::getData)
+            .filter(String.class::isInstance)
+            .map(String.class::cast)
+            .collect(Collectors.joining()))
+        .map(InstanceStateStreamTest::revisionAndName)
+        .collect(Collectors.toList());
+  }
+
+  private static String revisionAndName(String text) {
+    String id = text.substring(text.indexOf("id:") + 3, text.indexOf('\n', text.indexOf("id:")));
+    String name = text.substring(text.indexOf("event:") + 6, text.indexOf('\n', text.indexOf("event:")));
+    return id + ":" + name;
+  }
+}
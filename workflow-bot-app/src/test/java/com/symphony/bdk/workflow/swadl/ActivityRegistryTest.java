@@ -0,0 +1,58 @@
+package com.symphony.bdk.workflow.swadl;
+
+import com.symphony.bdk.workflow.DoSomething;
+import com.symphony.bdk.workflow.DoSomethingExecutor;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
+import com.symphony.bdk.workflow.engine.executor.message.SendMessageExecutor;
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+import com.symphony.bdk.workflow.swadl.v1.activity.ExecuteScript;
+import com.symphony.bdk.workflow.swadl.v1.activity.message.SendMessage;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityRegistryTest {
+
+  @Test
+  void activitiesAndExecutors() {
+    assertThat(ActivityRegistry.getActivityTypes()).contains(SendMessage.class, ExecuteScript.class, DoSomething.class);
+    assertThat(ActivityRegistry.getActivityExecutors())
+        .containsEntry(SendMessage.class, SendMessageExecutor.class)
+        .containsEntry(DoSomething.class, DoSomethingExecutor.class);
+  }
+
+  @Test
+  void indexedClassesAreNotScanned() {
+    URL botClasses = ActivityRegistry.class.getProtectionDomain().getCodeSource().getLocation();
+    URL languageClasses = SendMessage.class.getProtectionDomain().getCodeSource().getLocation();
+
+    assertThat(ActivityRegistry.getScannedUrls().stream().map(URL::toString).map(ActivityRegistry::root))
+        .doesNotContain(ActivityRegistry.root(botClasses.toString()),
+            ActivityRegistry.root(languageClasses.toString()));
+  }
+
+  @Test
+  void indexAndScan_sameActivities() {
+    Set<Class<? extends BaseActivity>> activities = new HashSet<>();
+    Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>> executors =
+        new HashMap<>();
+    ActivityRegistry.scan(ActivityRegistry.classpathUrls(), activities, executors);
+
+    assertThat(ActivityRegistry.getActivityTypes()).containsExactlyInAnyOrderElementsOf(activities);
+    assertThat(ActivityRegistry.getActivityExecutors()).isEqualTo(executors);
+  }
+
+  @Test
+  void root() {
+    assertThat(ActivityRegistry.root("jar:file:/app/lib/activity.jar!/")).isEqualTo("file:/app/lib/activity.jar");
+    assertThat(ActivityRegistry.root("file:/app/lib/activity.jar")).isEqualTo("file:/app/lib/activity.jar");
+    assertThat(ActivityRegistry.root("file:/build/classes/java/main/")).isEqualTo("file:/build/classes/java/main");
+  }
+}
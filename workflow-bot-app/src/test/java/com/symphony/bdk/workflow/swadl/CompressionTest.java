@@ -1,41 +1,143 @@
 package com.symphony.bdk.workflow.swadl;
 
 import com.symphony.bdk.workflow.management.BigStringCompressor;
+import com.symphony.bdk.workflow.management.compression.DictionaryDeflateCodec;
+import com.symphony.bdk.workflow.management.compression.GzipCodec;
 
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+@Slf4j
 public class CompressionTest {
 
-  @Test
-  void compressString() throws IOException {
-    String inputString = "id: my-workflow\n"
-        + "\n"
-        + "activities:\n"
-        + "  - send-message:\n"
-        + "      id: counter\n"
-        + "      on:\n"
-        + "        message-received:\n"
-        + "          content: /count\n"
-        + "      content: \"version1\"\n"
-        + "  - execute-script:\n"
-        + "      id: vars\n"
-        + "      script: |\n"
-        + "        counter = wdk.readShared('test', 'counter')\n"
-        + "        counter++\n"
-        + "        wdk.writeShared('test', 'counter', counter)\n"
-        + "  - send-message:\n"
-        + "      id: send_counter\n"
-        + "      content: ${readShared('test', 'counter')}\n";
+  private static final String INPUT_STRING = "id: my-workflow\n"
+      + "\n"
+      + "activities:\n"
+      + "  - send-message:\n"
+      + "      id: counter\n"
+      + "      on:\n"
+      + "        message-received:\n"
+      + "          content: /count\n"
+      + "      content: \"version1\"\n"
+      + "  - execute-script:\n"
+      + "      id: vars\n"
+      + "      script: |\n"
+      + "        counter = wdk.readShared('test', 'counter')\n"
+      + "        counter++\n"
+      + "        wdk.writeShared('test', 'counter', counter)\n"
+      + "  - send-message:\n"
+      + "      id: send_counter\n"
+      + "      content: ${readShared('test', 'counter')}\n";
 
+  @Test
+  void compressString() {
     BigStringCompressor compressor = new BigStringCompressor();
-    byte[] converted = compressor.convertToDatabaseColumn(inputString);
-    assertThat(converted.length).isLessThan(inputString.length());
+    byte[] converted = compressor.convertToDatabaseColumn(INPUT_STRING);
+    assertThat(converted.length).isLessThan(INPUT_STRING.length());
 
     String attribute = compressor.convertToEntityAttribute(converted);
-    assertThat(attribute).isEqualTo(inputString);
+    assertThat(attribute).isEqualTo(INPUT_STRING);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {GzipCodec.NAME, DictionaryDeflateCodec.NAME})
+  void compressString_codec(String codec) {
+    BigStringCompressor compressor = new BigStringCompressor();
+    compressor.setCodec(codec);
+    byte[] converted = compressor.convertToDatabaseColumn(INPUT_STRING);
+
+    // whatever the configured codec, data written with the other one stays readable
+    BigStringCompressor reader = new BigStringCompressor();
+    reader.setCodec(codec.equals(GzipCodec.NAME) ? DictionaryDeflateCodec.NAME : GzipCodec.NAME);
+    assertThat(reader.convertToEntityAttribute(converted)).isEqualTo(INPUT_STRING);
+  }
+
+  @Test
+  void compressString_empty() {
+    BigStringCompressor compressor = new BigStringCompressor();
+    assertThat(compressor.convertToEntityAttribute(compressor.convertToDatabaseColumn(""))).isEmpty();
+    assertThat(compressor.convertToDatabaseColumn(null)).isNull();
+    assertThat(compressor.convertToEntityAttribute(null)).isNull();
+  }
+
+  @Test
+  void decompressLegacyGzip() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(INPUT_STRING.getBytes(StandardCharsets.UTF_8));
+    }
+
+    assertThat(new BigStringCompressor().convertToEntityAttribute(outputStream.toByteArray()))
+        .isEqualTo(INPUT_STRING);
+  }
+
+  @Test
+  void decompressUnknownFormat() {
+    BigStringCompressor compressor = new BigStringCompressor();
+    assertThatThrownBy(() -> compressor.convertToEntityAttribute(new byte[] {(byte) 0xB5, 42, 0}))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> compressor.convertToEntityAttribute(new byte[] {1, 2, 3}))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void unknownCodec() {
+    assertThatThrownBy(() -> new BigStringCompressor().setCodec("lz4"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void compressCorpus() throws IOException {
+    List<String> swadls;
+    try (Stream<Path> files = Files.walk(Paths.get("src/test/resources"))) {
+      swadls = files.filter(f -> f.toString().endsWith(".swadl.yaml"))
+          .map(CompressionTest::read)
+          .toList();
+    }
+    assertThat(swadls).isNotEmpty();
+
+    long gzipSize = compressCorpus(GzipCodec.NAME, swadls);
+    long dictionarySize = compressCorpus(DictionaryDeflateCodec.NAME, swadls);
+    assertThat(dictionarySize).isLessThan(gzipSize);
+  }
+
+  private static long compressCorpus(String codec, List<String> swadls) {
+    BigStringCompressor compressor = new BigStringCompressor();
+    compressor.setCodec(codec);
+    long rawSize = 0;
+    long compressedSize = 0;
+    long start = System.nanoTime();
+    for (String swadl : swadls) {
+      byte[] compressed = compressor.convertToDatabaseColumn(swadl);
+      assertThat(compressor.convertToEntityAttribute(compressed)).isEqualTo(swadl);
+      rawSize += swadl.length();
+      compressedSize += compressed.length;
+    }
+    log.info("{}: {} workflows, {} bytes compressed to {} bytes in {} ms", codec, swadls.size(), rawSize,
+        compressedSize, (System.nanoTime() - start) / 1_000_000);
+    return compressedSize;
+  }
+
+  private static String read(Path file) {
+    try {
+      return Files.readString(file);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
   }
 }
@@ -3,7 +3,11 @@ package com.symphony.bdk.workflow.swadl.validator;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.exception.SwadlNotValidException;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -86,4 +90,64 @@ class SwadlValidatorTest {
           }
         });
   }
+
+  @Test
+  void validateYaml_returnsParsedTree() throws Exception {
+    JsonNode tree = SwadlValidator.validateYaml("id: valid\n"
+        + "activities:\n"
+        + "  - send-message:\n"
+        + "      id: msg\n"
+        + "      on:\n"
+        + "        message-received:\n"
+        + "          content: msg\n"
+        + "      content: content\n");
+
+    assertThat(tree.get("id").asText()).isEqualTo("valid");
+    assertThat(tree.get("activities")).hasSize(1);
+  }
+
+  @Test
+  void validateYaml_changedActivity_reportsErrorWithLine() throws Exception {
+    String activity = "  - send-message:\n"
+        + "      id: first\n"
+        + "      on:\n"
+        + "        message-received:\n"
+        + "          content: msg\n"
+        + "      content: content\n";
+    SwadlValidator.validateYaml("id: saved\nactivities:\n" + activity);
+
+    // the first activity is known as valid, the second one is new and invalid
+    assertThatExceptionOfType(SwadlNotValidException.class)
+        .isThrownBy(() -> SwadlValidator.validateYaml("id: saved\nactivities:\n" + activity
+            + "  - send-message:\n"
+            + "      id: 2\n"
+            + "      content: content\n"))
+        .satisfies(e -> {
+          assertThat(e.getErrors().get(0).getLineNumber()).isEqualTo(10);
+          assertThat(e.getErrors().get(0).getMessage()).startsWith("Invalid property 'id'");
+        });
+  }
+
+  @Test
+  void validateYaml_timed() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics.addRegistry(registry);
+    try {
+      SwadlValidator.validateYaml("id: timed\n"
+          + "activities:\n"
+          + "  - send-message:\n"
+          + "      id: msg\n"
+          + "      on:\n"
+          + "        message-received:\n"
+          + "          content: msg\n"
+          + "      content: content\n");
+      assertThatExceptionOfType(SwadlNotValidException.class)
+          .isThrownBy(() -> SwadlValidator.validateYaml("id: timed\nactivities: 42\n"));
+
+      assertThat(registry.get("workflow.swadl.validation").tag("mode", "incremental").timer().count()).isEqualTo(1);
+      assertThat(registry.get("workflow.swadl.validation").tag("mode", "full").timer().count()).isEqualTo(1);
+    } finally {
+      Metrics.removeRegistry(registry);
+    }
+  }
 }
@@ -8,6 +8,7 @@ import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -93,4 +94,28 @@ class UtilityFunctionsMapperTest {
     UtilityFunctionsMapper.writeShared("namespace", "key", "value");
     verify(sharedDataStore).putNamespaceData(eq("namespace"), eq("key"), eq("value"));
   }
+
+  @Test
+  @DisplayName("Increment shared data method test")
+  void incrementSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.increment("namespace", "key", 2L)).thenReturn(3L);
+    assertThat(UtilityFunctionsMapper.incrementShared("namespace", "key", 2L)).isEqualTo(3L);
+  }
+
+  @Test
+  @DisplayName("Compare and set shared data method test")
+  void compareAndSetSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.compareAndSet("namespace", "key", "old", "new")).thenReturn(true);
+    assertThat(UtilityFunctionsMapper.compareAndSetShared("namespace", "key", "old", "new")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Append shared data method test")
+  void appendSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.appendToList("namespace", "key", "value")).thenReturn(List.of("value"));
+    assertThat(UtilityFunctionsMapper.appendShared("namespace", "key", "value")).containsExactly("value");
+  }
 }
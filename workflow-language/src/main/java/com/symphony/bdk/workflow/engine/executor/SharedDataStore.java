@@ -1,9 +1,31 @@
 package com.symphony.bdk.workflow.engine.executor;
 
+import java.util.List;
 import java.util.Map;
 
 public interface SharedDataStore {
   Map<String, Object> getNamespaceData(String namespace);
 
   void putNamespaceData(String namespace, String key, Object data);
+
+  /**
+   * Atomically adds delta to a numeric value, a missing value counts as 0.
+   *
+   * @return the updated value
+   */
+  long increment(String namespace, String key, long delta);
+
+  /**
+   * Atomically replaces the value if it is equal to the expected one, a missing value is equal to null.
+   *
+   * @return true if the value has been replaced
+   */
+  boolean compareAndSet(String namespace, String key, Object expected, Object data);
+
+  /**
+   * Atomically appends an item to a list value, a missing value is an empty list.
+   *
+   * @return the updated list
+   */
+  List<Object> appendToList(String namespace, String key, Object item);
 }
@@ -10,4 +10,28 @@ public class Properties {
 
   @JsonProperty
   private Boolean publish = true;
+
+  @JsonProperty
+  private HistoryLevel history = HistoryLevel.FULL;
+
+  /**
+   * How much execution history is recorded for the workflow's instances.
+   */
+  public enum HistoryLevel {
+    /**
+     * No history is recorded, the workflow's executions are not visible through the monitoring api.
+     */
+    @JsonProperty("none")
+    NONE,
+    /**
+     * Only workflow instances and activities are recorded, variables are not.
+     */
+    @JsonProperty("activity")
+    ACTIVITY,
+    /**
+     * Everything is recorded (default).
+     */
+    @JsonProperty("full")
+    FULL
+  }
 }